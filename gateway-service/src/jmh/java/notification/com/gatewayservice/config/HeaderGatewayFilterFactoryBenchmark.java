@@ -0,0 +1,78 @@
+package notification.com.gatewayservice.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class HeaderGatewayFilterFactoryBenchmark {
+
+    @Param({"10", "40", "100"})
+    private int headerCount;
+
+    private HeaderGatewayFilterFactory filterFactory;
+    private ServerHttpRequest request;
+    private Authentication authentication;
+    private Jwt jwt;
+
+    @Setup
+    public void setUp() {
+        ValidatedTokenCache validatedTokenCache = new ValidatedTokenCache(new JwtConfig(), new SimpleMeterRegistry());
+        filterFactory = new HeaderGatewayFilterFactory(validatedTokenCache);
+
+        MockServerHttpRequest.BaseBuilder<?> builder = MockServerHttpRequest.get("/products/getAll?page=0&size=20")
+                .header("Host", "gateway-service:8081")
+                .header("User-Agent", "Mozilla/5.0 (X11; Linux x86_64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0")
+                .header("Accept", "application/json, text/plain, */*")
+                .header("Accept-Encoding", "gzip, deflate, br")
+                .header("Accept-Language", "en-US,en;q=0.9")
+                .header("Authorization", "Bearer " + "eyJhbGciOiJSUzI1NiJ9.".repeat(20))
+                .header("X-Correlation-ID", "5f1d7c2e-8a43-4d61-9a8e-2b7f0c3d9e11")
+                .header("X-Forwarded-For", "203.0.113.10, 10.0.0.5");
+        for (int i = 8; i < headerCount; i++) {
+            builder.header("X-Custom-Header-" + i, "value-" + i);
+        }
+        request = builder.build();
+
+        jwt = Jwt.withTokenValue("token")
+                .header("alg", "RS256")
+                .subject("jane.doe")
+                .claim("uuid", "8b7e6d5c-4a3b-2c1d-0e9f-8a7b6c5d4e3f")
+                .claim("email", "jane.doe@example.com")
+                .claim("authorities", List.of("USER", "EDITOR"))
+                .issuedAt(Instant.now())
+                .expiresAt(Instant.now().plusSeconds(3600))
+                .build();
+        validatedTokenCache.put(jwt.getTokenValue(), jwt);
+        authentication = new JwtAuthenticationToken(jwt);
+    }
+
+    @Benchmark
+    public ServerHttpRequest buildEnhancedRequestAuthenticated() {
+        return filterFactory.buildEnhancedRequest(request, "5f1d7c2e-8a43-4d61-9a8e-2b7f0c3d9e11",
+                "0c6a2f4b-1e9d-4f3a-b8c7-6d5e4a3b2c1d", authentication);
+    }
+
+    @Benchmark
+    public ServerHttpRequest buildEnhancedRequestAnonymous() {
+        return filterFactory.buildEnhancedRequest(request, "5f1d7c2e-8a43-4d61-9a8e-2b7f0c3d9e11",
+                "0c6a2f4b-1e9d-4f3a-b8c7-6d5e4a3b2c1d", null);
+    }
+
+    @Benchmark
+    public ServerHttpRequest addUserHeaders() {
+        ServerHttpRequest.Builder requestBuilder = request.mutate();
+        filterFactory.addUserHeaders(requestBuilder, jwt);
+        return requestBuilder.build();
+    }
+}
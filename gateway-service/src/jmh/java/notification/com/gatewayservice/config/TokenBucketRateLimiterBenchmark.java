@@ -0,0 +1,36 @@
+package notification.com.gatewayservice.config;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.cloud.gateway.filter.ratelimit.RateLimiter;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TokenBucketRateLimiterBenchmark {
+
+    private TokenBucketRateLimiter limiter;
+
+    @Setup
+    public void setUp() {
+        RateLimitConfig config = new RateLimitConfig();
+        // Effectively unlimited, so every iteration measures an allowed decision
+        config.setReplenishRate(1_000_000_000);
+        config.setBurstCapacity(1_000_000_000);
+        config.setLeaseSize(1000);
+        limiter = new TokenBucketRateLimiter(new InMemoryRateLimitBackend(config), config, null);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public RateLimiter.Response decideSingleThread() {
+        return limiter.isAllowed("product-service-via-interceptor", "user:8b7e6d5c-4a3b-2c1d-0e9f-8a7b6c5d4e3f").block();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public RateLimiter.Response decideContended() {
+        return limiter.isAllowed("product-service-via-interceptor", "user:8b7e6d5c-4a3b-2c1d-0e9f-8a7b6c5d4e3f").block();
+    }
+}
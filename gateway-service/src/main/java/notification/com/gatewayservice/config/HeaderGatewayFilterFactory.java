@@ -13,7 +13,6 @@ import org.springframework.stereotype.Component;
 import reactor.core.publisher.Mono;
 
 import java.time.Instant;
-import java.util.Collection;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -21,8 +20,11 @@ import java.util.UUID;
 @Slf4j
 public class HeaderGatewayFilterFactory extends AbstractGatewayFilterFactory<HeaderGatewayFilterFactory.Config> {
 
-    public HeaderGatewayFilterFactory() {
+    private final ValidatedTokenCache validatedTokenCache;
+
+    public HeaderGatewayFilterFactory(ValidatedTokenCache validatedTokenCache) {
         super(Config.class);
+        this.validatedTokenCache = validatedTokenCache;
     }
 
     @Override
@@ -37,36 +39,29 @@ public class HeaderGatewayFilterFactory extends AbstractGatewayFilterFactory<Hea
             log.info("Gateway processing request - Correlation-ID: {}, Request-ID: {}, Path: {}",
                     correlationId, requestId, exchange.getRequest().getPath());
 
+            // The request is resolved first so the rest of the chain runs exactly once: chain.filter completes
+            // empty, which would otherwise trigger the anonymous fallback a second time
             return ReactiveSecurityContextHolder.getContext()
                     .cast(SecurityContext.class)
                     .map(SecurityContext::getAuthentication)
-                    .flatMap(authentication -> {
-                        ServerHttpRequest enhancedRequest = buildEnhancedRequest(
-                                exchange.getRequest(), correlationId, requestId, authentication);
-
-                        return chain.filter(exchange.mutate().request(enhancedRequest).build())
-                                .doOnSuccess(unused -> log.info("Gateway request completed - Correlation-ID: {}, Request-ID: {}",
-                                        correlationId, requestId))
-                                .doOnError(throwable -> log.error("Gateway request failed - Correlation-ID: {}, Request-ID: {}, Error: {}",
-                                        correlationId, requestId, throwable.getMessage()));
-                    })
-                    .switchIfEmpty(
-                            Mono.defer(() -> {
-                                log.warn("No authentication context found for request - Correlation-ID: {}", correlationId);
-
-                                ServerHttpRequest enhancedRequest = buildEnhancedRequest(
-                                        exchange.getRequest(), correlationId, requestId, null);
-
-                                return chain.filter(exchange.mutate().request(enhancedRequest).build());
-                            })
-                    );
+                    .map(authentication -> buildEnhancedRequest(
+                            exchange.getRequest(), correlationId, requestId, authentication))
+                    .switchIfEmpty(Mono.fromSupplier(() -> {
+                        log.warn("No authentication context found for request - Correlation-ID: {}", correlationId);
+                        return buildEnhancedRequest(exchange.getRequest(), correlationId, requestId, null);
+                    }))
+                    .flatMap(enhancedRequest -> chain.filter(exchange.mutate().request(enhancedRequest).build())
+                            .doOnSuccess(unused -> log.info("Gateway request completed - Correlation-ID: {}, Request-ID: {}",
+                                    correlationId, requestId))
+                            .doOnError(throwable -> log.error("Gateway request failed - Correlation-ID: {}, Request-ID: {}, Error: {}",
+                                    correlationId, requestId, throwable.getMessage())));
         };
     }
 
-    private ServerHttpRequest buildEnhancedRequest(ServerHttpRequest originalRequest,
-                                                   String correlationId,
-                                                   String requestId,
-                                                   Authentication authentication) {
+    ServerHttpRequest buildEnhancedRequest(ServerHttpRequest originalRequest,
+                                           String correlationId,
+                                           String requestId,
+                                           Authentication authentication) {
         ServerHttpRequest.Builder requestBuilder = originalRequest.mutate();
 
         // Add standard headers
@@ -89,21 +84,9 @@ public class HeaderGatewayFilterFactory extends AbstractGatewayFilterFactory<Hea
         return requestBuilder.build();
     }
 
-    private void addUserHeaders(ServerHttpRequest.Builder requestBuilder, Jwt jwt) {
-        Optional.ofNullable(jwt.getClaimAsString("sub"))
-                .ifPresent(username -> requestBuilder.header("X-Username", username));
-
-        Optional.ofNullable(jwt.getClaimAsString("uuid"))
-                .ifPresent(userUuid -> requestBuilder.header("X-User-UUID", userUuid));
-
-        Optional.ofNullable(jwt.getClaimAsString("email"))
-                .ifPresent(email -> requestBuilder.header("X-User-Email", email));
-
-        // Add roles/authorities
-        Collection<String> authorities = jwt.getClaimAsStringList("authorities");
-        if (authorities != null && !authorities.isEmpty()) {
-            requestBuilder.header("X-User-Authorities", String.join(",", authorities));
-        }
+    void addUserHeaders(ServerHttpRequest.Builder requestBuilder, Jwt jwt) {
+        // X-Username, X-User-UUID, X-User-Email and X-User-Authorities, precomputed when the token was cached
+        validatedTokenCache.getUserHeaders(jwt).forEach(requestBuilder::header);
     }
 
     public int getOrder() {
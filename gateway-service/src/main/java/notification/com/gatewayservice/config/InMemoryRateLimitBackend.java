@@ -0,0 +1,67 @@
+package notification.com.gatewayservice.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Keeps the shared buckets in this process, for single-node deployments and tests. Each bucket is a
+ * GCRA cell: one {@link AtomicLong} holding the theoretical arrival time of the next token, updated with
+ * a single compare-and-set per grant, so it needs no locks and no background refill.
+ */
+@Component
+@ConditionalOnProperty(prefix = "gateway.rate-limit", name = "backend", havingValue = "local", matchIfMissing = true)
+public class InMemoryRateLimitBackend implements RateLimitBackend {
+
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final Cache<String, AtomicLong> buckets;
+    private final LongSupplier nanoClock;
+
+    @Autowired
+    public InMemoryRateLimitBackend(RateLimitConfig rateLimitConfig) {
+        this(rateLimitConfig, System::nanoTime);
+    }
+
+    InMemoryRateLimitBackend(RateLimitConfig rateLimitConfig, LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(rateLimitConfig.getMaxKeys())
+                .expireAfterAccess(rateLimitConfig.getKeyIdleTimeout())
+                .build();
+    }
+
+    @Override
+    public Mono<Lease> acquire(String key, long requested, int replenishRate, int burstCapacity) {
+        return Mono.just(take(key, requested, replenishRate, burstCapacity));
+    }
+
+    Lease take(String key, long requested, int replenishRate, int burstCapacity) {
+        AtomicLong theoreticalArrival = buckets.get(key, k -> new AtomicLong(Long.MIN_VALUE));
+        long interval = NANOS_PER_SECOND / replenishRate;
+        long tolerance = interval * burstCapacity;
+
+        while (true) {
+            long now = nanoClock.getAsLong();
+            long current = theoreticalArrival.get();
+            // MIN_VALUE marks a fresh bucket, which starts full
+            long base = current == Long.MIN_VALUE || current - now < 0 ? now : current;
+            long available = (now + tolerance - base) / interval;
+            if (available <= 0) {
+                return new Lease(0, 0, Duration.ofNanos(base + interval - tolerance - now));
+            }
+            long granted = Math.min(requested, available);
+            if (theoreticalArrival.compareAndSet(current, base + granted * interval)) {
+                return new Lease(granted, available - granted, Duration.ZERO);
+            }
+        }
+    }
+}
@@ -1 +1,27 @@
+package notification.com.gatewayservice.config;
 
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import notification.com.jwtsupport.JwkSetProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+// JWK set settings come from JwkSetProperties in jwt-support
+@Data
+@EqualsAndHashCode(callSuper = true)
+@Configuration
+@ConfigurationProperties(prefix = "security.jwt")
+public class JwtConfig extends JwkSetProperties {
+
+    private TokenCache tokenCache = new TokenCache();
+
+    @Data
+    public static class TokenCache {
+        private boolean enabled = true;
+        private long maxSize = 100_000;
+        // Entries expire at the token's exp, but never live longer than this
+        private Duration maxTtl = Duration.ofHours(1);
+    }
+}
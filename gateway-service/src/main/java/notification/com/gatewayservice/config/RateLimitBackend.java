@@ -0,0 +1,26 @@
+package notification.com.gatewayservice.config;
+
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * Authoritative token buckets shared by every gateway node. Nodes lease tokens in batches and spend
+ * them locally, so the backend is consulted once per lease rather than once per request.
+ */
+public interface RateLimitBackend {
+
+    /**
+     * Takes up to {@code requested} tokens from the bucket for {@code key}, refilling at
+     * {@code replenishRate} per second up to {@code burstCapacity}. Never grants more than is available.
+     */
+    Mono<Lease> acquire(String key, long requested, int replenishRate, int burstCapacity);
+
+    /**
+     * @param granted    tokens handed to the caller, possibly fewer than requested
+     * @param remaining  tokens left in the shared bucket after this grant
+     * @param retryAfter when nothing was granted, how long until the next token becomes available
+     */
+    record Lease(long granted, long remaining, Duration retryAfter) {
+    }
+}
@@ -0,0 +1,24 @@
+package notification.com.gatewayservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "gateway.rate-limit")
+public class RateLimitConfig {
+
+    // Shared token store: "local" keeps quotas in this gateway only; other backends register their own bean
+    private String backend = "local";
+    // Defaults for routes whose RequestRateLimiter filter does not set token-bucket-rate-limiter.*
+    private int replenishRate = 50;
+    private int burstCapacity = 100;
+    // Tokens taken from the backend at once and then spent locally; each node may run this far ahead of the quota
+    private int leaseSize = 10;
+    // Keys (users or client IPs) tracked per node, and how long the local backend keeps an idle key's bucket
+    private long maxKeys = 100_000;
+    private Duration keyIdleTimeout = Duration.ofMinutes(10);
+}
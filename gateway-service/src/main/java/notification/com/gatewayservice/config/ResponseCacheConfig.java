@@ -0,0 +1,33 @@
+package notification.com.gatewayservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "gateway.response-cache")
+public class ResponseCacheConfig {
+
+    private boolean enabled = true;
+    // Total size of cached bodies; least valuable entries (W-TinyLFU) are evicted beyond this
+    private DataSize maxBytes = DataSize.ofMegabytes(64);
+    // Larger responses stream through without being cached
+    private DataSize maxEntryBytes = DataSize.ofMegabytes(1);
+    // TTL for ResponseCache routes that name neither a ttl nor a strategy
+    private Duration defaultTtl = Duration.ofSeconds(30);
+    // Named TTLs matching the X-Cache-Strategy values used by the interceptor; zero disables caching
+    private Map<String, Duration> strategies = new LinkedHashMap<>(Map.of(
+            "aggressive", Duration.ofMinutes(5),
+            "standard", Duration.ofSeconds(30),
+            "minimal", Duration.ZERO));
+    // Response headers that echo the request's tracing ids: never stored, a hit gets the current request's values
+    private List<String> perRequestHeaders = new ArrayList<>(List.of("X-Correlation-ID", "X-Request-ID"));
+}
@@ -0,0 +1,432 @@
+package notification.com.gatewayservice.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.RouteToRequestUrlFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+/**
+ * Serves repeated GETs on a route from memory. Entries are keyed by route, raw path and query plus the
+ * request values of the headers named in the response's {@code Vary}, live for the route's TTL and are
+ * bounded by total body size with Caffeine's W-TinyLFU eviction. Every cached entry carries an ETag
+ * (the downstream one, or a hash of the body), so clients revalidating with {@code If-None-Match} get
+ * a 304 without a body. A successful non-GET on the route drops the route's entries. The key holds no
+ * caller identity, so, as for any shared cache, a response to an authenticated request (a bearer token,
+ * including the one TokenRelay adds, or a logged-in principal) is only stored when it is marked
+ * {@code Cache-Control: public}, and authenticated callers are only ever served such entries. Tracing id headers
+ * are never replayed: the configured per-request headers are not stored and a hit echoes the current
+ * request's values. Bodies are replayed byte for byte, so routes should only cache responses whose body
+ * carries no per-request data.
+ * <p>
+ * The route filter runs after every default and route filter, so hits are still rate limited and carry
+ * the gateway's headers. Those filters are ordered by list position, counted separately for the default
+ * and the route list, so the route filter's own position would not be enough. Capturing a miss needs
+ * the response that {@link NettyWriteResponseFilter} writes to, which is fixed before any route filter
+ * runs, so the factory is also a global filter that decorates every GET response ahead of the writer;
+ * the decorator only stores a body when the route filter has marked the exchange as a miss to capture.
+ *
+ * <pre>
+ * filters:
+ *   - ResponseCache=aggressive        # TTL from gateway.response-cache.strategies
+ *   - name: ResponseCache
+ *     args:
+ *       ttl: 10s
+ * </pre>
+ */
+@Component
+@Slf4j
+public class ResponseCacheGatewayFilterFactory extends AbstractGatewayFilterFactory<ResponseCacheGatewayFilterFactory.Config>
+        implements GlobalFilter, Ordered {
+
+    private static final String CACHE_STATUS_HEADER = "X-Cache";
+    // After the position-ordered default and route filters (1, 2, ...), before the request is routed
+    private static final int ROUTE_FILTER_ORDER = RouteToRequestUrlFilter.ROUTE_TO_URL_FILTER_ORDER - 1;
+    // Set by the route filter on a miss; tells the capturing response where to store the body
+    private static final String CAPTURE_ATTR = ResponseCacheGatewayFilterFactory.class.getName() + ".capture";
+    // Per-entry overhead added to the body size when weighing entries
+    private static final int ENTRY_OVERHEAD_BYTES = 512;
+    private static final Set<String> UNCACHEABLE_DIRECTIVES = Set.of("no-store", "no-cache", "private");
+    private static final Set<String> UNSTORED_HEADERS = Set.of(
+            HttpHeaders.TRANSFER_ENCODING, HttpHeaders.CONNECTION, HttpHeaders.SET_COOKIE, CACHE_STATUS_HEADER);
+
+    private final ResponseCacheConfig properties;
+    private final Cache<String, CachedResponse> responses;
+    // Vary header names last seen for a route, path and query; needed to build the key before the response exists
+    private final Cache<String, List<String>> varyNames;
+
+    public ResponseCacheGatewayFilterFactory(ResponseCacheConfig properties, MeterRegistry meterRegistry) {
+        super(Config.class);
+        this.properties = properties;
+        this.responses = Caffeine.newBuilder()
+                .maximumWeight(properties.getMaxBytes().toBytes())
+                .weigher((String key, CachedResponse response) -> response.body().length + key.length() + ENTRY_OVERHEAD_BYTES)
+                .expireAfter(new Expiry<String, CachedResponse>() {
+                    @Override
+                    public long expireAfterCreate(String key, CachedResponse value, long currentTime) {
+                        return value.ttl().toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, CachedResponse value, long currentTime, long currentDuration) {
+                        return value.ttl().toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, CachedResponse value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        this.varyNames = Caffeine.newBuilder()
+                .maximumSize(10_000)
+                .expireAfterWrite(Duration.ofHours(1))
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, responses, "gateway.response");
+    }
+
+    @Override
+    public List<String> shortcutFieldOrder() {
+        return List.of("strategy");
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        Duration ttl = resolveTtl(config);
+
+        return new OrderedGatewayFilter((exchange, chain) -> {
+            ServerHttpRequest request = exchange.getRequest();
+            if (!properties.isEnabled() || ttl.isZero() || hasDirective(request.getHeaders(), "no-store")) {
+                return chain.filter(exchange);
+            }
+
+            String baseKey = baseKey(exchange);
+            if (request.getMethod() != HttpMethod.GET) {
+                return chain.filter(exchange).doOnSuccess(unused -> invalidateRouteOnSuccess(exchange));
+            }
+
+            return isAuthenticated(exchange).flatMap(authenticated -> {
+                // no-cache asks for a fresh response; it is still stored for the next caller
+                if (!hasDirective(request.getHeaders(), "no-cache")) {
+                    List<String> vary = varyNames.getIfPresent(baseKey);
+                    CachedResponse cached = responses.getIfPresent(key(baseKey, vary != null ? vary : List.of(), request));
+                    if (cached != null && (cached.shared() || !authenticated)) {
+                        return serve(exchange, cached);
+                    }
+                }
+
+                exchange.getAttributes().put(CAPTURE_ATTR, new Capture(request, baseKey, ttl, authenticated));
+                return chain.filter(exchange);
+            });
+        }, ROUTE_FILTER_ORDER);
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        if (!properties.isEnabled() || exchange.getRequest().getMethod() != HttpMethod.GET) {
+            return chain.filter(exchange);
+        }
+        return chain.filter(exchange.mutate().response(new CachingResponse(exchange)).build());
+    }
+
+    // Just ahead of the response writer, so the decorated response is the one written to
+    @Override
+    public int getOrder() {
+        return NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 1;
+    }
+
+    Duration resolveTtl(Config config) {
+        if (config.getTtl() != null) {
+            return config.getTtl();
+        }
+        if (config.getStrategy() != null) {
+            Duration ttl = properties.getStrategies().get(config.getStrategy());
+            if (ttl == null) {
+                throw new IllegalArgumentException("Unknown response cache strategy: " + config.getStrategy());
+            }
+            return ttl;
+        }
+        return properties.getDefaultTtl();
+    }
+
+    private Mono<Void> serve(ServerWebExchange exchange, CachedResponse cached) {
+        ServerHttpResponse response = exchange.getResponse();
+        HttpHeaders headers = response.getHeaders();
+        long age = Duration.ofNanos(System.nanoTime() - cached.storedAtNanos()).toSeconds();
+
+        if (etagMatches(exchange.getRequest().getHeaders().getIfNoneMatch(), cached.etag())) {
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            headers.setETag(cached.etag());
+            copyIfAbsent(cached.headers(), headers, HttpHeaders.CACHE_CONTROL, HttpHeaders.VARY, HttpHeaders.LAST_MODIFIED);
+            echoPerRequestHeaders(exchange, cached);
+            headers.set(HttpHeaders.AGE, Long.toString(age));
+            headers.set(CACHE_STATUS_HEADER, "HIT");
+            return response.setComplete();
+        }
+
+        response.setStatusCode(cached.status());
+        // Headers already set for this exchange (CORS, security) win over the stored ones
+        cached.headers().forEach((name, values) -> {
+            if (!headers.containsKey(name)) {
+                headers.addAll(name, values);
+            }
+        });
+        echoPerRequestHeaders(exchange, cached);
+        headers.set(HttpHeaders.AGE, Long.toString(age));
+        headers.set(CACHE_STATUS_HEADER, "HIT");
+        return response.writeWith(Mono.fromSupplier(() -> response.bufferFactory().wrap(cached.body())));
+    }
+
+    private void echoPerRequestHeaders(ServerWebExchange exchange, CachedResponse cached) {
+        HttpHeaders requestHeaders = exchange.getRequest().getHeaders();
+        for (String name : cached.echoedHeaders()) {
+            String value = requestHeaders.getFirst(name);
+            if (value != null) {
+                exchange.getResponse().getHeaders().set(name, value);
+            }
+        }
+    }
+
+    private void invalidateRouteOnSuccess(ServerWebExchange exchange) {
+        HttpStatusCode status = exchange.getResponse().getStatusCode();
+        if (status != null && status.is2xxSuccessful()) {
+            String routePrefix = routeId(exchange) + ' ';
+            responses.asMap().keySet().removeIf(key -> key.startsWith(routePrefix));
+            log.debug("Invalidated cached responses for route {} after {} {}",
+                    routeId(exchange), exchange.getRequest().getMethod(), exchange.getRequest().getPath());
+        }
+    }
+
+    private static Mono<Boolean> isAuthenticated(ServerWebExchange exchange) {
+        if (exchange.getRequest().getHeaders().containsKey(HttpHeaders.AUTHORIZATION)) {
+            return Mono.just(true);
+        }
+        return exchange.getPrincipal()
+                .filter(principal -> !(principal instanceof AnonymousAuthenticationToken))
+                .hasElement();
+    }
+
+    private static String baseKey(ServerWebExchange exchange) {
+        ServerHttpRequest request = exchange.getRequest();
+        String query = request.getURI().getRawQuery();
+        return routeId(exchange) + ' ' + request.getURI().getRawPath() + (query != null ? '?' + query : "");
+    }
+
+    private static String routeId(ServerWebExchange exchange) {
+        Route route = exchange.getAttribute(GATEWAY_ROUTE_ATTR);
+        return route != null ? route.getId() : "";
+    }
+
+    private static String key(String baseKey, List<String> vary, ServerHttpRequest request) {
+        if (vary.isEmpty()) {
+            return baseKey;
+        }
+        StringBuilder key = new StringBuilder(baseKey);
+        for (String name : vary) {
+            List<String> values = request.getHeaders().get(name);
+            key.append('\n').append(name).append('=').append(values != null ? String.join(",", values) : "");
+        }
+        return key.toString();
+    }
+
+    private static boolean hasDirective(HttpHeaders headers, String directive) {
+        for (String cacheControl : headers.getOrEmpty(HttpHeaders.CACHE_CONTROL)) {
+            for (String part : cacheControl.split(",")) {
+                String name = part.trim().toLowerCase(Locale.ROOT);
+                int equals = name.indexOf('=');
+                if ((equals < 0 ? name : name.substring(0, equals).trim()).equals(directive)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    // If-None-Match uses weak comparison, so W/ prefixes on either side are ignored
+    static boolean etagMatches(List<String> ifNoneMatch, String etag) {
+        String opaque = stripWeak(etag);
+        for (String candidate : ifNoneMatch) {
+            if ("*".equals(candidate) || stripWeak(candidate).equals(opaque)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String stripWeak(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
+
+    private static void copyIfAbsent(HttpHeaders source, HttpHeaders target, String... names) {
+        for (String name : names) {
+            List<String> values = source.get(name);
+            if (values != null && !target.containsKey(name)) {
+                target.addAll(name, values);
+            }
+        }
+    }
+
+    @Data
+    public static class Config {
+        // Key into gateway.response-cache.strategies
+        private String strategy;
+        // Overrides the strategy's TTL for this route
+        private Duration ttl;
+    }
+
+    private record Capture(ServerHttpRequest request, String baseKey, Duration ttl, boolean authenticated) {
+    }
+
+    // shared: the response was marked public, so it may be served to any caller, authenticated or not
+    private record CachedResponse(HttpStatusCode status, HttpHeaders headers, byte[] body, List<String> echoedHeaders,
+                                  String etag, boolean shared, Duration ttl, long storedAtNanos) {
+    }
+
+    /**
+     * Tees the body of a cacheable response into a bounded buffer while it streams to the client, and
+     * stores it once the write completes. Responses that turn out too large are simply not stored.
+     * Exchanges the route filter did not mark for capture (hits, routes without the filter) pass through.
+     */
+    private final class CachingResponse extends ServerHttpResponseDecorator {
+
+        private final ServerWebExchange exchange;
+
+        CachingResponse(ServerWebExchange exchange) {
+            super(exchange.getResponse());
+            this.exchange = exchange;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            Capture capture = exchange.getAttribute(CAPTURE_ATTR);
+            if (capture == null) {
+                return super.writeWith(body);
+            }
+            List<String> vary = varyOf(getHeaders());
+            if (vary == null || !isCacheable(capture)) {
+                return super.writeWith(body);
+            }
+
+            getHeaders().set(CACHE_STATUS_HEADER, "MISS");
+            ByteArrayOutputStream captured = new ByteArrayOutputStream();
+            boolean[] overflowed = {false};
+            Flux<? extends DataBuffer> teed = Flux.from(body).doOnNext(buffer -> {
+                if (overflowed[0]) {
+                    return;
+                }
+                if (captured.size() + buffer.readableByteCount() > properties.getMaxEntryBytes().toBytes()) {
+                    overflowed[0] = true;
+                    return;
+                }
+                try (DataBuffer.ByteBufferIterator iterator = buffer.readableByteBuffers()) {
+                    while (iterator.hasNext()) {
+                        ByteBuffer chunk = iterator.next();
+                        byte[] bytes = new byte[chunk.remaining()];
+                        chunk.get(bytes);
+                        captured.writeBytes(bytes);
+                    }
+                }
+            });
+
+            return super.writeWith(teed).doOnSuccess(unused -> {
+                if (!overflowed[0]) {
+                    store(capture, vary, captured.toByteArray());
+                }
+            });
+        }
+
+        private boolean isCacheable(Capture capture) {
+            HttpHeaders headers = getHeaders();
+            if (!HttpStatus.OK.equals(getStatusCode()) || headers.containsKey(HttpHeaders.SET_COOKIE)) {
+                return false;
+            }
+            if (capture.authenticated() && !hasDirective(headers, "public")) {
+                return false;
+            }
+            for (String directive : UNCACHEABLE_DIRECTIVES) {
+                if (hasDirective(headers, directive)) {
+                    return false;
+                }
+            }
+            return headers.getContentLength() <= properties.getMaxEntryBytes().toBytes();
+        }
+
+        private void store(Capture capture, List<String> vary, byte[] body) {
+            HttpHeaders stored = new HttpHeaders();
+            List<String> echoedHeaders = new ArrayList<>();
+            getHeaders().forEach((name, values) -> {
+                if (properties.getPerRequestHeaders().stream().anyMatch(name::equalsIgnoreCase)) {
+                    echoedHeaders.add(name);
+                } else if (UNSTORED_HEADERS.stream().noneMatch(name::equalsIgnoreCase)
+                        && !HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+                    stored.addAll(name, values);
+                }
+            });
+
+            String etag = stored.getETag();
+            if (etag == null) {
+                etag = "\"0" + DigestUtils.md5DigestAsHex(body) + '"';
+                stored.setETag(etag);
+            }
+
+            varyNames.put(capture.baseKey(), vary);
+            responses.put(key(capture.baseKey(), vary, capture.request()), new CachedResponse(getStatusCode(),
+                    HttpHeaders.readOnlyHttpHeaders(stored), body, List.copyOf(echoedHeaders), etag,
+                    hasDirective(stored, "public"), capture.ttl(), System.nanoTime()));
+        }
+
+        // Sorted, lower-cased header names from Vary, or null when the response varies on everything
+        private List<String> varyOf(HttpHeaders headers) {
+            Set<String> names = new TreeSet<>();
+            for (String name : headers.getVary()) {
+                String normalized = name.trim().toLowerCase(Locale.ROOT);
+                if ("*".equals(normalized)) {
+                    return null;
+                }
+                if (!normalized.isEmpty()) {
+                    names.add(normalized);
+                }
+            }
+            return new ArrayList<>(names);
+        }
+    }
+}
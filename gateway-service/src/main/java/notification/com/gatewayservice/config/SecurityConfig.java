@@ -1,12 +1,16 @@
 package notification.com.gatewayservice.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import notification.com.jwtsupport.CachedJwkReactiveJwtDecoder;
+import notification.com.jwtsupport.JwkSetCache;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
 import org.springframework.security.config.web.server.ServerHttpSecurity;
 import org.springframework.security.oauth2.client.oidc.web.server.logout.OidcClientInitiatedServerLogoutSuccessHandler;
 import org.springframework.security.oauth2.client.registration.ReactiveClientRegistrationRepository;
+import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
 import org.springframework.security.web.server.SecurityWebFilterChain;
 import org.springframework.security.web.server.authentication.RedirectServerAuthenticationFailureHandler;
 import org.springframework.security.web.server.authentication.RedirectServerAuthenticationSuccessHandler;
@@ -14,6 +18,7 @@ import org.springframework.security.web.server.authentication.logout.ServerLogou
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.reactive.CorsConfigurationSource;
 import org.springframework.web.cors.reactive.UrlBasedCorsConfigurationSource;
+import org.springframework.web.reactive.function.client.WebClient;
 
 import java.net.URI;
 import java.util.Arrays;
@@ -38,9 +43,26 @@ public class SecurityConfig {
         return source;
     }
 
+    @Bean
+    JwkSetCache jwkSetCache(WebClient.Builder webClientBuilder, JwtConfig jwtConfig, MeterRegistry meterRegistry) {
+        return new JwkSetCache(webClientBuilder.build(), jwtConfig, meterRegistry);
+    }
+
+    @Bean
+    ReactiveJwtDecoder jwtDecoder(JwkSetCache jwkSetCache,
+                                  ValidatedTokenCache validatedTokenCache,
+                                  JwtConfig jwtConfig,
+                                  MeterRegistry meterRegistry) {
+        ReactiveJwtDecoder decoder = new CachedJwkReactiveJwtDecoder(jwkSetCache, meterRegistry);
+        return jwtConfig.getTokenCache().isEnabled()
+                ? new TokenCachingJwtDecoder(decoder, validatedTokenCache)
+                : decoder;
+    }
+
     @Bean
     SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http,
-                                                  ReactiveClientRegistrationRepository repository) {
+                                                  ReactiveClientRegistrationRepository repository,
+                                                  ReactiveJwtDecoder jwtDecoder) {
 
         http
                 .authorizeExchange(exchange -> exchange
@@ -65,7 +87,7 @@ public class SecurityConfig {
                             new RedirectServerAuthenticationFailureHandler("/login?error=true"));
                 })
                 .oauth2ResourceServer(oauth2 -> oauth2
-                        .jwt(jwt -> jwt.jwkSetUri("http://localhost:8080/oauth2/jwks"))
+                        .jwt(jwt -> jwt.jwtDecoder(jwtDecoder))
                 )
                 .oauth2Client(oauth2 -> {
                     // Additional OAuth2 client configurations if needed
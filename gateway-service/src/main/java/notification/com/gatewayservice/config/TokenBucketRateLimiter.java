@@ -0,0 +1,158 @@
+package notification.com.gatewayservice.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cloud.gateway.filter.ratelimit.AbstractRateLimiter;
+import org.springframework.cloud.gateway.support.ConfigurationService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Rate limiter for the {@code RequestRateLimiter} filter. Decisions are made against a per-node bucket
+ * of tokens leased from the shared {@link RateLimitBackend}: while the lease lasts a decision is a
+ * single compare-and-set, and only an empty lease goes back to the backend. A denial from the backend
+ * is remembered until its retry-after passes, so rejected clients do not reach the backend either.
+ * Denied responses carry {@code Retry-After} in whole seconds.
+ */
+@Component
+@Slf4j
+public class TokenBucketRateLimiter extends AbstractRateLimiter<TokenBucketRateLimiter.Config> {
+
+    public static final String CONFIGURATION_PROPERTY_NAME = "token-bucket-rate-limiter";
+    public static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+    public static final String REPLENISH_RATE_HEADER = "X-RateLimit-Replenish-Rate";
+    public static final String BURST_CAPACITY_HEADER = "X-RateLimit-Burst-Capacity";
+
+    private final RateLimitBackend backend;
+    private final RateLimitConfig rateLimitConfig;
+    private final Cache<String, LocalBucket> buckets;
+    private final LongSupplier nanoClock;
+    private final Config defaultConfig;
+
+    @Autowired
+    public TokenBucketRateLimiter(RateLimitBackend backend,
+                                  RateLimitConfig rateLimitConfig,
+                                  ConfigurationService configurationService) {
+        this(backend, rateLimitConfig, configurationService, System::nanoTime);
+    }
+
+    TokenBucketRateLimiter(RateLimitBackend backend,
+                           RateLimitConfig rateLimitConfig,
+                           ConfigurationService configurationService,
+                           LongSupplier nanoClock) {
+        super(Config.class, CONFIGURATION_PROPERTY_NAME, configurationService);
+        this.backend = backend;
+        this.rateLimitConfig = rateLimitConfig;
+        this.nanoClock = nanoClock;
+        // Size-bounded only: access-time expiry would read the clock again on every decision
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(rateLimitConfig.getMaxKeys())
+                .build();
+        this.defaultConfig = new Config();
+        defaultConfig.setReplenishRate(rateLimitConfig.getReplenishRate());
+        defaultConfig.setBurstCapacity(rateLimitConfig.getBurstCapacity());
+    }
+
+    @Override
+    public Mono<Response> isAllowed(String routeId, String id) {
+        Config config = getConfig().get(routeId);
+        // Routes that bind only part of the settings fall back to the gateway-wide defaults
+        if (config == null || config.getReplenishRate() <= 0 || config.getBurstCapacity() <= 0) {
+            config = defaultConfig;
+        }
+        String key = routeId + ':' + id;
+        long now = nanoClock.getAsLong();
+        LocalBucket bucket = buckets.get(key, k -> new LocalBucket(now));
+
+        long remaining = bucket.tryTake();
+        if (remaining >= 0) {
+            return Mono.just(allowed(config, remaining));
+        }
+        if (bucket.deniedUntil - now > 0) {
+            return Mono.just(denied(config, bucket.deniedUntil - now));
+        }
+
+        Config resolved = config;
+        return backend.acquire(key, Math.max(1, rateLimitConfig.getLeaseSize()), resolved.getReplenishRate(), resolved.getBurstCapacity())
+                .map(lease -> {
+                    if (lease.granted() > 0) {
+                        // One of the granted tokens pays for this request; the rest serve the next ones locally
+                        long left = bucket.tokens.addAndGet(lease.granted() - 1);
+                        return allowed(resolved, left + lease.remaining());
+                    }
+                    long retryAfterNanos = Math.max(1, lease.retryAfter().toNanos());
+                    bucket.deniedUntil = nanoClock.getAsLong() + retryAfterNanos;
+                    return denied(resolved, retryAfterNanos);
+                })
+                .onErrorResume(error -> {
+                    // An unreachable backend must not take the gateway down with it
+                    log.warn("Rate limit backend failed for {}, allowing request: {}", key, error.getMessage());
+                    return Mono.just(allowed(resolved, -1));
+                });
+    }
+
+    private Response allowed(Config config, long remaining) {
+        if (!config.isIncludeHeaders()) {
+            return new Response(true, Map.of());
+        }
+        return new Response(true, Map.of(
+                REMAINING_HEADER, Long.toString(remaining),
+                REPLENISH_RATE_HEADER, Integer.toString(config.getReplenishRate()),
+                BURST_CAPACITY_HEADER, Integer.toString(config.getBurstCapacity())));
+    }
+
+    private Response denied(Config config, long retryAfterNanos) {
+        String retryAfter = Long.toString(Math.max(1, ceilSeconds(retryAfterNanos)));
+        if (!config.isIncludeHeaders()) {
+            return new Response(false, Map.of(HttpHeaders.RETRY_AFTER, retryAfter));
+        }
+        return new Response(false, Map.of(
+                HttpHeaders.RETRY_AFTER, retryAfter,
+                REMAINING_HEADER, "0",
+                REPLENISH_RATE_HEADER, Integer.toString(config.getReplenishRate()),
+                BURST_CAPACITY_HEADER, Integer.toString(config.getBurstCapacity())));
+    }
+
+    private static long ceilSeconds(long nanos) {
+        long nanosPerSecond = TimeUnit.SECONDS.toNanos(1);
+        return (nanos + nanosPerSecond - 1) / nanosPerSecond;
+    }
+
+    @Data
+    public static class Config {
+        private int replenishRate;
+        private int burstCapacity;
+        private boolean includeHeaders = true;
+    }
+
+    private static final class LocalBucket {
+
+        private final AtomicLong tokens = new AtomicLong();
+        private volatile long deniedUntil;
+
+        LocalBucket(long now) {
+            this.deniedUntil = now;
+        }
+
+        // Returns the tokens left after taking one, or -1 when the lease is used up
+        long tryTake() {
+            long current;
+            do {
+                current = tokens.get();
+                if (current <= 0) {
+                    return -1;
+                }
+            } while (!tokens.compareAndSet(current, current - 1));
+            return current - 1;
+        }
+    }
+}
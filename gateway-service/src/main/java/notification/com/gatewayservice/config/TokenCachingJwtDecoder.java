@@ -0,0 +1,29 @@
+package notification.com.gatewayservice.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
+import reactor.core.publisher.Mono;
+
+/**
+ * Short-circuits decoding for tokens already held by {@link ValidatedTokenCache}; everything else goes
+ * through the delegate and is cached once it validates.
+ */
+@RequiredArgsConstructor
+public class TokenCachingJwtDecoder implements ReactiveJwtDecoder {
+
+    private final ReactiveJwtDecoder delegate;
+    private final ValidatedTokenCache validatedTokenCache;
+
+    @Override
+    public Mono<Jwt> decode(String token) {
+        return Mono.defer(() -> {
+            ValidatedTokenCache.ValidatedToken cached = validatedTokenCache.get(token);
+            if (cached != null) {
+                return Mono.just(cached.jwt());
+            }
+            return delegate.decode(token)
+                    .map(jwt -> validatedTokenCache.put(token, jwt).jwt());
+        });
+    }
+}
@@ -0,0 +1,57 @@
+package notification.com.gatewayservice.config;
+
+import org.springframework.cloud.gateway.filter.ratelimit.KeyResolver;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.oauth2.core.user.OAuth2User;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.util.Map;
+
+/**
+ * Rate limit key for a request: the caller's user UUID, falling back to the subject, both taken from
+ * the same token claims {@link HeaderGatewayFilterFactory} forwards as {@code X-User-UUID} and
+ * {@code X-Username}. Anonymous requests are keyed by client IP.
+ */
+@Component
+public class UserKeyResolver implements KeyResolver {
+
+    private final ValidatedTokenCache validatedTokenCache;
+
+    public UserKeyResolver(ValidatedTokenCache validatedTokenCache) {
+        this.validatedTokenCache = validatedTokenCache;
+    }
+
+    @Override
+    public Mono<String> resolve(ServerWebExchange exchange) {
+        return exchange.getPrincipal()
+                .map(this::userKey)
+                .defaultIfEmpty("")
+                .map(key -> key.isEmpty() ? clientIpKey(exchange) : key);
+    }
+
+    private String userKey(Object principal) {
+        if (principal instanceof Authentication authentication) {
+            if (authentication.getPrincipal() instanceof Jwt jwt) {
+                Map<String, String> userHeaders = validatedTokenCache.getUserHeaders(jwt);
+                String user = userHeaders.getOrDefault("X-User-UUID", userHeaders.get("X-Username"));
+                return user != null ? "user:" + user : "";
+            }
+            if (authentication.getPrincipal() instanceof OAuth2User oauth2User) {
+                Object uuid = oauth2User.getAttribute("uuid");
+                return "user:" + (uuid != null ? uuid : oauth2User.getName());
+            }
+        }
+        return "";
+    }
+
+    private static String clientIpKey(ServerWebExchange exchange) {
+        InetSocketAddress remoteAddress = exchange.getRequest().getRemoteAddress();
+        return remoteAddress != null && remoteAddress.getAddress() != null
+                ? "ip:" + remoteAddress.getAddress().getHostAddress()
+                : "ip:unknown";
+    }
+}
@@ -0,0 +1,128 @@
+package notification.com.gatewayservice.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Remembers bearer tokens that already passed signature and claim validation, keyed by the SHA-256 of
+ * the raw token so the tokens themselves are never held as cache keys. Each entry keeps the verified
+ * {@link Jwt} together with the {@code X-User-*} headers derived from it and expires at the token's
+ * {@code exp}, capped by the configured maximum TTL. Only successful validations are cached.
+ */
+@Component
+public class ValidatedTokenCache {
+
+    public record ValidatedToken(Jwt jwt, Map<String, String> userHeaders) {
+    }
+
+    private final Cache<String, ValidatedToken> tokens;
+    // Identity index so the header filter can reach the entry from the principal without re-hashing
+    private final Cache<Jwt, ValidatedToken> byJwt;
+
+    public ValidatedTokenCache(JwtConfig jwtConfig, MeterRegistry meterRegistry) {
+        JwtConfig.TokenCache config = jwtConfig.getTokenCache();
+        long maxTtlNanos = config.getMaxTtl().toNanos();
+
+        this.tokens = Caffeine.newBuilder()
+                .maximumSize(config.getMaxSize())
+                .expireAfter(new Expiry<String, ValidatedToken>() {
+                    @Override
+                    public long expireAfterCreate(String key, ValidatedToken value, long currentTime) {
+                        return ttlNanos(value.jwt(), maxTtlNanos);
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, ValidatedToken value, long currentTime, long currentDuration) {
+                        return ttlNanos(value.jwt(), maxTtlNanos);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, ValidatedToken value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        this.byJwt = Caffeine.newBuilder()
+                .weakKeys()
+                .maximumSize(config.getMaxSize())
+                .expireAfterWrite(config.getMaxTtl())
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, tokens, "jwt.token");
+    }
+
+    public ValidatedToken get(String token) {
+        return tokens.getIfPresent(hash(token));
+    }
+
+    public ValidatedToken put(String token, Jwt jwt) {
+        ValidatedToken validated = new ValidatedToken(jwt, userHeaders(jwt));
+        if (ttlNanos(jwt, Long.MAX_VALUE) > 0) {
+            tokens.put(hash(token), validated);
+            byJwt.put(jwt, validated);
+        }
+        return validated;
+    }
+
+    /**
+     * Returns the precomputed user headers for a principal, deriving them if the token was not cached.
+     */
+    public Map<String, String> getUserHeaders(Jwt jwt) {
+        ValidatedToken validated = byJwt.getIfPresent(jwt);
+        return validated != null ? validated.userHeaders() : userHeaders(jwt);
+    }
+
+    static Map<String, String> userHeaders(Jwt jwt) {
+        Map<String, String> headers = new LinkedHashMap<>(8);
+        putIfPresent(headers, "X-Username", jwt.getClaimAsString("sub"));
+        putIfPresent(headers, "X-User-UUID", jwt.getClaimAsString("uuid"));
+        putIfPresent(headers, "X-User-Email", jwt.getClaimAsString("email"));
+
+        Collection<String> authorities = jwt.getClaimAsStringList("authorities");
+        if (authorities != null && !authorities.isEmpty()) {
+            headers.put("X-User-Authorities", String.join(",", authorities));
+        }
+        return Collections.unmodifiableMap(headers);
+    }
+
+    private static void putIfPresent(Map<String, String> headers, String name, String value) {
+        if (value != null) {
+            headers.put(name, value);
+        }
+    }
+
+    private static long ttlNanos(Jwt jwt, long maxTtlNanos) {
+        Instant expiresAt = jwt.getExpiresAt();
+        if (expiresAt == null) {
+            return maxTtlNanos;
+        }
+        long untilExpiry = Duration.between(Instant.now(), expiresAt).toNanos();
+        return Math.max(0, Math.min(untilExpiry, maxTtlNanos));
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package notification.com.gatewayservice;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.reactive.server.EntityExchangeResult;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the real gateway filter chain against a stub downstream: cache hits on a ResponseCache route
+ * must still go through the default RequestRateLimiter filter.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "eureka.client.enabled=false",
+        "spring.cloud.discovery.enabled=false",
+        "spring.cloud.gateway.discovery.locator.enabled=false",
+        "gateway.rate-limit.replenish-rate=1",
+        "gateway.rate-limit.burst-capacity=3",
+        "gateway.rate-limit.lease-size=1"
+})
+class CachedRouteRateLimitTest {
+
+    private static final AtomicInteger DOWNSTREAM_CALLS = new AtomicInteger();
+    private static final HttpServer DOWNSTREAM = startDownstream();
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @DynamicPropertySource
+    static void downstream(DynamicPropertyRegistry registry) {
+        String baseUrl = "http://localhost:" + DOWNSTREAM.getAddress().getPort();
+        // A list binds from a single property source, so the whole route is declared here
+        registry.add("spring.cloud.gateway.routes[0].id", () -> "products");
+        registry.add("spring.cloud.gateway.routes[0].uri", () -> baseUrl);
+        registry.add("spring.cloud.gateway.routes[0].predicates[0]", () -> "Path=/products/**");
+        registry.add("spring.cloud.gateway.routes[0].filters[0]", () -> "ResponseCache=aggressive");
+        // The OAuth2 login client resolves its provider from the issuer at startup
+        registry.add("spring.security.oauth2.client.provider.devops.issuer-uri", () -> baseUrl);
+        registry.add("spring.security.oauth2.resourceserver.jwt.issuer-uri", () -> baseUrl);
+        registry.add("security.jwt.jwk-set-uri", () -> baseUrl + "/oauth2/jwks");
+    }
+
+    @AfterAll
+    static void stopDownstream() {
+        DOWNSTREAM.stop(0);
+    }
+
+    @Test
+    void cachedGetsAreRateLimited() {
+        for (int i = 0; i < 3; i++) {
+            EntityExchangeResult<byte[]> allowed = getCatalog();
+            assertThat(allowed.getStatus()).isEqualTo(HttpStatus.OK);
+            assertThat(allowed.getResponseHeaders().getFirst("X-Cache")).isEqualTo(i == 0 ? "MISS" : "HIT");
+            // One token per request: the chain behind the limiter must not run twice
+            assertThat(allowed.getResponseHeaders().get("X-RateLimit-Remaining")).containsExactly(String.valueOf(2 - i));
+        }
+
+        EntityExchangeResult<byte[]> rejected = getCatalog();
+
+        assertThat(rejected.getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(rejected.getResponseHeaders().getFirst("X-Cache")).isNull();
+        assertThat(DOWNSTREAM_CALLS.get()).isEqualTo(1);
+    }
+
+    private EntityExchangeResult<byte[]> getCatalog() {
+        return webTestClient.get().uri("/products/getAll?page=0")
+                .headers(headers -> headers.setBearerAuth("alice-token"))
+                .exchange()
+                .expectBody()
+                .returnResult();
+    }
+
+    private static HttpServer startDownstream() {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+            String issuer = "http://localhost:" + server.getAddress().getPort();
+            server.createContext("/.well-known/openid-configuration", exchange -> respond(exchange, "{"
+                    + "\"issuer\":\"" + issuer + "\","
+                    + "\"authorization_endpoint\":\"" + issuer + "/oauth2/authorize\","
+                    + "\"token_endpoint\":\"" + issuer + "/oauth2/token\","
+                    + "\"jwks_uri\":\"" + issuer + "/oauth2/jwks\","
+                    + "\"subject_types_supported\":[\"public\"],"
+                    + "\"response_types_supported\":[\"code\"],"
+                    + "\"id_token_signing_alg_values_supported\":[\"RS256\"]}"));
+            server.createContext("/oauth2/jwks", exchange -> respond(exchange, "{\"keys\":[]}"));
+            server.createContext("/products", exchange -> {
+                DOWNSTREAM_CALLS.incrementAndGet();
+                exchange.getResponseHeaders().set("Cache-Control", "public, max-age=0");
+                respond(exchange, "{\"data\":[1,2,3]}");
+            });
+            server.start();
+            return server;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void respond(com.sun.net.httpserver.HttpExchange exchange, String json) throws IOException {
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    @TestConfiguration
+    static class AcceptAnyBearerToken {
+
+        // Signature validation is covered elsewhere; here any bearer token is alice
+        @Bean
+        @Primary
+        ReactiveJwtDecoder testJwtDecoder() {
+            return token -> Mono.just(Jwt.withTokenValue(token)
+                    .header("alg", "RS256")
+                    .subject("alice")
+                    .claim("uuid", "alice-uuid")
+                    .issuedAt(Instant.now())
+                    .expiresAt(Instant.now().plusSeconds(3600))
+                    .build());
+        }
+    }
+}
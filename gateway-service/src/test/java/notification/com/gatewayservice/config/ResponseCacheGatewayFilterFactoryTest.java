@@ -0,0 +1,287 @@
+package notification.com.gatewayservice.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+class ResponseCacheGatewayFilterFactoryTest {
+
+    private static final String ROUTE = "product-service-via-interceptor";
+    private static final String PATH = "/products/getAll?page=0";
+
+    private final Route route = Route.async().id(ROUTE).uri("lb://helper-service").predicate(exchange -> true).build();
+    private ResponseCacheConfig config;
+    private Downstream downstream;
+
+    @BeforeEach
+    void setUp() {
+        config = new ResponseCacheConfig();
+        downstream = new Downstream();
+    }
+
+    @Test
+    void servesRepeatedGetFromCache() {
+        GatewayFilter filter = filter();
+
+        MockServerWebExchange miss = get(filter, PATH);
+        MockServerWebExchange hit = get(filter, PATH);
+
+        assertThat(downstream.calls.get()).isEqualTo(1);
+        assertThat(miss.getResponse().getHeaders().getFirst("X-Cache")).isEqualTo("MISS");
+        assertThat(hit.getResponse().getHeaders().getFirst("X-Cache")).isEqualTo("HIT");
+        assertThat(hit.getResponse().getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(hit.getResponse().getBodyAsString().block()).isEqualTo(downstream.body);
+        assertThat(hit.getResponse().getHeaders().getETag()).isNotNull();
+    }
+
+    @Test
+    void keysEntriesByVaryHeaderValues() {
+        downstream.headers = headers -> headers.setVary(List.of("Accept-Language"));
+        GatewayFilter filter = filter();
+
+        get(filter, PATH, request -> request.header(HttpHeaders.ACCEPT_LANGUAGE, "en"));
+        MockServerWebExchange otherLanguage = get(filter, PATH, request -> request.header(HttpHeaders.ACCEPT_LANGUAGE, "fr"));
+        MockServerWebExchange sameLanguage = get(filter, PATH, request -> request.header(HttpHeaders.ACCEPT_LANGUAGE, "en"));
+
+        assertThat(otherLanguage.getResponse().getHeaders().getFirst("X-Cache")).isEqualTo("MISS");
+        assertThat(sameLanguage.getResponse().getHeaders().getFirst("X-Cache")).isEqualTo("HIT");
+        assertThat(downstream.calls.get()).isEqualTo(2);
+    }
+
+    @Test
+    void doesNotStoreOversizeResponses() {
+        config.setMaxEntryBytes(DataSize.ofBytes(16));
+        downstream.headers = headers -> headers.setContentLength(downstream.body.length());
+        GatewayFilter filter = filter();
+
+        get(filter, PATH);
+        MockServerWebExchange second = get(filter, PATH);
+
+        assertThat(downstream.calls.get()).isEqualTo(2);
+        assertThat(second.getResponse().getBodyAsString().block()).isEqualTo(downstream.body);
+    }
+
+    @Test
+    void doesNotStoreStreamedResponsesThatOutgrowTheEntryLimit() {
+        config.setMaxEntryBytes(DataSize.ofBytes(64));
+        downstream.chunks = 10;
+        GatewayFilter filter = filter();
+
+        MockServerWebExchange first = get(filter, PATH);
+        get(filter, PATH);
+
+        assertThat(downstream.calls.get()).isEqualTo(2);
+        assertThat(first.getResponse().getBodyAsString().block()).isEqualTo(downstream.body.repeat(10));
+    }
+
+    @Test
+    void answersMatchingIfNoneMatchWith304() {
+        downstream.headers = headers -> headers.setETag("W/\"l42\"");
+        GatewayFilter filter = filter();
+        get(filter, PATH);
+
+        MockServerWebExchange revalidated = get(filter, PATH, request -> request.ifNoneMatch("\"l42\""));
+
+        assertThat(revalidated.getResponse().getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(revalidated.getResponse().getHeaders().getETag()).isEqualTo("W/\"l42\"");
+        assertThat(revalidated.getResponse().getBodyAsString().block()).isEmpty();
+        assertThat(downstream.calls.get()).isEqualTo(1);
+    }
+
+    @Test
+    void skipsResponsesSettingCookies() {
+        downstream.headers = headers -> headers.add(HttpHeaders.SET_COOKIE, "SESSION=abc");
+        GatewayFilter filter = filter();
+
+        get(filter, PATH);
+        get(filter, PATH);
+
+        assertThat(downstream.calls.get()).isEqualTo(2);
+    }
+
+    @Test
+    void skipsNoStoreResponsesAndRequests() {
+        downstream.headers = headers -> headers.setCacheControl("no-store");
+        GatewayFilter filter = filter();
+        get(filter, PATH);
+        get(filter, PATH);
+
+        downstream.headers = headers -> { };
+        get(filter, PATH, request -> request.header(HttpHeaders.CACHE_CONTROL, "no-store"));
+        get(filter, PATH, request -> request.header(HttpHeaders.CACHE_CONTROL, "no-store"));
+
+        assertThat(downstream.calls.get()).isEqualTo(4);
+    }
+
+    @Test
+    void successfulWriteInvalidatesRoute() {
+        GatewayFilter filter = filter();
+        get(filter, PATH);
+
+        filter.filter(exchange(MockServerHttpRequest.method(HttpMethod.POST, "/products/create")), downstream).block();
+        MockServerWebExchange afterWrite = get(filter, PATH);
+
+        assertThat(afterWrite.getResponse().getHeaders().getFirst("X-Cache")).isEqualTo("MISS");
+        assertThat(downstream.calls.get()).isEqualTo(3);
+    }
+
+    @Test
+    void failedWriteKeepsRouteEntries() {
+        GatewayFilter filter = filter();
+        get(filter, PATH);
+
+        downstream.status = HttpStatus.BAD_REQUEST;
+        filter.filter(exchange(MockServerHttpRequest.method(HttpMethod.POST, "/products/create")), downstream).block();
+        downstream.status = HttpStatus.OK;
+        MockServerWebExchange afterWrite = get(filter, PATH);
+
+        assertThat(afterWrite.getResponse().getHeaders().getFirst("X-Cache")).isEqualTo("HIT");
+    }
+
+    @Test
+    void echoesCurrentTracingHeadersOnHit() {
+        downstream.headers = headers -> headers.set("X-Correlation-ID", "c-1");
+        GatewayFilter filter = filter();
+        get(filter, PATH, request -> request.header("X-Correlation-ID", "c-1"));
+
+        MockServerWebExchange hit = get(filter, PATH, request -> request.header("X-Correlation-ID", "c-2"));
+
+        assertThat(hit.getResponse().getHeaders().getFirst("X-Cache")).isEqualTo("HIT");
+        assertThat(hit.getResponse().getHeaders().get("X-Correlation-ID")).containsExactly("c-2");
+    }
+
+    @Test
+    void replaysBodyVerbatim() {
+        downstream.body = "{\"timestamp\":\"2026-01-01T00:00:00Z\",  \"data\":{\"requestId\":7}}";
+        downstream.headers = headers -> headers.setContentType(MediaType.APPLICATION_JSON);
+        GatewayFilter filter = filter();
+        get(filter, PATH);
+
+        MockServerWebExchange hit = get(filter, PATH, request -> request.header("X-Request-ID", "r-2"));
+
+        assertThat(hit.getResponse().getBodyAsString().block()).isEqualTo(downstream.body);
+    }
+
+    @Test
+    void doesNotStoreAuthenticatedResponsesUnlessPublic() {
+        GatewayFilter filter = filter();
+
+        get(filter, "/products/headers-demo", request -> request.header(HttpHeaders.AUTHORIZATION, "Bearer alice"));
+        MockServerWebExchange otherUser = get(filter, "/products/headers-demo",
+                request -> request.header(HttpHeaders.AUTHORIZATION, "Bearer bob"));
+
+        assertThat(otherUser.getResponse().getHeaders().getFirst("X-Cache")).isNull();
+        assertThat(downstream.calls.get()).isEqualTo(2);
+    }
+
+    @Test
+    void sharesPublicResponsesBetweenAuthenticatedCallers() {
+        downstream.headers = headers -> headers.setCacheControl("public, max-age=0");
+        GatewayFilter filter = filter();
+
+        get(filter, PATH, request -> request.header(HttpHeaders.AUTHORIZATION, "Bearer alice"));
+        MockServerWebExchange otherUser = get(filter, PATH, request -> request.header(HttpHeaders.AUTHORIZATION, "Bearer bob"));
+
+        assertThat(otherUser.getResponse().getHeaders().getFirst("X-Cache")).isEqualTo("HIT");
+        assertThat(downstream.calls.get()).isEqualTo(1);
+    }
+
+    @Test
+    void neverServesAnonymousEntriesToAuthenticatedCallers() {
+        GatewayFilter filter = filter();
+        get(filter, PATH);
+
+        MockServerWebExchange withPrincipal = exchange(MockServerHttpRequest.get(PATH));
+        ServerWebExchange authenticated = withPrincipal.mutate()
+                .principal(Mono.just(new TestingAuthenticationToken("alice", null, "ROLE_USER")))
+                .build();
+        filter.filter(authenticated, downstream).block();
+
+        assertThat(withPrincipal.getResponse().getHeaders().getFirst("X-Cache")).isNull();
+        assertThat(downstream.calls.get()).isEqualTo(2);
+    }
+
+    @Test
+    void globalPartAloneNeverStores() {
+        ResponseCacheGatewayFilterFactory factory = new ResponseCacheGatewayFilterFactory(config, new SimpleMeterRegistry());
+
+        MockServerWebExchange first = exchange(MockServerHttpRequest.get(PATH));
+        factory.filter(first, downstream).block();
+        factory.filter(exchange(MockServerHttpRequest.get(PATH)), downstream).block();
+
+        assertThat(first.getResponse().getHeaders().getFirst("X-Cache")).isNull();
+        assertThat(downstream.calls.get()).isEqualTo(2);
+    }
+
+    private GatewayFilter filter() {
+        ResponseCacheGatewayFilterFactory factory =
+                new ResponseCacheGatewayFilterFactory(config, new SimpleMeterRegistry());
+        ResponseCacheGatewayFilterFactory.Config routeConfig = new ResponseCacheGatewayFilterFactory.Config();
+        routeConfig.setStrategy("aggressive");
+        GatewayFilter routeFilter = factory.apply(routeConfig);
+        // The global part decorates the response ahead of the route filter, as in the gateway's filter chain
+        return (exchange, chain) -> factory.filter(exchange, decorated -> routeFilter.filter(decorated, chain));
+    }
+
+    private MockServerWebExchange get(GatewayFilter filter, String path) {
+        return get(filter, path, request -> { });
+    }
+
+    private MockServerWebExchange get(GatewayFilter filter, String path, Consumer<MockServerHttpRequest.BaseBuilder<?>> customizer) {
+        MockServerHttpRequest.BaseBuilder<?> request = MockServerHttpRequest.get(path);
+        customizer.accept(request);
+        MockServerWebExchange exchange = exchange(request);
+        filter.filter(exchange, downstream).block();
+        return exchange;
+    }
+
+    private MockServerWebExchange exchange(MockServerHttpRequest.BaseBuilder<?> request) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(request);
+        exchange.getAttributes().put(GATEWAY_ROUTE_ATTR, route);
+        return exchange;
+    }
+
+    /**
+     * Stands in for the rest of the chain: answers every request with the configured response.
+     */
+    private static final class Downstream implements GatewayFilterChain {
+
+        private final AtomicInteger calls = new AtomicInteger();
+        private HttpStatus status = HttpStatus.OK;
+        private String body = "{\"products\":[1,2,3]}";
+        private int chunks = 1;
+        private Consumer<HttpHeaders> headers = headers -> { };
+
+        @Override
+        public Mono<Void> filter(ServerWebExchange exchange) {
+            calls.incrementAndGet();
+            exchange.getResponse().setStatusCode(status);
+            headers.accept(exchange.getResponse().getHeaders());
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            return exchange.getResponse().writeWith(Flux.range(0, chunks)
+                    .map(chunk -> exchange.getResponse().bufferFactory().wrap(bytes)));
+        }
+    }
+}
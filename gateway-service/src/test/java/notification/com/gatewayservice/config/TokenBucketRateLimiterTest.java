@@ -0,0 +1,203 @@
+package notification.com.gatewayservice.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.ratelimit.RateLimiter;
+import org.springframework.http.HttpHeaders;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketRateLimiterTest {
+
+    private static final String ROUTE = "product-service-via-interceptor";
+
+    private final AtomicLong clock = new AtomicLong(TimeUnit.HOURS.toNanos(1));
+    private RateLimitConfig config;
+    private CountingBackend backend;
+
+    @BeforeEach
+    void setUp() {
+        config = new RateLimitConfig();
+        config.setReplenishRate(10);
+        config.setBurstCapacity(5);
+        config.setLeaseSize(10);
+        backend = new CountingBackend(new InMemoryRateLimitBackend(config, clock::get));
+    }
+
+    @Test
+    void allowsBurstThenRejectsWithRetryAfter() {
+        TokenBucketRateLimiter limiter = limiter(backend);
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(decide(limiter, "user:alice").isAllowed()).isTrue();
+        }
+        RateLimiter.Response rejected = decide(limiter, "user:alice");
+
+        assertThat(rejected.isAllowed()).isFalse();
+        assertThat(rejected.getHeaders()).containsEntry(HttpHeaders.RETRY_AFTER, "1")
+                .containsEntry(TokenBucketRateLimiter.REMAINING_HEADER, "0");
+    }
+
+    @Test
+    void refillsAtReplenishRate() {
+        TokenBucketRateLimiter limiter = limiter(backend);
+        drain(limiter, "user:alice");
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(200));
+
+        assertThat(decide(limiter, "user:alice").isAllowed()).isTrue();
+        assertThat(decide(limiter, "user:alice").isAllowed()).isTrue();
+        assertThat(decide(limiter, "user:alice").isAllowed()).isFalse();
+    }
+
+    @Test
+    void spendsLeasedTokensWithoutCallingBackend() {
+        config.setBurstCapacity(100);
+        TokenBucketRateLimiter limiter = limiter(backend);
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(decide(limiter, "user:alice").isAllowed()).isTrue();
+        }
+
+        assertThat(backend.calls.get()).isEqualTo(1);
+    }
+
+    @Test
+    void remembersRejectionUntilRetryAfter() {
+        TokenBucketRateLimiter limiter = limiter(backend);
+        drain(limiter, "user:alice");
+        int callsAfterFirstRejection = backend.calls.get();
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(decide(limiter, "user:alice").isAllowed()).isFalse();
+        }
+
+        assertThat(backend.calls.get()).isEqualTo(callsAfterFirstRejection);
+    }
+
+    @Test
+    void keysAreLimitedIndependently() {
+        TokenBucketRateLimiter limiter = limiter(backend);
+        drain(limiter, "user:alice");
+
+        assertThat(decide(limiter, "user:bob").isAllowed()).isTrue();
+        assertThat(decide(limiter, "ip:203.0.113.10").isAllowed()).isTrue();
+    }
+
+    @Test
+    void nodesSharingBackendShareOneQuota() {
+        config.setBurstCapacity(20);
+        config.setLeaseSize(3);
+        TokenBucketRateLimiter nodeA = limiter(backend);
+        TokenBucketRateLimiter nodeB = limiter(backend);
+
+        int allowed = 0;
+        for (int i = 0; i < 40; i++) {
+            TokenBucketRateLimiter node = i % 2 == 0 ? nodeA : nodeB;
+            if (decide(node, "user:alice").isAllowed()) {
+                allowed++;
+            }
+        }
+
+        assertThat(allowed).isEqualTo(20);
+    }
+
+    @Test
+    void neverAdmitsMoreThanBurstUnderContention() throws Exception {
+        config.setBurstCapacity(500);
+        config.setLeaseSize(7);
+        TokenBucketRateLimiter limiter = limiter(backend);
+        int threads = 16;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger allowed = new AtomicInteger();
+
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < 1000; i++) {
+                        if (decide(limiter, "user:alice").isAllowed()) {
+                            allowed.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(allowed.get()).isEqualTo(500);
+    }
+
+    @Test
+    void allowsWhenBackendFails() {
+        TokenBucketRateLimiter limiter = limiter((key, requested, rate, burst) ->
+                Mono.error(new IllegalStateException("backend unavailable")));
+
+        assertThat(decide(limiter, "user:alice").isAllowed()).isTrue();
+    }
+
+    @Test
+    void routeSettingsOverrideDefaults() {
+        TokenBucketRateLimiter limiter = limiter(backend);
+        TokenBucketRateLimiter.Config routeConfig = new TokenBucketRateLimiter.Config();
+        routeConfig.setReplenishRate(1);
+        routeConfig.setBurstCapacity(1);
+        limiter.getConfig().put(ROUTE, routeConfig);
+
+        assertThat(decide(limiter, "user:alice").isAllowed()).isTrue();
+        RateLimiter.Response rejected = decide(limiter, "user:alice");
+
+        assertThat(rejected.isAllowed()).isFalse();
+        assertThat(rejected.getHeaders()).containsEntry(TokenBucketRateLimiter.BURST_CAPACITY_HEADER, "1");
+    }
+
+    private TokenBucketRateLimiter limiter(RateLimitBackend rateLimitBackend) {
+        return new TokenBucketRateLimiter(rateLimitBackend, config, null, clock::get);
+    }
+
+    private RateLimiter.Response decide(TokenBucketRateLimiter limiter, String key) {
+        return limiter.isAllowed(ROUTE, key).block(Duration.ofSeconds(1));
+    }
+
+    private void drain(TokenBucketRateLimiter limiter, String key) {
+        while (decide(limiter, key).isAllowed()) {
+            // keep spending until the first rejection
+        }
+    }
+
+    private static final class CountingBackend implements RateLimitBackend {
+
+        private final RateLimitBackend delegate;
+        private final AtomicInteger calls = new AtomicInteger();
+
+        CountingBackend(RateLimitBackend delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public Mono<Lease> acquire(String key, long requested, int replenishRate, int burstCapacity) {
+            calls.incrementAndGet();
+            return delegate.acquire(key, requested, replenishRate, burstCapacity);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package notification.com.headerenrichment;
+
+import java.time.Instant;
+import java.util.function.LongSupplier;
+
+/**
+ * Timestamp strings refreshed once per second and shared by every request enriched within that second,
+ * so the hot path formats a timestamp once a second instead of once per request or per millisecond.
+ * The enrichment timestamps are informational and nothing reads them below a second.
+ */
+final class EnrichmentClock {
+
+    private static final long TICK_MILLIS = 1000;
+
+    private final LongSupplier currentTimeMillis;
+    private volatile Tick current = new Tick(-1L, "", "");
+
+    EnrichmentClock() {
+        this(System::currentTimeMillis);
+    }
+
+    EnrichmentClock(LongSupplier currentTimeMillis) {
+        this.currentTimeMillis = currentTimeMillis;
+    }
+
+    Tick now() {
+        long tickMillis = currentTimeMillis.getAsLong() / TICK_MILLIS * TICK_MILLIS;
+        Tick tick = current;
+        if (tick.epochMillis() != tickMillis) {
+            tick = new Tick(tickMillis, Long.toString(tickMillis), Instant.ofEpochMilli(tickMillis).toString());
+            current = tick;
+        }
+        return tick;
+    }
+
+    record Tick(long epochMillis, String epochMillisText, String isoText) {
+    }
+}
@@ -0,0 +1,54 @@
+package notification.com.headerenrichment;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * Immutable set of constant headers added for one target service. Compiled once from configuration so
+ * applying it is a plain array walk over shared name/value strings.
+ */
+final class EnrichmentPlan {
+
+    private final String[] names;
+    private final String[] values;
+    private final Map<String, String> serviceHeaders;
+
+    private EnrichmentPlan(String[] names, String[] values, Map<String, String> serviceHeaders) {
+        this.names = names;
+        this.values = values;
+        this.serviceHeaders = serviceHeaders;
+    }
+
+    // Target-specific headers are applied after the common ones so they win on conflicts
+    public static EnrichmentPlan compile(Map<String, String> commonHeaders, Map<String, String> serviceHeaders) {
+        Map<String, String> merged = new LinkedHashMap<>(commonHeaders);
+        merged.putAll(serviceHeaders);
+
+        String[] names = new String[merged.size()];
+        String[] values = new String[merged.size()];
+        int i = 0;
+        for (Map.Entry<String, String> header : merged.entrySet()) {
+            names[i] = header.getKey().intern();
+            values[i] = header.getValue().intern();
+            i++;
+        }
+        return new EnrichmentPlan(names, values,
+                Collections.unmodifiableMap(new LinkedHashMap<>(serviceHeaders)));
+    }
+
+    public void applyTo(BiConsumer<String, String> sink) {
+        for (int i = 0; i < names.length; i++) {
+            sink.accept(names[i], values[i]);
+        }
+    }
+
+    public int size() {
+        return names.length;
+    }
+
+    public Map<String, String> getServiceHeaders() {
+        return serviceHeaders;
+    }
+}
@@ -0,0 +1,93 @@
+package notification.com.headerenrichment;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * Computes the enrichment headers for a request bound to a target service. Extracted from helper-service
+ * so other services can embed it and enrich in-process; the output is the same wherever it runs, given
+ * the same per-service configuration. Thread-safe: {@link #configure} swaps in a freshly compiled set of
+ * plans that concurrent callers pick up atomically.
+ */
+public final class HeaderEnricher {
+
+    // Timestamp, processing time, user context and target service, plus typical service-specific headers
+    private static final int ENRICHMENT_HEADER_ESTIMATE = 10;
+
+    private final EnrichmentClock clock = new EnrichmentClock();
+    private final Map<String, String> commonHeaders;
+
+    private volatile Map<String, EnrichmentPlan> plans = Map.of();
+    private volatile EnrichmentPlan defaultPlan;
+
+    /**
+     * @param enrichedBy name of the service doing the enrichment, sent as {@code X-Enriched-By}
+     */
+    public HeaderEnricher(String enrichedBy) {
+        Map<String, String> headers = new LinkedHashMap<>();
+        headers.put("X-Enriched", "true");
+        headers.put("X-Enriched-By", enrichedBy);
+        headers.put("X-Request-Source", "gateway-via-interceptor");
+        this.commonHeaders = Collections.unmodifiableMap(headers);
+        this.defaultPlan = EnrichmentPlan.compile(commonHeaders, Map.of());
+    }
+
+    /**
+     * Compiles one plan per target service from its configured headers; {@code defaultHeaders} apply to
+     * services that have no entry.
+     */
+    public void configure(Map<String, Map<String, String>> serviceHeaders, Map<String, String> defaultHeaders) {
+        Map<String, EnrichmentPlan> compiled = new HashMap<>();
+        serviceHeaders.forEach((serviceName, headers) -> {
+            Map<String, String> targetHeaders = new LinkedHashMap<>(commonHeaders);
+            targetHeaders.put("X-Target-Service", serviceName);
+            compiled.put(serviceName, EnrichmentPlan.compile(targetHeaders, headers));
+        });
+
+        this.plans = Map.copyOf(compiled);
+        this.defaultPlan = EnrichmentPlan.compile(commonHeaders, defaultHeaders);
+    }
+
+    public Set<String> configuredServices() {
+        return plans.keySet();
+    }
+
+    public Map<String, String> enrich(Map<String, String> originalHeaders, String targetService) {
+        Map<String, String> enrichedHeaders = new HashMap<>(
+                capacityFor(originalHeaders.size() + ENRICHMENT_HEADER_ESTIMATE));
+        enrichedHeaders.putAll(originalHeaders);
+        enrich(originalHeaders, targetService, enrichedHeaders::put);
+        return enrichedHeaders;
+    }
+
+    /**
+     * Writes only the enrichment headers to {@code sink}, letting callers that already hold a mutable
+     * header container (such as a proxy) enrich it in place instead of copying it.
+     */
+    public void enrich(Map<String, String> originalHeaders, String targetService, BiConsumer<String, String> sink) {
+        EnrichmentClock.Tick now = clock.now();
+        sink.accept("X-Enriched-At", now.isoText());
+        sink.accept("X-Processing-Time", now.epochMillisText());
+        sink.accept("X-User-Context", originalHeaders.containsKey("X-Username") ? "authenticated" : "anonymous");
+
+        EnrichmentPlan plan = plans.get(targetService);
+        if (plan == null) {
+            sink.accept("X-Target-Service", targetService);
+            plan = defaultPlan;
+        }
+        plan.applyTo(sink);
+    }
+
+    public Map<String, String> getServiceHeaders(String serviceName) {
+        EnrichmentPlan plan = plans.get(serviceName);
+        return (plan != null ? plan : defaultPlan).getServiceHeaders();
+    }
+
+    private static int capacityFor(int expectedSize) {
+        return (int) (expectedSize / 0.75f) + 1;
+    }
+}
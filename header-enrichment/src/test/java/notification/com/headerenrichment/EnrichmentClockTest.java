@@ -0,0 +1,35 @@
+package notification.com.headerenrichment;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EnrichmentClockTest {
+
+    private final AtomicLong millis = new AtomicLong(1_700_000_000_250L);
+    private final EnrichmentClock clock = new EnrichmentClock(millis::get);
+
+    @Test
+    void sharesOneTickWithinASecond() {
+        EnrichmentClock.Tick first = clock.now();
+        millis.addAndGet(700);
+
+        assertThat(clock.now()).isSameAs(first);
+        assertThat(first.epochMillisText()).isEqualTo("1700000000000");
+        assertThat(first.isoText()).isEqualTo("2023-11-14T22:13:20Z");
+    }
+
+    @Test
+    void refreshesOnTheNextSecond() {
+        EnrichmentClock.Tick first = clock.now();
+        millis.addAndGet(750);
+
+        EnrichmentClock.Tick next = clock.now();
+
+        assertThat(next).isNotSameAs(first);
+        assertThat(next.epochMillis()).isEqualTo(1_700_000_001_000L);
+        assertThat(next.isoText()).isEqualTo("2023-11-14T22:13:21Z");
+    }
+}
@@ -0,0 +1,57 @@
+package notification.com.headerenrichment;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class EnrichmentPlanTest {
+
+    @Test
+    void appliesCommonHeadersThenServiceHeaders() {
+        EnrichmentPlan plan = EnrichmentPlan.compile(
+                ordered("X-Enriched", "true", "X-Service-Category", "unknown"),
+                ordered("X-Service-Category", "catalog", "X-Cache-Strategy", "aggressive"));
+
+        Map<String, String> applied = new LinkedHashMap<>();
+        plan.applyTo(applied::put);
+
+        assertThat(applied).containsExactly(
+                Map.entry("X-Enriched", "true"),
+                Map.entry("X-Service-Category", "catalog"),
+                Map.entry("X-Cache-Strategy", "aggressive"));
+        assertThat(plan.size()).isEqualTo(3);
+    }
+
+    @Test
+    void exposesOnlyServiceHeadersAsAnImmutableCopy() {
+        Map<String, String> serviceHeaders = ordered("X-Priority", "normal");
+        EnrichmentPlan plan = EnrichmentPlan.compile(ordered("X-Enriched", "true"), serviceHeaders);
+        serviceHeaders.put("X-Priority", "high");
+
+        assertThat(plan.getServiceHeaders()).containsExactly(Map.entry("X-Priority", "normal"));
+        assertThatThrownBy(() -> plan.getServiceHeaders().put("X-Other", "value"))
+                .isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    void compilesAnEmptyPlan() {
+        EnrichmentPlan plan = EnrichmentPlan.compile(Map.of(), Map.of());
+
+        plan.applyTo((name, value) -> {
+            throw new AssertionError("Unexpected header " + name);
+        });
+        assertThat(plan.size()).isZero();
+    }
+
+    private static Map<String, String> ordered(String... namesAndValues) {
+        Map<String, String> headers = new LinkedHashMap<>();
+        for (int i = 0; i < namesAndValues.length; i += 2) {
+            headers.put(namesAndValues[i], namesAndValues[i + 1]);
+        }
+        return headers;
+    }
+}
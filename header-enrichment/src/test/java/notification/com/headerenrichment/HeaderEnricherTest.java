@@ -0,0 +1,72 @@
+package notification.com.headerenrichment;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HeaderEnricherTest {
+
+    private HeaderEnricher enricher;
+
+    @BeforeEach
+    void setUp() {
+        enricher = new HeaderEnricher("product-service");
+        enricher.configure(
+                Map.of("order-service", Map.of("X-Service-Category", "transaction", "X-Audit-Required", "true")),
+                Map.of("X-Service-Category", "unknown"));
+    }
+
+    @Test
+    void addsCommonAndTargetHeaders() {
+        Map<String, String> enriched = enricher.enrich(Map.of("X-Username", "alice"), "order-service");
+
+        assertThat(enriched)
+                .containsEntry("X-Username", "alice")
+                .containsEntry("X-Enriched", "true")
+                .containsEntry("X-Enriched-By", "product-service")
+                .containsEntry("X-Request-Source", "gateway-via-interceptor")
+                .containsEntry("X-Target-Service", "order-service")
+                .containsEntry("X-Service-Category", "transaction")
+                .containsEntry("X-Audit-Required", "true")
+                .containsEntry("X-User-Context", "authenticated");
+        assertThat(Instant.parse(enriched.get("X-Enriched-At")).toEpochMilli())
+                .isEqualTo(Long.parseLong(enriched.get("X-Processing-Time")));
+    }
+
+    @Test
+    void usesDefaultHeadersForUnconfiguredTargets() {
+        Map<String, String> enriched = enricher.enrich(Map.of(), "billing-service");
+
+        assertThat(enriched)
+                .containsEntry("X-Target-Service", "billing-service")
+                .containsEntry("X-Service-Category", "unknown")
+                .containsEntry("X-User-Context", "anonymous")
+                .doesNotContainKey("X-Audit-Required");
+        assertThat(enricher.getServiceHeaders("billing-service")).containsExactly(Map.entry("X-Service-Category", "unknown"));
+    }
+
+    @Test
+    void writesOnlyEnrichmentHeadersToSink() {
+        Map<String, String> written = new HashMap<>();
+
+        enricher.enrich(Map.of("Authorization", "Bearer token"), "order-service", written::put);
+
+        assertThat(written).doesNotContainKey("Authorization").containsEntry("X-Enriched-By", "product-service");
+    }
+
+    @Test
+    void reconfigureReplacesPlans() {
+        enricher.configure(Map.of("user-service", Map.of("X-Data-Sensitivity", "high")), Map.of());
+
+        assertThat(enricher.configuredServices()).containsExactly("user-service");
+        assertThat(enricher.enrich(Map.of(), "order-service"))
+                .doesNotContainKey("X-Audit-Required")
+                .doesNotContainKey("X-Service-Category")
+                .containsEntry("X-Target-Service", "order-service");
+    }
+}
@@ -0,0 +1,42 @@
+package notification.com.helperservice;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Header sets shaped like real gateway traffic: the usual browser/client headers, the gateway's
+ * correlation and user headers, then custom headers up to the requested count.
+ */
+public final class BenchmarkHeaders {
+
+    private BenchmarkHeaders() {
+    }
+
+    public static Map<String, String> of(int count) {
+        Map<String, String> headers = new LinkedHashMap<>();
+        headers.put("Host", "helper-service:8082");
+        headers.put("User-Agent", "Mozilla/5.0 (X11; Linux x86_64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0 Safari/537.36");
+        headers.put("Accept", "application/json, text/plain, */*");
+        headers.put("Accept-Encoding", "gzip, deflate, br");
+        headers.put("Accept-Language", "en-US,en;q=0.9");
+        headers.put("Authorization", "Bearer " + "eyJhbGciOiJSUzI1NiJ9.".repeat(20));
+        headers.put("X-Correlation-ID", "5f1d7c2e-8a43-4d61-9a8e-2b7f0c3d9e11");
+        headers.put("X-Request-ID", "0c6a2f4b-1e9d-4f3a-b8c7-6d5e4a3b2c1d");
+        headers.put("X-Username", "jane.doe");
+        headers.put("X-User-UUID", "8b7e6d5c-4a3b-2c1d-0e9f-8a7b6c5d4e3f");
+        headers.put("X-User-Email", "jane.doe@example.com");
+        headers.put("X-User-Authorities", "USER,EDITOR");
+        headers.put("X-Gateway-Timestamp", "2025-01-01T00:00:00.000Z");
+        headers.put("X-Gateway-Service", "gateway-service");
+        headers.put("X-Forwarded-For", "203.0.113.10, 10.0.0.5");
+
+        for (int i = headers.size(); i < count; i++) {
+            headers.put("X-Custom-Header-" + i, "value-" + i);
+        }
+
+        // Smaller sets keep only the first entries, which are the most common ones
+        Map<String, String> trimmed = new LinkedHashMap<>();
+        headers.entrySet().stream().limit(count).forEach(e -> trimmed.put(e.getKey(), e.getValue()));
+        return trimmed;
+    }
+}
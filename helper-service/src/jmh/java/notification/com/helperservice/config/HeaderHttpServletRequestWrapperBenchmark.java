@@ -0,0 +1,39 @@
+package notification.com.helperservice.config;
+
+import notification.com.helperservice.BenchmarkHeaders;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.Enumeration;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class HeaderHttpServletRequestWrapperBenchmark {
+
+    @Param({"10", "40", "100"})
+    private int headerCount;
+
+    private HeaderHttpServletRequestWrapper wrapper;
+
+    @Setup
+    public void setUp() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/proxy/product-service/getAll");
+        BenchmarkHeaders.of(headerCount).forEach(request::addHeader);
+
+        wrapper = new HeaderHttpServletRequestWrapper(request);
+        wrapper.addHeader("X-Enriched", "true");
+        wrapper.addHeader("X-Target-Service", "product-service");
+        wrapper.addHeader("X-Correlation-ID", "5f1d7c2e-8a43-4d61-9a8e-2b7f0c3d9e11");
+    }
+
+    @Benchmark
+    public void getHeaderNames(Blackhole blackhole) {
+        Enumeration<String> names = wrapper.getHeaderNames();
+        while (names.hasMoreElements()) {
+            blackhole.consume(names.nextElement());
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package notification.com.helperservice.config;
+
+import notification.com.helperservice.BenchmarkHeaders;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RequestLoggingInterceptorBenchmark {
+
+    @Param({"10", "40", "100"})
+    private int headerCount;
+
+    private RequestLoggingInterceptor interceptor;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @Setup
+    public void setUp() {
+        // Header extraction does not touch the log service
+        interceptor = new RequestLoggingInterceptor(null);
+
+        request = new MockHttpServletRequest("GET", "/api/v1/proxy/product-service/getAll");
+        response = new MockHttpServletResponse();
+        Map<String, String> headers = BenchmarkHeaders.of(headerCount);
+        headers.forEach(request::addHeader);
+        headers.forEach(response::addHeader);
+    }
+
+    @Benchmark
+    public Map<String, String> extractRequestHeaders() {
+        return interceptor.extractHeaders(request);
+    }
+
+    @Benchmark
+    public Map<String, String> extractResponseHeaders() {
+        return interceptor.extractHeaders(response);
+    }
+}
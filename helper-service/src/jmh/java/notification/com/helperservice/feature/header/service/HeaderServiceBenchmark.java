@@ -0,0 +1,55 @@
+package notification.com.helperservice.feature.header.service;
+
+import notification.com.helperservice.BenchmarkHeaders;
+import notification.com.helperservice.config.ServiceConfig;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class HeaderServiceBenchmark {
+
+    @Param({"10", "40", "100"})
+    private int headerCount;
+
+    private HeaderService headerService;
+    private Map<String, String> headers;
+
+    @Setup
+    public void setUp() {
+        ServiceConfig.ServiceInfo productService = new ServiceConfig.ServiceInfo();
+        productService.setEnrichmentHeaders(Map.of(
+                "X-Service-Category", "catalog",
+                "X-Cache-Strategy", "aggressive"));
+
+        ServiceConfig serviceConfig = new ServiceConfig();
+        serviceConfig.getTargets().put("product-service", productService);
+
+        headerService = new HeaderService(serviceConfig, "helper-service");
+        headerService.compilePlans();
+        headers = new HashMap<>(BenchmarkHeaders.of(headerCount));
+    }
+
+    @Benchmark
+    public Map<String, String> enrichHeaders() {
+        return headerService.enrichHeaders(headers, "product-service");
+    }
+
+    @Benchmark
+    public void enrichHeadersInPlace(Blackhole blackhole) {
+        headerService.enrichHeaders(headers, "product-service", (name, value) -> {
+            blackhole.consume(name);
+            blackhole.consume(value);
+        });
+    }
+
+    @Benchmark
+    public Map<String, String> enrichHeadersUnknownService() {
+        return headerService.enrichHeaders(headers, "inventory-service");
+    }
+}
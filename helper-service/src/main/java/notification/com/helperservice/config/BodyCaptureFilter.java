@@ -0,0 +1,63 @@
+package notification.com.helperservice.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Wraps proxied requests whose target has {@code body-capture.enabled} so that
+ * {@link RequestLoggingInterceptor} can log the leading bytes of both bodies. The wrappers are also
+ * exposed as request attributes, which survive the async re-dispatch of streamed responses.
+ */
+@Component
+@RequiredArgsConstructor
+public class BodyCaptureFilter extends OncePerRequestFilter {
+
+    static final String REQUEST_CAPTURE_ATTRIBUTE = BodyCaptureFilter.class.getName() + ".request";
+    static final String RESPONSE_CAPTURE_ATTRIBUTE = BodyCaptureFilter.class.getName() + ".response";
+
+    private static final String PROXY_PREFIX = "/api/v1/proxy/";
+
+    private final ServiceConfig serviceConfig;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith(PROXY_PREFIX);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        ServiceConfig.BodyCapture settings = captureSettings(request.getRequestURI());
+        if (settings == null || !settings.isEnabled()) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        HttpServletRequest capturedRequest = request;
+        if (BoundedBodyBuffer.isTextual(request.getContentType())) {
+            BoundedContentCachingRequestWrapper requestWrapper =
+                    new BoundedContentCachingRequestWrapper(request, settings.getMaxBytes());
+            request.setAttribute(REQUEST_CAPTURE_ATTRIBUTE, requestWrapper);
+            capturedRequest = requestWrapper;
+        }
+
+        BodyCapturingResponseWrapper responseWrapper = new BodyCapturingResponseWrapper(response, settings.getMaxBytes());
+        request.setAttribute(RESPONSE_CAPTURE_ATTRIBUTE, responseWrapper);
+
+        chain.doFilter(capturedRequest, responseWrapper);
+    }
+
+    private ServiceConfig.BodyCapture captureSettings(String uri) {
+        int end = uri.indexOf('/', PROXY_PREFIX.length());
+        String serviceName = end < 0 ? uri.substring(PROXY_PREFIX.length()) : uri.substring(PROXY_PREFIX.length(), end);
+        ServiceConfig.ServiceInfo serviceInfo = serviceConfig.getServiceInfo(serviceName);
+        return serviceInfo != null ? serviceInfo.getBodyCapture() : null;
+    }
+}
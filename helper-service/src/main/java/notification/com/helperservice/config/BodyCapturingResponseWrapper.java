@@ -0,0 +1,113 @@
+package notification.com.helperservice.config;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+
+/**
+ * Tees the leading bytes of a textual response into a {@link BoundedBodyBuffer} while every byte goes
+ * straight through to the client. Unlike {@code ContentCachingResponseWrapper} it never holds the body
+ * back, so streamed responses keep streaming and large payloads are not buffered twice.
+ */
+public class BodyCapturingResponseWrapper extends HttpServletResponseWrapper {
+
+    private final BoundedBodyBuffer buffer;
+    private ServletOutputStream outputStream;
+    private PrintWriter writer;
+    // Decided on the first write, once the content type is known
+    private Boolean capturing;
+
+    public BodyCapturingResponseWrapper(HttpServletResponse response, int maxBytes) {
+        super(response);
+        this.buffer = new BoundedBodyBuffer(maxBytes);
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        if (outputStream == null) {
+            outputStream = new TeeOutputStream(super.getOutputStream());
+        }
+        return outputStream;
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (writer == null) {
+            writer = new PrintWriter(new OutputStreamWriter(getOutputStream(), getCharacterEncoding()));
+        }
+        return writer;
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        if (writer != null) {
+            writer.flush();
+        }
+        super.flushBuffer();
+    }
+
+    public String getCapturedBody() {
+        return Boolean.TRUE.equals(capturing) ? buffer.toString(getContentType()) : null;
+    }
+
+    public boolean isTruncated() {
+        return Boolean.TRUE.equals(capturing) && buffer.isTruncated();
+    }
+
+    private boolean capturing() {
+        if (capturing == null) {
+            capturing = BoundedBodyBuffer.isTextual(getContentType());
+        }
+        return capturing;
+    }
+
+    private class TeeOutputStream extends ServletOutputStream {
+
+        private final ServletOutputStream delegate;
+
+        TeeOutputStream(ServletOutputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            delegate.write(b);
+            if (capturing()) {
+                buffer.append(b);
+            }
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            delegate.write(bytes, offset, length);
+            if (capturing()) {
+                buffer.append(bytes, offset, length);
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            delegate.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            delegate.setWriteListener(writeListener);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package notification.com.helperservice.config;
+
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Keeps the first {@code maxBytes} of a body as it streams past and remembers whether anything was cut off.
+ */
+public class BoundedBodyBuffer {
+
+    private final byte[] buffer;
+    private int length;
+    private boolean truncated;
+
+    public BoundedBodyBuffer(int maxBytes) {
+        this.buffer = new byte[maxBytes];
+    }
+
+    public void append(int b) {
+        if (length < buffer.length) {
+            buffer[length++] = (byte) b;
+        } else {
+            truncated = true;
+        }
+    }
+
+    public void append(byte[] bytes, int offset, int count) {
+        int copied = Math.min(count, buffer.length - length);
+        if (copied > 0) {
+            System.arraycopy(bytes, offset, buffer, length, copied);
+            length += copied;
+        }
+        if (copied < count) {
+            truncated = true;
+        }
+    }
+
+    public boolean isTruncated() {
+        return truncated;
+    }
+
+    public String toString(String contentType) {
+        return length == 0 ? null : new String(buffer, 0, length, charsetOf(contentType));
+    }
+
+    /**
+     * Binary payloads are never captured; only text, JSON, XML and form bodies are worth logging.
+     */
+    public static boolean isTextual(String contentType) {
+        if (contentType == null) {
+            return false;
+        }
+        try {
+            MediaType mediaType = MediaType.parseMediaType(contentType);
+            String subtype = mediaType.getSubtype();
+            return "text".equals(mediaType.getType())
+                    || subtype.equals("json") || subtype.endsWith("+json")
+                    || subtype.equals("xml") || subtype.endsWith("+xml")
+                    || subtype.equals("x-www-form-urlencoded")
+                    || subtype.equals("javascript") || subtype.equals("graphql");
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+    }
+
+    // JSON and most text bodies are sent without a charset parameter; UTF-8 beats the servlet ISO-8859-1 default
+    static Charset charsetOf(String contentType) {
+        try {
+            Charset charset = contentType != null ? MediaType.parseMediaType(contentType).getCharset() : null;
+            return charset != null ? charset : StandardCharsets.UTF_8;
+        } catch (InvalidMediaTypeException e) {
+            return StandardCharsets.UTF_8;
+        }
+    }
+}
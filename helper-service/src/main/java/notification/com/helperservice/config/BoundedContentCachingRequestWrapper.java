@@ -0,0 +1,31 @@
+package notification.com.helperservice.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.util.ContentCachingRequestWrapper;
+
+/**
+ * Caches at most {@code maxBytes} of the request body as the handler reads it and flags the overflow
+ * instead of failing.
+ */
+public class BoundedContentCachingRequestWrapper extends ContentCachingRequestWrapper {
+
+    private boolean truncated;
+
+    public BoundedContentCachingRequestWrapper(HttpServletRequest request, int maxBytes) {
+        super(request, maxBytes);
+    }
+
+    @Override
+    protected void handleContentOverflow(int contentCacheLimit) {
+        truncated = true;
+    }
+
+    public boolean isTruncated() {
+        return truncated;
+    }
+
+    public String getCapturedBody() {
+        byte[] content = getContentAsByteArray();
+        return content.length == 0 ? null : new String(content, BoundedBodyBuffer.charsetOf(getContentType()));
+    }
+}
@@ -0,0 +1,82 @@
+package notification.com.helperservice.config;
+
+import lombok.Data;
+import org.springframework.data.mongodb.core.timeseries.Granularity;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "request-logging")
+public class RequestLoggingConfig {
+
+    private Writer writer = new Writer();
+    private Analytics analytics = new Analytics();
+    private Storage storage = new Storage();
+    private Sampling sampling = new Sampling();
+
+    @Data
+    public static class Writer {
+        private int queueCapacity = 10_000;
+        private int batchSize = 500;
+        private Duration flushInterval = Duration.ofSeconds(1);
+        private OverflowPolicy overflowPolicy = OverflowPolicy.DROP_NEWEST;
+        // Only used by the BLOCK policy: how long a request thread may wait for a free slot
+        private Duration offerTimeout = Duration.ofMillis(5);
+        private Duration shutdownTimeout = Duration.ofSeconds(10);
+        // Insert a PENDING log when the request starts and $set the outcome on completion, so in-flight
+        // requests are visible. Off by default: a completed request then costs a single insert.
+        private boolean eagerInsert = false;
+    }
+
+    @Data
+    public static class Analytics {
+        // Percentiles are computed over this trailing window of minute histograms
+        private Duration latencyWindow = Duration.ofHours(1);
+        private Duration highestTrackableLatency = Duration.ofMinutes(10);
+        private int significantDigits = 2;
+    }
+
+    @Data
+    public static class Storage {
+        // Logs older than this are removed by Mongo; null or zero keeps them forever
+        private Duration retention = Duration.ofDays(30);
+        // Only applied when the collection does not exist yet; an existing collection is never converted.
+        // Needs MongoDB 6+ and is ignored while writer.eager-insert is on
+        private boolean timeSeries = false;
+        private Granularity timeSeriesGranularity = Granularity.SECONDS;
+    }
+
+    @Data
+    public static class Sampling {
+        // Share of requests persisted per status class (2xx, 3xx, 4xx); 5xx, failures and slow requests are always kept
+        private Map<String, Double> rates = new HashMap<>();
+        // 4xx responses are kept like 5xx unless this is on, which samples them at the 4xx rate
+        private boolean sampleClientErrors = false;
+        // Per-service overrides of the status class rates
+        private Map<String, Map<String, Double>> services = new HashMap<>();
+        private Duration slowThreshold = Duration.ofSeconds(1);
+        private Adaptive adaptive = new Adaptive();
+    }
+
+    @Data
+    public static class Adaptive {
+        private boolean enabled = true;
+        // Sampling backs off while the writer queue is fuller than this fraction of its capacity...
+        private double queueFillThreshold = 0.5;
+        // ...or while bulk writes take longer than this on average
+        private Duration writeLatencyThreshold = Duration.ofMillis(250);
+        private double minFactor = 0.01;
+        private Duration adjustInterval = Duration.ofSeconds(1);
+    }
+
+    public enum OverflowPolicy {
+        DROP_NEWEST,
+        DROP_OLDEST,
+        BLOCK
+    }
+}
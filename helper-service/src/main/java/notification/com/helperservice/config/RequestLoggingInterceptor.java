@@ -1,31 +1,42 @@
 package notification.com.helperservice.config;
 
+import notification.com.helperservice.feature.log.entity.RequestLog;
 import notification.com.helperservice.feature.log.service.RequestLogService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 import org.springframework.web.servlet.HandlerInterceptor;
 
+import jakarta.servlet.DispatcherType;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import java.util.Collections;
+import java.util.Collection;
+import java.util.Enumeration;
+import java.util.HashMap;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.concurrent.TimeUnit;
+
+import static notification.com.helperservice.config.BodyCaptureFilter.REQUEST_CAPTURE_ATTRIBUTE;
+import static notification.com.helperservice.config.BodyCaptureFilter.RESPONSE_CAPTURE_ATTRIBUTE;
 
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class RequestLoggingInterceptor implements HandlerInterceptor {
 
+    private static final String REQUEST_LOG_ATTRIBUTE = RequestLoggingInterceptor.class.getName() + ".requestLog";
+    private static final String START_TIME_ATTRIBUTE = RequestLoggingInterceptor.class.getName() + ".startTime";
+
     private final RequestLogService requestLogService;
-    private final ThreadLocal<Long> requestStartTime = new ThreadLocal<>();
-    private final ThreadLocal<String> requestIdHolder = new ThreadLocal<>();
 
     @Override
     public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
         try {
-            long startTime = System.currentTimeMillis();
-            requestStartTime.set(startTime);
+            // Async and error re-dispatches reuse the log started by the initial dispatch
+            if (request.getDispatcherType() != DispatcherType.REQUEST
+                    || request.getAttribute(REQUEST_LOG_ATTRIBUTE) != null) {
+                return true;
+            }
 
             // Skip logging for actuator endpoints
             if (request.getRequestURI().startsWith("/actuator")) {
@@ -39,21 +50,16 @@ public class RequestLoggingInterceptor implements HandlerInterceptor {
             String clientIp = getClientIpAddress(request);
             String userAgent = request.getHeader("User-Agent");
 
-            Map<String, String> headers = Collections.list(request.getHeaderNames())
-                    .stream()
-                    .collect(Collectors.toMap(
-                            name -> name,
-                            request::getHeader
-                    ));
-
-            String requestBody = getRequestBody(request);
+            Map<String, String> headers = extractHeaders(request);
 
-            var requestLog = requestLogService.createRequestLog(
+            // The request body is only known once the handler has read it, see applyCapturedBodies
+            RequestLog requestLog = requestLogService.createRequestLog(
                     serviceName, method, endpoint, requestUrl,
-                    headers, requestBody, clientIp, userAgent
+                    headers, null, clientIp, userAgent
             );
 
-            requestIdHolder.set(requestLog.getRequestId());
+            request.setAttribute(START_TIME_ATTRIBUTE, System.nanoTime());
+            request.setAttribute(REQUEST_LOG_ATTRIBUTE, requestLog);
 
         } catch (Exception e) {
             log.error("Error in preHandle: ", e);
@@ -65,47 +71,58 @@ public class RequestLoggingInterceptor implements HandlerInterceptor {
     @Override
     public void afterCompletion(HttpServletRequest request, HttpServletResponse response,
                                Object handler, Exception ex) {
-        try {
-            // Skip logging for actuator endpoints
-            if (request.getRequestURI().startsWith("/actuator")) {
-                return;
-            }
+        RequestLog requestLog = (RequestLog) request.getAttribute(REQUEST_LOG_ATTRIBUTE);
+        Long startTime = (Long) request.getAttribute(START_TIME_ATTRIBUTE);
+        if (requestLog == null || startTime == null) {
+            return;
+        }
 
-            Long startTime = requestStartTime.get();
-            String requestId = requestIdHolder.get();
-
-            if (startTime != null && requestId != null) {
-                long duration = System.currentTimeMillis() - startTime;
-
-                Map<String, String> responseHeaders = response.getHeaderNames()
-                        .stream()
-                        .collect(Collectors.toMap(
-                                name -> name,
-                                response::getHeader
-                        ));
-
-                if (ex != null) {
-                    requestLogService.updateErrorLog(requestId, ex.getMessage(), duration);
-                } else {
-                    String status = response.getStatus() >= 200 && response.getStatus() < 300 ? "SUCCESS" : "ERROR";
-                    requestLogService.updateResponseLog(
-                            requestId, response.getStatus(), responseHeaders,
-                            null, duration, status
-                    );
-                }
+        try {
+            request.removeAttribute(REQUEST_LOG_ATTRIBUTE);
+            long duration = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+            String responseBody = applyCapturedBodies(request, requestLog);
+
+            if (ex != null) {
+                requestLogService.completeErrorLog(requestLog, ex.getMessage(), duration);
+            } else {
+                String status = response.getStatus() >= 200 && response.getStatus() < 300 ? "SUCCESS" : "ERROR";
+                requestLogService.completeResponseLog(
+                        requestLog, response.getStatus(), extractHeaders(response),
+                        responseBody, duration, status
+                );
             }
         } catch (Exception e) {
             log.error("Error in afterCompletion: ", e);
-        } finally {
-            requestStartTime.remove();
-            requestIdHolder.remove();
         }
     }
 
+    Map<String, String> extractHeaders(HttpServletRequest request) {
+        Map<String, String> headers = new HashMap<>();
+        Enumeration<String> headerNames = request.getHeaderNames();
+        while (headerNames.hasMoreElements()) {
+            String name = headerNames.nextElement();
+            headers.put(name, request.getHeader(name));
+        }
+        return headers;
+    }
+
+    Map<String, String> extractHeaders(HttpServletResponse response) {
+        Collection<String> headerNames = response.getHeaderNames();
+        Map<String, String> headers = new HashMap<>(Math.max(16, headerNames.size() * 2));
+        for (String name : headerNames) {
+            headers.putIfAbsent(name, response.getHeader(name));
+        }
+        return headers;
+    }
+
     private String extractServiceName(String uri) {
         // Extract service name from URI pattern
         if (uri.startsWith("/api/v1/")) {
             String[] parts = uri.split("/");
+            // Proxied calls are attributed to the downstream target: /api/v1/proxy/{serviceName}/...
+            if (parts.length > 4 && "proxy".equals(parts[3])) {
+                return parts[4];
+            }
             if (parts.length > 3) {
                 return parts[3] + "-service";
             }
@@ -127,9 +144,18 @@ public class RequestLoggingInterceptor implements HandlerInterceptor {
         return request.getRemoteAddr();
     }
 
-    private String getRequestBody(HttpServletRequest request) {
-        // For simplicity, we'll skip body reading here to avoid consuming the stream
-        // You can implement this if needed using a wrapper
+    /**
+     * Copies whatever {@link BodyCaptureFilter} collected onto the log and returns the captured response body.
+     */
+    private String applyCapturedBodies(HttpServletRequest request, RequestLog requestLog) {
+        if (request.getAttribute(REQUEST_CAPTURE_ATTRIBUTE) instanceof BoundedContentCachingRequestWrapper captured) {
+            requestLog.setRequestBody(captured.getCapturedBody());
+            requestLog.setRequestBodyTruncated(captured.isTruncated());
+        }
+        if (request.getAttribute(RESPONSE_CAPTURE_ATTRIBUTE) instanceof BodyCapturingResponseWrapper captured) {
+            requestLog.setResponseBodyTruncated(captured.isTruncated());
+            return captured.getCapturedBody();
+        }
         return null;
     }
 }
@@ -4,7 +4,9 @@ import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Set;
 
@@ -14,6 +16,12 @@ import java.util.Set;
 public class ServiceConfig {
 
     private Map<String, ServiceInfo> targets = new HashMap<>();
+    // Enrichment headers for services that have no target entry
+    private Map<String, String> defaultEnrichmentHeaders = new LinkedHashMap<>(Map.of("X-Service-Category", "unknown"));
+    // Shared by every target, so hedging can never add more than ratio of the proxied traffic
+    private RetryBudgetSettings retryBudget = new RetryBudgetSettings();
+    // How often each hedged target's p95 is recomputed from the latencies seen since the last refresh
+    private Duration hedgingEstimateInterval = Duration.ofSeconds(10);
 
     @Data
     public static class ServiceInfo {
@@ -22,6 +30,72 @@ public class ServiceConfig {
         private int timeout = 30;
         private boolean requiresAuth = true;
         private Set<String> allowedMethods = Set.of("GET", "POST", "PUT", "DELETE");
+        // Methods safe to send twice; only these (and only without a request body) are ever hedged
+        private Set<String> idempotentMethods = Set.of("GET", "HEAD");
+        private Pool pool = new Pool();
+        // Set in header-enrichment.yml, shipped by the header-enrichment library
+        private Map<String, String> enrichmentHeaders = new LinkedHashMap<>();
+        private BodyCapture bodyCapture = new BodyCapture();
+        private CircuitBreakerSettings circuitBreaker = new CircuitBreakerSettings();
+        private BulkheadSettings bulkhead = new BulkheadSettings();
+        private Hedging hedging = new Hedging();
+    }
+
+    @Data
+    public static class Hedging {
+        private boolean enabled = false;
+        // The hedge fires after the target's recent p95, clamped to these bounds
+        private Duration minDelay = Duration.ofMillis(10);
+        private Duration maxDelay = Duration.ofSeconds(2);
+        // Latency samples needed before a p95 is trusted; until then requests are not hedged
+        private int minSamples = 50;
+    }
+
+    @Data
+    public static class RetryBudgetSettings {
+        // Hedged attempts allowed per proxied request, e.g. 0.1 caps hedges at 10% of traffic
+        private double ratio = 0.1;
+        // Upper bound on hedges saved up while traffic is quiet
+        private int maxBalance = 100;
+    }
+
+    @Data
+    public static class CircuitBreakerSettings {
+        private boolean enabled = true;
+        // Percentages over the sliding window; transport errors, timeouts and 5xx responses count as failures
+        private float failureRateThreshold = 50;
+        private float slowCallRateThreshold = 100;
+        private Duration slowCallDurationThreshold = Duration.ofSeconds(10);
+        private int slidingWindowSize = 50;
+        private int minimumNumberOfCalls = 20;
+        private Duration waitDurationInOpenState = Duration.ofSeconds(30);
+        private int permittedCallsInHalfOpenState = 5;
+    }
+
+    @Data
+    public static class BulkheadSettings {
+        private boolean enabled = true;
+        // Calls beyond this many in flight to the target are rejected immediately
+        private int maxConcurrentCalls = 100;
+    }
+
+    @Data
+    public static class BodyCapture {
+        private boolean enabled = false;
+        // Only this many leading bytes of each body are kept; the rest streams through untouched
+        private int maxBytes = 4096;
+    }
+
+    @Data
+    public static class Pool {
+        private int maxConnections = 200;
+        private int pendingAcquireMaxCount = 1000;
+        private Duration pendingAcquireTimeout = Duration.ofSeconds(5);
+        private Duration maxIdleTime = Duration.ofSeconds(30);
+        private Duration maxLifeTime = Duration.ofMinutes(5);
+        private Duration evictInterval = Duration.ofSeconds(30);
+        // Defaults to the smaller of the service timeout and 5 seconds
+        private Duration connectTimeout;
     }
 
     public ServiceInfo getServiceInfo(String serviceName) {
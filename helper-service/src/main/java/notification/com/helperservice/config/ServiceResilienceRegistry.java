@@ -0,0 +1,271 @@
+package notification.com.helperservice.config;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.context.scope.refresh.RefreshScopeRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * One circuit breaker and one semaphore bulkhead per configured target, both named after the service.
+ * They live in the Resilience4j registries, so state, failure rates and rejections show up under the
+ * {@code circuitbreakers} and {@code bulkheads} actuator endpoints and as {@code resilience4j.*} metrics.
+ * Targets whose settings change are re-registered on configuration refresh, and targets that were
+ * removed from the configuration are dropped from both registries.
+ */
+@Component
+@Slf4j
+public class ServiceResilienceRegistry {
+
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final BulkheadRegistry bulkheadRegistry;
+    private final ServiceConfig serviceConfig;
+    private final Map<String, AppliedSettings> applied = new ConcurrentHashMap<>();
+
+    public ServiceResilienceRegistry(CircuitBreakerRegistry circuitBreakerRegistry,
+                                     BulkheadRegistry bulkheadRegistry,
+                                     ServiceConfig serviceConfig) {
+        this.circuitBreakerRegistry = circuitBreakerRegistry;
+        this.bulkheadRegistry = bulkheadRegistry;
+        this.serviceConfig = serviceConfig;
+    }
+
+    @PostConstruct
+    public void init() {
+        serviceConfig.getTargets().forEach(this::register);
+    }
+
+    @EventListener(RefreshScopeRefreshedEvent.class)
+    public void onRefresh() {
+        applied.keySet().removeIf(serviceName -> {
+            if (serviceConfig.getServiceInfo(serviceName) != null) {
+                return false;
+            }
+            circuitBreakerRegistry.remove(serviceName);
+            bulkheadRegistry.remove(serviceName);
+            log.info("Removed circuit breaker and bulkhead for service: {}", serviceName);
+            return true;
+        });
+        serviceConfig.getTargets().forEach((serviceName, serviceInfo) -> {
+            AppliedSettings current = applied.get(serviceName);
+            if (current == null || !current.matches(serviceInfo)) {
+                register(serviceName, serviceInfo);
+                log.info("Re-registered circuit breaker and bulkhead for service: {}", serviceName);
+            }
+        });
+    }
+
+    /**
+     * Guards a downstream call: fails fast with {@code CallNotPermittedException} while the breaker is
+     * open and with {@code BulkheadFullException} when the target already has too many calls in flight.
+     * A call lasts until its response body terminates, not until the headers arrive: the bulkhead permit
+     * is held and the breaker outcome (including slow calls) is recorded only when the body completes,
+     * fails or is cancelled, so the caller must always subscribe to or cancel the returned body.
+     */
+    public Mono<ResponseEntity<Flux<DataBuffer>>> decorate(String serviceName,
+                                                           Mono<ResponseEntity<Flux<DataBuffer>>> call) {
+        ServiceConfig.ServiceInfo serviceInfo = serviceConfig.getServiceInfo(serviceName);
+        if (serviceInfo == null) {
+            return call;
+        }
+
+        Bulkhead bulkhead = serviceInfo.getBulkhead().isEnabled() ? bulkheadRegistry.bulkhead(serviceName) : null;
+        CircuitBreaker circuitBreaker = serviceInfo.getCircuitBreaker().isEnabled()
+                ? circuitBreakerRegistry.circuitBreaker(serviceName)
+                : null;
+        if (bulkhead == null && circuitBreaker == null) {
+            return call;
+        }
+
+        return Mono.defer(() -> {
+            if (bulkhead != null && !bulkhead.tryAcquirePermission()) {
+                return Mono.error(BulkheadFullException.createBulkheadFullException(bulkhead));
+            }
+            if (circuitBreaker != null && !circuitBreaker.tryAcquirePermission()) {
+                if (bulkhead != null) {
+                    bulkhead.releasePermission();
+                }
+                return Mono.error(CallNotPermittedException.createCallNotPermittedException(circuitBreaker));
+            }
+
+            GuardedCall guardedCall = new GuardedCall(bulkhead, circuitBreaker);
+            return call
+                    .map(guardedCall::trackBody)
+                    .doOnError(guardedCall::failedBeforeBody)
+                    .doOnCancel(guardedCall::cancelledBeforeBody)
+                    .doOnSuccess(response -> {
+                        if (response == null) {
+                            guardedCall.cancelledBeforeBody();
+                        }
+                    });
+        });
+    }
+
+    private void register(String serviceName, ServiceConfig.ServiceInfo serviceInfo) {
+        CircuitBreaker circuitBreaker = CircuitBreaker.of(serviceName, circuitBreakerConfig(serviceInfo.getCircuitBreaker()));
+        if (circuitBreakerRegistry.find(serviceName).isPresent()) {
+            circuitBreakerRegistry.replace(serviceName, circuitBreaker);
+        } else {
+            circuitBreakerRegistry.circuitBreaker(serviceName, circuitBreaker.getCircuitBreakerConfig());
+        }
+
+        Bulkhead bulkhead = Bulkhead.of(serviceName, bulkheadConfig(serviceInfo.getBulkhead()));
+        if (bulkheadRegistry.find(serviceName).isPresent()) {
+            bulkheadRegistry.replace(serviceName, bulkhead);
+        } else {
+            bulkheadRegistry.bulkhead(serviceName, bulkhead.getBulkheadConfig());
+        }
+
+        applied.put(serviceName, AppliedSettings.of(serviceInfo));
+    }
+
+    private CircuitBreakerConfig circuitBreakerConfig(ServiceConfig.CircuitBreakerSettings settings) {
+        return CircuitBreakerConfig.custom()
+                .slidingWindowType(CircuitBreakerConfig.SlidingWindowType.COUNT_BASED)
+                .slidingWindowSize(settings.getSlidingWindowSize())
+                .minimumNumberOfCalls(settings.getMinimumNumberOfCalls())
+                .failureRateThreshold(settings.getFailureRateThreshold())
+                .slowCallRateThreshold(settings.getSlowCallRateThreshold())
+                .slowCallDurationThreshold(settings.getSlowCallDurationThreshold())
+                .waitDurationInOpenState(settings.getWaitDurationInOpenState())
+                .permittedNumberOfCallsInHalfOpenState(settings.getPermittedCallsInHalfOpenState())
+                .automaticTransitionFromOpenToHalfOpenEnabled(true)
+                // Downstream 5xx responses are relayed rather than raised, so they are recorded from the result
+                .recordResult(result -> result instanceof ResponseEntity<?> response
+                        && response.getStatusCode().is5xxServerError())
+                .build();
+    }
+
+    private BulkheadConfig bulkheadConfig(ServiceConfig.BulkheadSettings settings) {
+        // Permits are only ever tried, never waited for, so a wait duration would be meaningless
+        return BulkheadConfig.custom()
+                .maxConcurrentCalls(settings.getMaxConcurrentCalls())
+                .maxWaitDuration(Duration.ZERO)
+                .build();
+    }
+
+    /**
+     * Permits held by one call. Exactly one terminal signal is honoured: the Mono's, if it ends before a
+     * response arrives, otherwise the body's. Cancellation releases the breaker permit without recording
+     * an outcome, so clients hanging up do not count against the target.
+     */
+    private static final class GuardedCall {
+
+        private final Bulkhead bulkhead;
+        private final CircuitBreaker circuitBreaker;
+        private final long start;
+        private final AtomicBoolean bodyHandedOver = new AtomicBoolean();
+        private final AtomicBoolean finished = new AtomicBoolean();
+
+        GuardedCall(Bulkhead bulkhead, CircuitBreaker circuitBreaker) {
+            this.bulkhead = bulkhead;
+            this.circuitBreaker = circuitBreaker;
+            this.start = System.nanoTime();
+        }
+
+        ResponseEntity<Flux<DataBuffer>> trackBody(ResponseEntity<Flux<DataBuffer>> response) {
+            bodyHandedOver.set(true);
+            Flux<DataBuffer> body = response.getBody();
+            if (body == null) {
+                completed(response);
+                return response;
+            }
+            Flux<DataBuffer> trackedBody = body
+                    .doOnComplete(() -> completed(response))
+                    .doOnError(this::failed)
+                    .doOnCancel(this::cancelled);
+            return new ResponseEntity<>(trackedBody, response.getHeaders(), response.getStatusCode());
+        }
+
+        void failedBeforeBody(Throwable error) {
+            if (!bodyHandedOver.get()) {
+                failed(error);
+            }
+        }
+
+        void cancelledBeforeBody() {
+            if (!bodyHandedOver.get()) {
+                cancelled();
+            }
+        }
+
+        private void completed(ResponseEntity<?> response) {
+            if (finished.compareAndSet(false, true)) {
+                if (circuitBreaker != null) {
+                    circuitBreaker.onResult(System.nanoTime() - start, TimeUnit.NANOSECONDS, response);
+                }
+                releaseBulkhead();
+            }
+        }
+
+        private void failed(Throwable error) {
+            if (finished.compareAndSet(false, true)) {
+                if (circuitBreaker != null) {
+                    circuitBreaker.onError(System.nanoTime() - start, TimeUnit.NANOSECONDS, error);
+                }
+                releaseBulkhead();
+            }
+        }
+
+        private void cancelled() {
+            if (finished.compareAndSet(false, true)) {
+                if (circuitBreaker != null) {
+                    circuitBreaker.releasePermission();
+                }
+                releaseBulkhead();
+            }
+        }
+
+        private void releaseBulkhead() {
+            if (bulkhead != null) {
+                bulkhead.onComplete();
+            }
+        }
+    }
+
+    private record AppliedSettings(ServiceConfig.CircuitBreakerSettings circuitBreaker,
+                                   ServiceConfig.BulkheadSettings bulkhead) {
+
+        static AppliedSettings of(ServiceConfig.ServiceInfo serviceInfo) {
+            ServiceConfig.CircuitBreakerSettings circuitBreaker = new ServiceConfig.CircuitBreakerSettings();
+            ServiceConfig.CircuitBreakerSettings source = serviceInfo.getCircuitBreaker();
+            circuitBreaker.setEnabled(source.isEnabled());
+            circuitBreaker.setFailureRateThreshold(source.getFailureRateThreshold());
+            circuitBreaker.setSlowCallRateThreshold(source.getSlowCallRateThreshold());
+            circuitBreaker.setSlowCallDurationThreshold(source.getSlowCallDurationThreshold());
+            circuitBreaker.setSlidingWindowSize(source.getSlidingWindowSize());
+            circuitBreaker.setMinimumNumberOfCalls(source.getMinimumNumberOfCalls());
+            circuitBreaker.setWaitDurationInOpenState(source.getWaitDurationInOpenState());
+            circuitBreaker.setPermittedCallsInHalfOpenState(source.getPermittedCallsInHalfOpenState());
+
+            ServiceConfig.BulkheadSettings bulkhead = new ServiceConfig.BulkheadSettings();
+            bulkhead.setEnabled(serviceInfo.getBulkhead().isEnabled());
+            bulkhead.setMaxConcurrentCalls(serviceInfo.getBulkhead().getMaxConcurrentCalls());
+            return new AppliedSettings(circuitBreaker, bulkhead);
+        }
+
+        boolean matches(ServiceConfig.ServiceInfo serviceInfo) {
+            return Objects.equals(circuitBreaker, serviceInfo.getCircuitBreaker())
+                    && Objects.equals(bulkhead, serviceInfo.getBulkhead());
+        }
+    }
+}
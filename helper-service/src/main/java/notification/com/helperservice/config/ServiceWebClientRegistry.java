@@ -0,0 +1,161 @@
+package notification.com.helperservice.config;
+
+import io.netty.channel.ChannelOption;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.client.loadbalancer.reactive.DeferringLoadBalancerExchangeFilterFunction;
+import org.springframework.cloud.client.loadbalancer.reactive.LoadBalancedExchangeFilterFunction;
+import org.springframework.cloud.context.scope.refresh.RefreshScopeRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Holds one {@link WebClient} per configured target, each backed by its own Reactor Netty connection
+ * pool so a slow or busy target cannot starve the others. Clients are built at startup and rebuilt
+ * for targets whose settings changed when the configuration is refreshed. Pool gauges are published
+ * under {@code reactor.netty.connection.provider.*} with the pool name {@code proxy-<service>}.
+ */
+@Component
+@Slf4j
+public class ServiceWebClientRegistry {
+
+    private static final Duration MAX_CONNECT_TIMEOUT = Duration.ofSeconds(5);
+
+    private final WebClient.Builder webClientBuilder;
+    private final ServiceConfig serviceConfig;
+    private final Map<String, TargetClient> clients = new ConcurrentHashMap<>();
+
+    public ServiceWebClientRegistry(WebClient.Builder webClientBuilder, ServiceConfig serviceConfig) {
+        this.webClientBuilder = webClientBuilder;
+        this.serviceConfig = serviceConfig;
+    }
+
+    @PostConstruct
+    public void init() {
+        serviceConfig.getTargets().forEach((serviceName, serviceInfo) ->
+                clients.put(serviceName, createClient(serviceName, serviceInfo)));
+        log.info("Initialized WebClients for services: {}", clients.keySet());
+    }
+
+    @EventListener(RefreshScopeRefreshedEvent.class)
+    public void onRefresh() {
+        Map<String, ServiceConfig.ServiceInfo> targets = serviceConfig.getTargets();
+
+        clients.keySet().removeIf(serviceName -> {
+            if (!targets.containsKey(serviceName)) {
+                clients.get(serviceName).dispose();
+                return true;
+            }
+            return false;
+        });
+
+        targets.forEach((serviceName, serviceInfo) -> {
+            TargetClient current = clients.get(serviceName);
+            if (current == null || !current.matches(serviceInfo)) {
+                clients.put(serviceName, createClient(serviceName, serviceInfo));
+                if (current != null) {
+                    current.dispose();
+                }
+                log.info("Rebuilt WebClient for service: {}", serviceName);
+            }
+        });
+    }
+
+    public WebClient getClient(String serviceName) {
+        return targetClient(serviceName).webClient();
+    }
+
+    /**
+     * Same connection pool as {@link #getClient}, but without load balancing: the URL must already name
+     * a concrete instance. Used when the caller picks instances itself, e.g. for hedged requests.
+     */
+    public WebClient getDirectClient(String serviceName) {
+        return targetClient(serviceName).directWebClient();
+    }
+
+    private TargetClient targetClient(String serviceName) {
+        TargetClient client = clients.get(serviceName);
+        if (client == null) {
+            throw new IllegalArgumentException("No WebClient configured for service: " + serviceName);
+        }
+        return client;
+    }
+
+    @PreDestroy
+    public void destroy() {
+        clients.values().forEach(TargetClient::dispose);
+        clients.clear();
+    }
+
+    private TargetClient createClient(String serviceName, ServiceConfig.ServiceInfo serviceInfo) {
+        ServiceConfig.Pool pool = serviceInfo.getPool();
+        Duration responseTimeout = Duration.ofSeconds(serviceInfo.getTimeout());
+
+        ConnectionProvider connectionProvider = ConnectionProvider.builder("proxy-" + serviceName)
+                .maxConnections(pool.getMaxConnections())
+                .pendingAcquireMaxCount(pool.getPendingAcquireMaxCount())
+                .pendingAcquireTimeout(pool.getPendingAcquireTimeout())
+                .maxIdleTime(pool.getMaxIdleTime())
+                .maxLifeTime(pool.getMaxLifeTime())
+                .evictInBackground(pool.getEvictInterval())
+                .metrics(true)
+                .build();
+
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout(pool, responseTimeout).toMillis())
+                .responseTimeout(responseTimeout);
+
+        ReactorClientHttpConnector connector = new ReactorClientHttpConnector(httpClient);
+        WebClient webClient = webClientBuilder.clone()
+                .clientConnector(connector)
+                .build();
+        WebClient directWebClient = webClientBuilder.clone()
+                .clientConnector(connector)
+                .filters(filters -> filters.removeIf(filter -> filter instanceof DeferringLoadBalancerExchangeFilterFunction
+                        || filter instanceof LoadBalancedExchangeFilterFunction))
+                .build();
+
+        return new TargetClient(webClient, directWebClient, connectionProvider, serviceInfo.getTimeout(), copyOf(pool));
+    }
+
+    private Duration connectTimeout(ServiceConfig.Pool pool, Duration responseTimeout) {
+        if (pool.getConnectTimeout() != null) {
+            return pool.getConnectTimeout();
+        }
+        return responseTimeout.compareTo(MAX_CONNECT_TIMEOUT) < 0 ? responseTimeout : MAX_CONNECT_TIMEOUT;
+    }
+
+    private ServiceConfig.Pool copyOf(ServiceConfig.Pool pool) {
+        ServiceConfig.Pool copy = new ServiceConfig.Pool();
+        copy.setMaxConnections(pool.getMaxConnections());
+        copy.setPendingAcquireMaxCount(pool.getPendingAcquireMaxCount());
+        copy.setPendingAcquireTimeout(pool.getPendingAcquireTimeout());
+        copy.setMaxIdleTime(pool.getMaxIdleTime());
+        copy.setMaxLifeTime(pool.getMaxLifeTime());
+        copy.setEvictInterval(pool.getEvictInterval());
+        copy.setConnectTimeout(pool.getConnectTimeout());
+        return copy;
+    }
+
+    private record TargetClient(WebClient webClient, WebClient directWebClient, ConnectionProvider connectionProvider,
+                                int timeout, ServiceConfig.Pool pool) {
+
+        boolean matches(ServiceConfig.ServiceInfo serviceInfo) {
+            return timeout == serviceInfo.getTimeout() && Objects.equals(pool, serviceInfo.getPool());
+        }
+
+        void dispose() {
+            connectionProvider.disposeLater().subscribe();
+        }
+    }
+}
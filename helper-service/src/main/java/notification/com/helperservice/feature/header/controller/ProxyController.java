@@ -1,39 +1,62 @@
 package notification.com.helperservice.feature.header.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import notification.com.helperservice.config.ServiceConfig;
 import notification.com.helperservice.feature.header.service.HeaderService;
-import org.springframework.beans.factory.annotation.Value;
+import notification.com.helperservice.feature.header.service.ProxyService;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.ServerHttpResponse;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.Duration;
 import java.time.Instant;
-import java.time.LocalDateTime;
 import java.util.*;
 
+/**
+ * Proxies requests to the configured targets. The exchange runs asynchronously: the servlet thread is
+ * released once the downstream call starts, the call itself runs on the non-blocking WebClient and the
+ * body is relayed chunk by chunk, so a request in flight holds no thread. How many can be in flight at
+ * once is set by {@code server.tomcat.max-connections} and each target's bulkhead and connection pool,
+ * not by thread pools; {@code gradle loadTest} holds thousands in flight to check this.
+ */
 @RestController
 @RequestMapping("/api/v1/proxy")
 @RequiredArgsConstructor
 @Slf4j
 public class ProxyController {
 
+    private static final int BODY_BUFFER_SIZE = 8192;
+
     private final HeaderService headerService;
-    private final WebClient.Builder webClientBuilder;
+    private final ProxyService proxyService;
     private final ServiceConfig serviceConfig;
+    private final ObjectMapper objectMapper;
 
     @RequestMapping(value = "/{serviceName}/**",
             method = {RequestMethod.GET, RequestMethod.POST, RequestMethod.PUT, RequestMethod.DELETE, RequestMethod.PATCH})
-    public Mono<ResponseEntity<Object>> proxyToService(
+    public Mono<ResponseEntity<ResponseBodyEmitter>> proxyToService(
             @PathVariable String serviceName,
-            HttpServletRequest request,
-            @RequestBody(required = false) Object body) {
+            HttpServletRequest request) {
 
         String correlationId = getHeaderValue(request, "X-Correlation-ID");
         String requestId = getHeaderValue(request, "X-Request-ID");
@@ -45,27 +68,32 @@ public class ProxyController {
         ServiceConfig.ServiceInfo serviceInfo = serviceConfig.getServiceInfo(serviceName);
         if (serviceInfo == null) {
             log.error("Unknown service: {} - Correlation-ID: {}", serviceName, correlationId);
-            return Mono.just(ResponseEntity.status(HttpStatus.NOT_FOUND)
-                    .body(createErrorResponse("Unknown service: " + serviceName, correlationId, requestId)));
+            return Mono.just(createErrorResponse(HttpStatus.NOT_FOUND,
+                    "Unknown service: " + serviceName, correlationId, requestId));
         }
 
         // Validate HTTP method
         if (!serviceInfo.getAllowedMethods().contains(request.getMethod())) {
             log.error("Method {} not allowed for service: {} - Correlation-ID: {}",
                     request.getMethod(), serviceName, correlationId);
-            return Mono.just(ResponseEntity.status(HttpStatus.METHOD_NOT_ALLOWED)
-                    .body(createErrorResponse("Method not allowed", correlationId, requestId)));
+            return Mono.just(createErrorResponse(HttpStatus.METHOD_NOT_ALLOWED,
+                    "Method not allowed", correlationId, requestId));
         }
 
-        // Extract and enrich headers
-        Map<String, String> originalHeaders = extractAllHeaders(request);
-        Map<String, String> enrichedHeaders = headerService.enrichHeaders(originalHeaders, serviceName);
+        // Extract and enrich headers in place
+        Map<String, String> enrichedHeaders = extractAllHeaders(request);
+        headerService.enrichHeaders(enrichedHeaders, serviceName, enrichedHeaders::put);
+
+        // Add proxy-specific headers
+        enrichedHeaders.put("X-Via-Interceptor", "true");
+        enrichedHeaders.put("X-Proxy-Service", "helper-service");
+        enrichedHeaders.put("X-Target-Service", serviceName);
 
         // Build target URL
         String targetUrl = buildTargetUrl(request, serviceInfo, serviceName);
 
         // Build and execute request
-        return buildAndExecuteRequest(request, body, targetUrl, enrichedHeaders, correlationId, requestId, serviceName);
+        return buildAndExecuteRequest(request, serviceInfo, targetUrl, enrichedHeaders, correlationId, requestId, serviceName);
     }
 
     private String buildTargetUrl(HttpServletRequest request, ServiceConfig.ServiceInfo serviceInfo, String serviceName) {
@@ -81,46 +109,53 @@ public class ProxyController {
         return targetUrl;
     }
 
-    private Mono<ResponseEntity<Object>> buildAndExecuteRequest(
+    private Mono<ResponseEntity<ResponseBodyEmitter>> buildAndExecuteRequest(
             HttpServletRequest request,
-            Object body,
+            ServiceConfig.ServiceInfo serviceInfo,
             String targetUrl,
             Map<String, String> enrichedHeaders,
             String correlationId,
             String requestId,
             String serviceName) {
 
-        WebClient.RequestBodySpec requestSpec = webClientBuilder.build()
-                .method(HttpMethod.valueOf(request.getMethod()))
-                .uri(targetUrl);
+        // Stream the body for write operations straight from the servlet input
+        Flux<DataBuffer> body = isWriteOperation(request.getMethod()) && hasBody(request)
+                ? readRequestBody(request)
+                : null;
 
-        // Add all enriched headers
-        enrichedHeaders.forEach(requestSpec::header);
-
-        // Add proxy-specific headers
-        requestSpec
-                .header("X-Via-Interceptor", "true")
-                .header("X-Proxy-Service", "helper-service")
-                .header("X-Target-Service", serviceName);
-
-        // Add body if present for write operations
-        if (body != null && isWriteOperation(request.getMethod())) {
-            requestSpec.bodyValue(body);
-        }
-
-        ServiceConfig.ServiceInfo serviceInfo = serviceConfig.getServiceInfo(serviceName);
         Duration timeout = Duration.ofSeconds(serviceInfo.getTimeout());
 
-        return requestSpec
-                .retrieve()
-                .toEntity(Object.class)
-                .timeout(timeout)
+        return proxyService.forward(serviceName, HttpMethod.valueOf(request.getMethod()),
+                        targetUrl, enrichedHeaders, body, timeout)
                 .doOnSuccess(response -> log.info("Proxy request completed - Service: {}, Correlation-ID: {}, Request-ID: {}, Status: {}",
                         serviceName, correlationId, requestId, response.getStatusCode()))
                 .doOnError(error -> log.error("Proxy request failed - Service: {}, Correlation-ID: {}, Request-ID: {}, Error: {}",
                         serviceName, correlationId, requestId, error.getMessage()))
-                .onErrorReturn(ResponseEntity.status(HttpStatus.BAD_GATEWAY)
-                        .body(createErrorResponse("Proxy request failed to " + serviceName, correlationId, requestId)));
+                .map(this::toStreamingResponse)
+                .onErrorResume(CallNotPermittedException.class, error -> Mono.just(createErrorResponse(
+                        HttpStatus.SERVICE_UNAVAILABLE, "Circuit breaker open for " + serviceName, correlationId, requestId)))
+                .onErrorResume(BulkheadFullException.class, error -> Mono.just(createErrorResponse(
+                        HttpStatus.SERVICE_UNAVAILABLE, "Too many concurrent requests to " + serviceName, correlationId, requestId)))
+                .onErrorResume(error -> Mono.just(createErrorResponse(HttpStatus.BAD_GATEWAY,
+                        "Proxy request failed to " + serviceName, correlationId, requestId)));
+    }
+
+    private ResponseEntity<ResponseBodyEmitter> toStreamingResponse(ResponseEntity<Flux<DataBuffer>> response) {
+        Flux<DataBuffer> downstreamBody = response.getBody();
+
+        return ResponseEntity.status(response.getStatusCode())
+                .headers(headers -> proxyService.copyResponseHeaders(response.getHeaders(), headers))
+                .body(new DataBufferRelay(downstreamBody != null ? downstreamBody : Flux.empty()));
+    }
+
+    // Blocks a boundedElastic thread only while the client sends; servlet reads have no non-blocking form here
+    private Flux<DataBuffer> readRequestBody(HttpServletRequest request) {
+        return DataBufferUtils.readInputStream(request::getInputStream, DefaultDataBufferFactory.sharedInstance, BODY_BUFFER_SIZE)
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private boolean hasBody(HttpServletRequest request) {
+        return request.getContentLengthLong() > 0 || request.getHeader(HttpHeaders.TRANSFER_ENCODING) != null;
     }
 
     private boolean isWriteOperation(String method) {
@@ -128,7 +163,8 @@ public class ProxyController {
     }
 
     private Map<String, String> extractAllHeaders(HttpServletRequest request) {
-        Map<String, String> headers = new HashMap<>();
+        // Leaves room for the enrichment and proxy headers added afterwards
+        Map<String, String> headers = new HashMap<>(128);
         Enumeration<String> headerNames = request.getHeaderNames();
 
         while (headerNames.hasMoreElements()) {
@@ -145,17 +181,70 @@ public class ProxyController {
                 .orElse(UUID.randomUUID().toString());
     }
 
-    private Map<String, Object> createErrorResponse(String message, String correlationId, String requestId) {
+    private ResponseEntity<ResponseBodyEmitter> createErrorResponse(HttpStatus status, String message,
+                                                                    String correlationId, String requestId) {
         Map<String, Object> error = new HashMap<>();
         error.put("error", message);
         error.put("correlationId", correlationId);
         error.put("requestId", requestId);
         error.put("timestamp", Instant.now().toString());
         error.put("service", "helper-service");
-        return error;
-    }
-}
 
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter();
+        try {
+            emitter.send(objectMapper.writeValueAsBytes(error));
+            emitter.complete();
+        } catch (IOException e) {
+            emitter.completeWithError(e);
+        }
 
+        return ResponseEntity.status(status)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(emitter);
+    }
 
+    /**
+     * Relays a downstream body without parking a thread on it. Each chunk is written to the servlet
+     * response by a short task on {@code boundedElastic}, and the next chunk is requested only once the
+     * previous one is written, so a thread is busy only while a write is in progress (a slow client still
+     * holds one for the duration of its write). The body is subscribed right away so its permits and
+     * idle timeout apply even if the response is never written; chunks wait until MVC has committed the
+     * status and headers.
+     */
+    private static final class DataBufferRelay extends ResponseBodyEmitter {
+
+        private final Sinks.Empty<Void> initialized = Sinks.empty();
+        private final Disposable subscription;
+
+        DataBufferRelay(Flux<DataBuffer> body) {
+            subscription = body
+                    .doOnDiscard(DataBuffer.class, DataBufferUtils::release)
+                    // A downstream failure still lets the chunk being written go out before the response is aborted
+                    .concatMapDelayError(buffer -> initialized.asMono()
+                            .then(Mono.fromRunnable(() -> write(buffer)).subscribeOn(Schedulers.boundedElastic()))
+                            .doOnCancel(() -> DataBufferUtils.release(buffer)), false, 1)
+                    .subscribe(null, this::completeWithError, this::complete);
+
+            // Client gone or async timeout: stop reading from downstream
+            onTimeout(subscription::dispose);
+            onError(error -> subscription.dispose());
+        }
+
+        @Override
+        protected void extendResponse(ServerHttpResponse outputMessage) {
+            super.extendResponse(outputMessage);
+            initialized.tryEmitEmpty();
+        }
 
+        private void write(DataBuffer buffer) {
+            byte[] chunk = new byte[buffer.readableByteCount()];
+            buffer.read(chunk);
+            DataBufferUtils.release(buffer);
+            try {
+                send(chunk);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
@@ -1,17 +1,33 @@
 package notification.com.helperservice.feature.header.service;
 
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
+import notification.com.headerenrichment.HeaderEnricher;
+import notification.com.helperservice.config.ServiceConfig;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.context.scope.refresh.RefreshScopeRefreshedEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.BiConsumer;
 
 @Service
 @Slf4j
 public class HeaderService {
 
+    private final ServiceConfig serviceConfig;
+    // Shared with services that embed the header-enrichment library and enrich in-process
+    private final HeaderEnricher enricher;
+
+    public HeaderService(ServiceConfig serviceConfig, @Value("${spring.application.name}") String applicationName) {
+        this.serviceConfig = serviceConfig;
+        this.enricher = new HeaderEnricher(applicationName);
+    }
+
     public Map<String, Object> processHeaders(Map<String, String> incomingHeaders) {
         log.info("Processing headers count: {}", incomingHeaders.size());
 
@@ -28,60 +44,38 @@ public class HeaderService {
     }
 
     public Map<String, String> enrichHeaders(Map<String, String> originalHeaders, String targetService) {
-        Map<String, String> enrichedHeaders = new HashMap<>(originalHeaders);
-
-        // Add enrichment metadata
-        enrichedHeaders.put("X-Enriched", "true");
-        enrichedHeaders.put("X-Enriched-At", Instant.now().toString());
-        enrichedHeaders.put("X-Enriched-By", "helper-service");
-        enrichedHeaders.put("X-Processing-Time", String.valueOf(System.currentTimeMillis()));
-        enrichedHeaders.put("X-Target-Service", targetService);
-
-        // Add user context if available
-        if (originalHeaders.containsKey("X-Username")) {
-            enrichedHeaders.put("X-User-Context", "authenticated");
-        } else {
-            enrichedHeaders.put("X-User-Context", "anonymous");
-        }
-
-        // Add request metadata
-        enrichedHeaders.put("X-Request-Source", "gateway-via-interceptor");
-
-        // Service-specific enrichment
-        enrichedHeaders.putAll(getServiceSpecificHeaders(targetService, originalHeaders));
+        Map<String, String> enrichedHeaders = enricher.enrich(originalHeaders, targetService);
 
-        log.debug("Headers enriched for {} - Original: {}, Enriched: {}",
-                targetService, originalHeaders.size(), enrichedHeaders.size());
+        if (log.isDebugEnabled()) {
+            log.debug("Headers enriched for {} - Original: {}, Enriched: {}",
+                    targetService, originalHeaders.size(), enrichedHeaders.size());
+        }
 
         return enrichedHeaders;
     }
 
+    /**
+     * Writes only the enrichment headers to {@code sink}, letting callers that already hold a mutable
+     * header container (such as the proxy) enrich it in place instead of copying it.
+     */
+    public void enrichHeaders(Map<String, String> originalHeaders, String targetService,
+                              BiConsumer<String, String> sink) {
+        enricher.enrich(originalHeaders, targetService, sink);
+    }
+
     public Map<String, String> getServiceSpecificHeaders(String serviceName, Map<String, String> originalHeaders) {
-        Map<String, String> serviceHeaders = new HashMap<>();
-
-        switch (serviceName) {
-            case "product-service":
-                serviceHeaders.put("X-Service-Category", "catalog");
-                serviceHeaders.put("X-Cache-Strategy", "aggressive");
-                break;
-            case "order-service":
-                serviceHeaders.put("X-Service-Category", "transaction");
-                serviceHeaders.put("X-Cache-Strategy", "minimal");
-                serviceHeaders.put("X-Audit-Required", "true");
-                break;
-            case "notification-service":
-                serviceHeaders.put("X-Service-Category", "communication");
-                serviceHeaders.put("X-Priority", "normal");
-                break;
-            case "user-service":
-                serviceHeaders.put("X-Service-Category", "identity");
-                serviceHeaders.put("X-Data-Sensitivity", "high");
-                break;
-            default:
-                serviceHeaders.put("X-Service-Category", "unknown");
-        }
+        return enricher.getServiceHeaders(serviceName);
+    }
+
+    @PostConstruct
+    @EventListener(RefreshScopeRefreshedEvent.class)
+    public void compilePlans() {
+        Map<String, Map<String, String>> serviceHeaders = new HashMap<>();
+        serviceConfig.getTargets().forEach((serviceName, serviceInfo) ->
+                serviceHeaders.put(serviceName, serviceInfo.getEnrichmentHeaders()));
 
-        return serviceHeaders;
+        enricher.configure(serviceHeaders, serviceConfig.getDefaultEnrichmentHeaders());
+        log.info("Compiled header enrichment plans for services: {}", enricher.configuredServices());
     }
 
     public Map<String, Object> createHeaderSummary(Map<String, String> headers) {
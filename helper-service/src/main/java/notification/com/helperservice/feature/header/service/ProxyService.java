@@ -0,0 +1,109 @@
+package notification.com.helperservice.feature.header.service;
+
+import lombok.RequiredArgsConstructor;
+import notification.com.helperservice.config.ServiceResilienceRegistry;
+import notification.com.helperservice.config.ServiceWebClientRegistry;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Forwards a request to a downstream service without materializing either body. The request body is
+ * passed through as raw {@link DataBuffer}s and the returned entity carries the downstream body as an
+ * unconsumed {@link Flux}, so the caller decides how (and on which thread) to stream it out.
+ */
+@Service
+@RequiredArgsConstructor
+public class ProxyService {
+
+    // RFC 7230 hop-by-hop headers plus Host, which must describe the downstream target instead
+    private static final Set<String> HOP_BY_HOP_HEADERS = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+
+    static {
+        HOP_BY_HOP_HEADERS.addAll(List.of(
+                "Connection", "Keep-Alive", "Proxy-Authenticate", "Proxy-Authorization",
+                "TE", "Trailer", "Transfer-Encoding", "Upgrade", "HTTP2-Settings", "Host"));
+    }
+
+    private final ServiceWebClientRegistry webClientRegistry;
+    private final ServiceResilienceRegistry resilienceRegistry;
+    private final RequestHedger requestHedger;
+    private final RetryBudget retryBudget;
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> forward(String serviceName,
+                                                          HttpMethod method,
+                                                          String targetUrl,
+                                                          Map<String, String> headers,
+                                                          Flux<DataBuffer> body,
+                                                          Duration timeout) {
+
+        // All traffic fills the budget, so hedges stay a share of everything the proxy sends
+        retryBudget.deposit();
+        // A body stream can only be sent once, so only bodiless requests are hedged
+        Mono<ResponseEntity<Flux<DataBuffer>>> call = body == null && requestHedger.isEligible(serviceName, method)
+                ? requestHedger.hedge(serviceName, targetUrl, instanceUrl ->
+                        exchange(webClientRegistry.getDirectClient(serviceName), method, instanceUrl, headers, null))
+                : exchange(webClientRegistry.getClient(serviceName), method, targetUrl, headers, body);
+
+        // The timeout covers the wait for headers and then every gap between body chunks, so a downstream
+        // that stalls mid-body fails the call instead of holding the connection and its permits forever
+        Mono<ResponseEntity<Flux<DataBuffer>>> timed = call
+                .timeout(timeout)
+                .map(response -> new ResponseEntity<>(
+                        response.getBody() == null ? null : response.getBody().timeout(timeout),
+                        response.getHeaders(),
+                        response.getStatusCode()));
+
+        return resilienceRegistry.decorate(serviceName, timed);
+    }
+
+    private Mono<ResponseEntity<Flux<DataBuffer>>> exchange(WebClient webClient,
+                                                            HttpMethod method,
+                                                            String url,
+                                                            Map<String, String> headers,
+                                                            Flux<DataBuffer> body) {
+        WebClient.RequestBodySpec requestSpec = webClient
+                .method(method)
+                .uri(url)
+                .headers(outgoing -> headers.forEach((name, value) -> {
+                    if (!isHopByHop(name)) {
+                        outgoing.set(name, value);
+                    }
+                }));
+
+        if (body != null) {
+            requestSpec.body(BodyInserters.fromDataBuffers(body));
+        }
+
+        return requestSpec
+                .retrieve()
+                // Downstream 4xx/5xx responses are relayed as-is instead of being turned into errors
+                .onStatus(HttpStatusCode::isError, response -> Mono.empty())
+                .toEntityFlux(DataBuffer.class);
+    }
+
+    public void copyResponseHeaders(HttpHeaders source, HttpHeaders target) {
+        source.forEach((name, values) -> {
+            if (!isHopByHop(name)) {
+                target.addAll(name, values);
+            }
+        });
+    }
+
+    private boolean isHopByHop(String headerName) {
+        return HOP_BY_HOP_HEADERS.contains(headerName);
+    }
+}
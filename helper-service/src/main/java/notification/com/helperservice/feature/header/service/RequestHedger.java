@@ -0,0 +1,191 @@
+package notification.com.helperservice.feature.header.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import notification.com.helperservice.config.ServiceConfig;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.client.loadbalancer.reactive.ReactiveLoadBalancer;
+import org.springframework.http.HttpMethod;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Hedges idempotent calls to multi-instance targets: the first attempt goes to the instance the load
+ * balancer picks, and if it has not answered within the target's recent p95 a second attempt goes to
+ * a different instance. The first response wins and the other attempt is cancelled; a failure only
+ * ends the request once neither attempt can still answer, and then it is the primary's failure. Second
+ * attempts are paid for from the shared {@link RetryBudget}, which all proxied traffic fills.
+ */
+@Component
+@Slf4j
+public class RequestHedger {
+
+    // Attempts at drawing an instance other than the primary's before giving up on the hedge
+    private static final int MAX_INSTANCE_DRAWS = 3;
+
+    private final ServiceConfig serviceConfig;
+    private final ReactiveLoadBalancer.Factory<ServiceInstance> loadBalancerFactory;
+    private final RetryBudget retryBudget;
+    private final Counter hedgesSent;
+    private final Counter hedgesWon;
+    private final Counter hedgesDenied;
+    private final Map<String, LatencyEstimate> estimates = new ConcurrentHashMap<>();
+
+    public RequestHedger(ServiceConfig serviceConfig,
+                         ReactiveLoadBalancer.Factory<ServiceInstance> loadBalancerFactory,
+                         RetryBudget retryBudget,
+                         MeterRegistry meterRegistry) {
+        this.serviceConfig = serviceConfig;
+        this.loadBalancerFactory = loadBalancerFactory;
+        this.retryBudget = retryBudget;
+        this.hedgesSent = meterRegistry.counter("proxy.hedge.sent");
+        this.hedgesWon = meterRegistry.counter("proxy.hedge.won");
+        this.hedgesDenied = meterRegistry.counter("proxy.hedge.budget.exhausted");
+    }
+
+    public boolean isEligible(String serviceName, HttpMethod method) {
+        ServiceConfig.ServiceInfo serviceInfo = serviceConfig.getServiceInfo(serviceName);
+        return serviceInfo != null
+                && serviceInfo.getHedging().isEnabled()
+                && serviceInfo.getIdempotentMethods().contains(method.name());
+    }
+
+    /**
+     * Runs {@code attempt} against concrete instances of the target named by {@code targetUrl}'s host.
+     * The function receives the URL rewritten to point at the chosen instance.
+     */
+    public <T> Mono<T> hedge(String serviceName, String targetUrl, Function<String, Mono<T>> attempt) {
+        ServiceConfig.Hedging settings = serviceConfig.getServiceInfo(serviceName).getHedging();
+        String serviceId = UriComponentsBuilder.fromUriString(targetUrl).build().getHost();
+        ReactiveLoadBalancer<ServiceInstance> loadBalancer = loadBalancerFactory.getInstance(serviceId);
+        LatencyEstimate estimate = estimates.computeIfAbsent(serviceName, name -> new LatencyEstimate());
+
+        return choose(loadBalancer)
+                .switchIfEmpty(Mono.error(() -> new IllegalStateException("No instances available for " + serviceId)))
+                .flatMap(primaryInstance -> {
+                    long start = System.nanoTime();
+                    AtomicReference<Throwable> primaryError = new AtomicReference<>();
+                    Mono<T> primary = attempt.apply(urlFor(targetUrl, primaryInstance)).doOnError(primaryError::set);
+
+                    Duration delay = estimate.delay(settings);
+                    Mono<T> race = delay == null
+                            ? primary
+                            : Mono.firstWithValue(primary, hedgeAfter(delay, loadBalancer, primaryInstance, targetUrl, attempt))
+                                    // Neither attempt answered: report the primary's failure, not the race's
+                                    .onErrorMap(NoSuchElementException.class,
+                                            error -> primaryError.get() != null ? primaryError.get() : error);
+                    return race.doOnSuccess(response -> estimate.record(System.nanoTime() - start));
+                });
+    }
+
+    @Scheduled(fixedDelayString = "${services.hedging-estimate-interval:10s}")
+    public void refreshEstimates() {
+        estimates.forEach((serviceName, estimate) -> {
+            ServiceConfig.ServiceInfo serviceInfo = serviceConfig.getServiceInfo(serviceName);
+            if (serviceInfo != null) {
+                estimate.refresh(serviceInfo.getHedging().getMinSamples());
+            }
+        });
+    }
+
+    private <T> Mono<T> hedgeAfter(Duration delay,
+                                   ReactiveLoadBalancer<ServiceInstance> loadBalancer,
+                                   ServiceInstance primaryInstance,
+                                   String targetUrl,
+                                   Function<String, Mono<T>> attempt) {
+        return Mono.delay(delay)
+                .flatMap(tick -> chooseOther(loadBalancer, primaryInstance))
+                .filter(instance -> {
+                    if (retryBudget.tryWithdraw()) {
+                        return true;
+                    }
+                    hedgesDenied.increment();
+                    return false;
+                })
+                .flatMap(instance -> {
+                    hedgesSent.increment();
+                    return attempt.apply(urlFor(targetUrl, instance)).doOnSuccess(response -> hedgesWon.increment());
+                })
+                // A hedge that is skipped or fails completes empty, leaving the race to the primary
+                .onErrorResume(error -> {
+                    log.debug("Hedged attempt to {} failed: {}", targetUrl, error.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    private Mono<ServiceInstance> choose(ReactiveLoadBalancer<ServiceInstance> loadBalancer) {
+        if (loadBalancer == null) {
+            return Mono.empty();
+        }
+        return Mono.from(loadBalancer.choose())
+                .filter(Response::hasServer)
+                .map(Response::getServer);
+    }
+
+    private Mono<ServiceInstance> chooseOther(ReactiveLoadBalancer<ServiceInstance> loadBalancer, ServiceInstance primary) {
+        return Flux.range(0, MAX_INSTANCE_DRAWS)
+                .concatMap(draw -> choose(loadBalancer))
+                .filter(instance -> !Objects.equals(instance.getHost(), primary.getHost())
+                        || instance.getPort() != primary.getPort())
+                .next();
+    }
+
+    private String urlFor(String targetUrl, ServiceInstance instance) {
+        return UriComponentsBuilder.fromUriString(targetUrl)
+                .scheme(instance.isSecure() ? "https" : "http")
+                .host(instance.getHost())
+                .port(instance.getPort())
+                .build()
+                .toUriString();
+    }
+
+    /**
+     * Time to response headers for one target. Samples accumulate in a {@link Recorder}; each refresh
+     * turns the interval into a new p95 when there were enough of them and keeps the old one otherwise.
+     */
+    private static final class LatencyEstimate {
+
+        private final Recorder recorder = new Recorder(2);
+        private Histogram recycled;
+        private volatile long p95Nanos = -1;
+
+        void record(long nanos) {
+            recorder.recordValue(Math.max(0, nanos));
+        }
+
+        synchronized void refresh(int minSamples) {
+            Histogram interval = recorder.getIntervalHistogram(recycled);
+            recycled = interval;
+            if (interval.getTotalCount() >= minSamples) {
+                p95Nanos = interval.getValueAtPercentile(95);
+            }
+        }
+
+        Duration delay(ServiceConfig.Hedging settings) {
+            long p95 = p95Nanos;
+            if (p95 < 0) {
+                return null;
+            }
+            Duration delay = Duration.ofNanos(p95);
+            if (delay.compareTo(settings.getMinDelay()) < 0) {
+                return settings.getMinDelay();
+            }
+            return delay.compareTo(settings.getMaxDelay()) > 0 ? settings.getMaxDelay() : delay;
+        }
+    }
+}
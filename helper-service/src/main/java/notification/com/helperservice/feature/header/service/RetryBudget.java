@@ -0,0 +1,51 @@
+package notification.com.helperservice.feature.header.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import notification.com.helperservice.config.ServiceConfig;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Process-wide allowance for extra attempts. Every proxied request deposits {@code ratio} of an attempt
+ * and every extra attempt withdraws a whole one, so over any stretch of traffic extra attempts stay below
+ * that share of requests. During an outage, when every request is slow, the budget drains and requests
+ * simply stop being duplicated instead of doubling the load on the failing target.
+ */
+@Component
+public class RetryBudget {
+
+    // Balance is kept in thousandths of an attempt so fractional deposits stay exact
+    private static final long SCALE = 1000;
+
+    private final ServiceConfig serviceConfig;
+    private final AtomicLong balance = new AtomicLong();
+
+    public RetryBudget(ServiceConfig serviceConfig, MeterRegistry meterRegistry) {
+        this.serviceConfig = serviceConfig;
+        Gauge.builder("proxy.retry.budget.balance", this, RetryBudget::getBalance).register(meterRegistry);
+    }
+
+    public void deposit() {
+        ServiceConfig.RetryBudgetSettings settings = serviceConfig.getRetryBudget();
+        long amount = Math.round(settings.getRatio() * SCALE);
+        long max = settings.getMaxBalance() * SCALE;
+        balance.getAndUpdate(current -> Math.min(max, current + amount));
+    }
+
+    public boolean tryWithdraw() {
+        long current;
+        do {
+            current = balance.get();
+            if (current < SCALE) {
+                return false;
+            }
+        } while (!balance.compareAndSet(current, current - SCALE));
+        return true;
+    }
+
+    public double getBalance() {
+        return (double) balance.get() / SCALE;
+    }
+}
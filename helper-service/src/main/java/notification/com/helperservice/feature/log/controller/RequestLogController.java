@@ -1,38 +1,88 @@
 package notification.com.helperservice.feature.log.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import notification.com.helperservice.feature.log.dto.RequestLogCursor;
+import notification.com.helperservice.feature.log.dto.RequestLogFilter;
+import notification.com.helperservice.feature.log.dto.RequestLogPage;
 import notification.com.helperservice.feature.log.entity.RequestLog;
+import notification.com.helperservice.feature.log.service.RequestLogAnalytics;
 import notification.com.helperservice.feature.log.service.RequestLogService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDateTime;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @RestController
 @RequestMapping("/api/v1/logs")
 @RequiredArgsConstructor
 public class RequestLogController {
 
+    private static final int DEFAULT_PAGE_SIZE = 100;
+    private static final int MAX_PAGE_SIZE = 1000;
+
     private final RequestLogService requestLogService;
+    private final RequestLogAnalytics requestLogAnalytics;
+    private final ObjectMapper objectMapper;
 
     @GetMapping
-    public ResponseEntity<List<RequestLog>> getAllLogs() {
-        return ResponseEntity.ok(requestLogService.getLogsByDateRange(
-            LocalDateTime.now().minusDays(7), LocalDateTime.now()));
+    public ResponseEntity<RequestLogPage> getAllLogs(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int limit,
+            @RequestParam(defaultValue = "true") boolean includeHeaders) {
+        return page(lastWeek().build(), cursor, limit, includeHeaders);
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllLogs(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "0") int limit,
+            @RequestParam(defaultValue = "true") boolean includeHeaders) {
+        return stream(lastWeek().build(), cursor, limit, includeHeaders);
     }
 
     @GetMapping("/service/{serviceName}")
-    public ResponseEntity<List<RequestLog>> getLogsByService(@PathVariable String serviceName) {
-        return ResponseEntity.ok(requestLogService.getLogsByService(serviceName));
+    public ResponseEntity<RequestLogPage> getLogsByService(
+            @PathVariable String serviceName,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int limit,
+            @RequestParam(defaultValue = "true") boolean includeHeaders) {
+        return page(RequestLogFilter.builder().serviceName(serviceName).build(), cursor, limit, includeHeaders);
+    }
+
+    @GetMapping(value = "/service/{serviceName}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamLogsByService(
+            @PathVariable String serviceName,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "0") int limit,
+            @RequestParam(defaultValue = "true") boolean includeHeaders) {
+        return stream(RequestLogFilter.builder().serviceName(serviceName).build(), cursor, limit, includeHeaders);
     }
 
     @GetMapping("/errors")
-    public ResponseEntity<List<RequestLog>> getErrorLogs() {
-        return ResponseEntity.ok(requestLogService.getErrorLogs());
+    public ResponseEntity<RequestLogPage> getErrorLogs(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int limit,
+            @RequestParam(defaultValue = "true") boolean includeHeaders) {
+        return page(RequestLogFilter.builder().status("ERROR").build(), cursor, limit, includeHeaders);
+    }
+
+    @GetMapping(value = "/errors", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamErrorLogs(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "0") int limit,
+            @RequestParam(defaultValue = "true") boolean includeHeaders) {
+        return stream(RequestLogFilter.builder().status("ERROR").build(), cursor, limit, includeHeaders);
     }
 
     @GetMapping("/errors/since")
@@ -62,16 +112,46 @@ public class RequestLogController {
         return ResponseEntity.ok(requestLogService.getLogsByServiceAndDateRange(serviceName, start, end));
     }
 
+    private RequestLogFilter.RequestLogFilterBuilder lastWeek() {
+        return RequestLogFilter.builder().start(LocalDateTime.now().minusDays(7));
+    }
+
+    private ResponseEntity<RequestLogPage> page(RequestLogFilter filter, String cursor, int limit, boolean includeHeaders) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        return ResponseEntity.ok(requestLogService.getLogPage(filter, parseCursor(cursor), limit, includeHeaders));
+    }
+
+    private ResponseEntity<StreamingResponseBody> stream(RequestLogFilter filter, String cursor, int limit, boolean includeHeaders) {
+        // Parsed before the response starts so a bad cursor is a 400 rather than a broken stream
+        RequestLogCursor after = parseCursor(cursor);
+
+        StreamingResponseBody body = outputStream -> {
+            try (Stream<RequestLog> logs = requestLogService.streamLogs(filter, after, limit, includeHeaders)) {
+                Iterator<RequestLog> iterator = logs.iterator();
+                while (iterator.hasNext()) {
+                    outputStream.write(objectMapper.writeValueAsBytes(iterator.next()));
+                    outputStream.write('\n');
+                }
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    private RequestLogCursor parseCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            return RequestLogCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor", e);
+        }
+    }
+
     @GetMapping("/analytics")
     public ResponseEntity<Map<String, Object>> getAnalytics() {
-        Map<String, Object> analytics = Map.of(
-            "totalRequests", requestLogService.getTotalRequestsCount(),
-            "totalErrors", requestLogService.getErrorCount(),
-            "requestsLast24Hours", requestLogService.getRequestCountByDateRange(
-                LocalDateTime.now().minusDays(1), LocalDateTime.now()),
-            "errorsLast24Hours", requestLogService.getErrorLogsSince(
-                LocalDateTime.now().minusDays(1)).size()
-        );
-        return ResponseEntity.ok(analytics);
+        return ResponseEntity.ok(requestLogAnalytics.getSummary());
     }
 }
@@ -0,0 +1,22 @@
+package notification.com.helperservice.feature.log.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Optional constraints for paginated and streamed log queries; null fields are not applied.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class RequestLogFilter {
+    private String serviceName;
+    private String status;
+    private LocalDateTime start;
+    private LocalDateTime end;
+}
@@ -0,0 +1,18 @@
+package notification.com.helperservice.feature.log.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import notification.com.helperservice.feature.log.entity.RequestLog;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class RequestLogPage {
+    private List<RequestLog> items;
+    // Pass back as ?cursor= to fetch the next page; null on the last page
+    private String nextCursor;
+    private boolean hasMore;
+}
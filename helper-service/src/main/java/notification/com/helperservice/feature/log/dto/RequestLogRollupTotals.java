@@ -0,0 +1,9 @@
+package notification.com.helperservice.feature.log.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Requests and errors summed over a range of rollups, with the first and last minute the range covers.
+ */
+public record RequestLogRollupTotals(long requests, long errors, LocalDateTime firstMinute, LocalDateTime lastMinute) {
+}
@@ -6,6 +6,8 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.index.Indexed;
 
 import java.time.LocalDateTime;
@@ -14,8 +16,14 @@ import java.util.Map;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-@Builder
+@Builder(toBuilder = true)
 @Document(collection = "request_logs")
+@CompoundIndexes({
+        @CompoundIndex(name = "service_timestamp", def = "{'serviceName': 1, 'timestamp': -1, '_id': -1}"),
+        @CompoundIndex(name = "status_timestamp", def = "{'status': 1, 'timestamp': -1, '_id': -1}"),
+        @CompoundIndex(name = "service_status", def = "{'serviceName': 1, 'status': 1}"),
+        @CompoundIndex(name = "timestamp_id", def = "{'timestamp': -1, '_id': -1}")
+})
 public class RequestLog {
 
     @Id
@@ -24,26 +32,26 @@ public class RequestLog {
     @Indexed
     private String requestId;
 
-    @Indexed
     private String serviceName;
 
     private String method;
     private String endpoint;
     private String requestUrl;
 
-    @Indexed
+    // Retention is a TTL index on this field, see RequestLogCollectionInitializer
     private LocalDateTime timestamp;
 
     private Map<String, String> requestHeaders;
     private String requestBody;
+    private Boolean requestBodyTruncated;
 
     private Integer responseStatus;
     private Map<String, String> responseHeaders;
     private String responseBody;
+    private Boolean responseBodyTruncated;
 
     private Long duration; // in milliseconds
 
-    @Indexed
     private String status; // SUCCESS, ERROR, TIMEOUT
 
     private String errorMessage;
@@ -52,4 +60,7 @@ public class RequestLog {
     private String clientIp;
 
     private String userAgent;
+
+    // Probability this log was kept with; each stored log stands for 1 / sampleRate requests
+    private Double sampleRate;
 }
@@ -0,0 +1,41 @@
+package notification.com.helperservice.feature.log.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Per-service request counts and latency percentiles for one minute.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Document(collection = "request_log_rollups")
+@CompoundIndex(name = "service_minute", def = "{'serviceName': 1, 'minute': 1}")
+public class RequestLogRollup {
+
+    @Id
+    private String id;
+
+    private String serviceName;
+    private LocalDateTime minute;
+
+    private long requests;
+    private long errors;
+    private Map<String, Long> statusCounts;
+
+    // Latencies in milliseconds
+    private long p50;
+    private long p95;
+    private long p99;
+    private long max;
+    private double mean;
+}
@@ -10,7 +10,7 @@ import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface RequestLogRepository extends MongoRepository<RequestLog, String> {
+public interface RequestLogRepository extends MongoRepository<RequestLog, String>, RequestLogRepositoryCustom {
 
     List<RequestLog> findByServiceName(String serviceName);
 
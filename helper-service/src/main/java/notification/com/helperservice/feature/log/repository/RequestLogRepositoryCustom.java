@@ -0,0 +1,28 @@
+package notification.com.helperservice.feature.log.repository;
+
+import notification.com.helperservice.feature.log.dto.RequestLogCursor;
+import notification.com.helperservice.feature.log.dto.RequestLogFilter;
+import notification.com.helperservice.feature.log.entity.RequestLog;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface RequestLogRepositoryCustom {
+
+    /**
+     * Returns up to {@code limit} logs matching {@code filter}, newest first, strictly after {@code after}.
+     */
+    List<RequestLog> findPage(RequestLogFilter filter, RequestLogCursor after, int limit, boolean includeHeaders);
+
+    /**
+     * Number of requests the logs with {@code from <= timestamp < to} stand for, weighting each log by
+     * {@code 1 / sampleRate}. A null status matches every log, a null bound is open.
+     */
+    long countExtrapolated(String status, LocalDateTime from, LocalDateTime to);
+
+    /**
+     * Same ordering as {@link #findPage}, but backed by an open Mongo cursor. The caller must close the stream.
+     */
+    Stream<RequestLog> stream(RequestLogFilter filter, RequestLogCursor after, int limit, boolean includeHeaders);
+}
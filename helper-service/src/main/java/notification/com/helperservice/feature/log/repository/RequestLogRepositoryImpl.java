@@ -0,0 +1,102 @@
+package notification.com.helperservice.feature.log.repository;
+
+import lombok.RequiredArgsConstructor;
+import notification.com.helperservice.feature.log.dto.RequestLogCursor;
+import notification.com.helperservice.feature.log.dto.RequestLogFilter;
+import notification.com.helperservice.feature.log.entity.RequestLog;
+import org.bson.Document;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationExpression;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+@RequiredArgsConstructor
+public class RequestLogRepositoryImpl implements RequestLogRepositoryCustom {
+
+    private static final Sort KEYSET_ORDER = Sort.by(Sort.Direction.DESC, "timestamp", "id");
+    private static final int STREAM_BATCH_SIZE = 500;
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public List<RequestLog> findPage(RequestLogFilter filter, RequestLogCursor after, int limit, boolean includeHeaders) {
+        return mongoTemplate.find(buildQuery(filter, after, limit, includeHeaders), RequestLog.class);
+    }
+
+    @Override
+    public Stream<RequestLog> stream(RequestLogFilter filter, RequestLogCursor after, int limit, boolean includeHeaders) {
+        Query query = buildQuery(filter, after, limit, includeHeaders).cursorBatchSize(STREAM_BATCH_SIZE);
+        return mongoTemplate.stream(query, RequestLog.class);
+    }
+
+    @Override
+    public long countExtrapolated(String status, LocalDateTime from, LocalDateTime to) {
+        Criteria criteria = between("timestamp", from, to);
+        if (status != null) {
+            criteria.and("status").is(status);
+        }
+        // Logs written before sampling existed have no sampleRate and count once
+        AggregationExpression weight = context -> new Document("$divide",
+                List.of(1, new Document("$ifNull", List.of("$sampleRate", 1))));
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(criteria),
+                Aggregation.group().sum(weight).as("total"));
+
+        Document result = mongoTemplate.aggregate(aggregation, RequestLog.class, Document.class).getUniqueMappedResult();
+        return result == null ? 0 : Math.round(((Number) result.get("total")).doubleValue());
+    }
+
+    static Criteria between(String field, LocalDateTime from, LocalDateTime to) {
+        if (from == null && to == null) {
+            return new Criteria();
+        }
+        Criteria criteria = Criteria.where(field);
+        if (from != null) {
+            criteria.gte(from);
+        }
+        if (to != null) {
+            criteria.lt(to);
+        }
+        return criteria;
+    }
+
+    private Query buildQuery(RequestLogFilter filter, RequestLogCursor after, int limit, boolean includeHeaders) {
+        Query query = new Query().with(KEYSET_ORDER);
+        if (filter.getServiceName() != null) {
+            query.addCriteria(Criteria.where("serviceName").is(filter.getServiceName()));
+        }
+        if (filter.getStatus() != null) {
+            query.addCriteria(Criteria.where("status").is(filter.getStatus()));
+        }
+        if (filter.getStart() != null || filter.getEnd() != null) {
+            Criteria timestamp = Criteria.where("timestamp");
+            if (filter.getStart() != null) {
+                timestamp.gte(filter.getStart());
+            }
+            if (filter.getEnd() != null) {
+                timestamp.lte(filter.getEnd());
+            }
+            query.addCriteria(timestamp);
+        }
+        if (after != null) {
+            // Keyset condition: strictly older than the cursor, ties on timestamp broken by id
+            query.addCriteria(new Criteria().orOperator(
+                    Criteria.where("timestamp").lt(after.timestamp()),
+                    Criteria.where("timestamp").is(after.timestamp()).and("id").lt(after.id())));
+        }
+
+        if (limit > 0) {
+            query.limit(limit);
+        }
+        if (!includeHeaders) {
+            query.fields().exclude("requestHeaders", "responseHeaders");
+        }
+        return query;
+    }
+}
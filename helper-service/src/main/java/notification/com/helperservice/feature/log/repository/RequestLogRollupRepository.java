@@ -0,0 +1,14 @@
+package notification.com.helperservice.feature.log.repository;
+
+import notification.com.helperservice.feature.log.entity.RequestLogRollup;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface RequestLogRollupRepository extends MongoRepository<RequestLogRollup, String>, RequestLogRollupRepositoryCustom {
+
+    List<RequestLogRollup> findByMinuteGreaterThanEqualAndMinuteLessThan(LocalDateTime since, LocalDateTime until);
+}
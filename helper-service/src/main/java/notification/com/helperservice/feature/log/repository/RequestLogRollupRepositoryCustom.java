@@ -0,0 +1,14 @@
+package notification.com.helperservice.feature.log.repository;
+
+import notification.com.helperservice.feature.log.dto.RequestLogRollupTotals;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface RequestLogRollupRepositoryCustom {
+
+    /**
+     * Sums the rollups with {@code from <= minute < to}; a null bound is open. Empty if there are none.
+     */
+    Optional<RequestLogRollupTotals> sumBetween(LocalDateTime from, LocalDateTime to);
+}
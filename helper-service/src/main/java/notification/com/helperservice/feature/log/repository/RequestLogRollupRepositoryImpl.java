@@ -0,0 +1,44 @@
+package notification.com.helperservice.feature.log.repository;
+
+import lombok.RequiredArgsConstructor;
+import notification.com.helperservice.feature.log.dto.RequestLogRollupTotals;
+import notification.com.helperservice.feature.log.entity.RequestLogRollup;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.Optional;
+
+@RequiredArgsConstructor
+public class RequestLogRollupRepositoryImpl implements RequestLogRollupRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public Optional<RequestLogRollupTotals> sumBetween(LocalDateTime from, LocalDateTime to) {
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(RequestLogRepositoryImpl.between("minute", from, to)),
+                Aggregation.group()
+                        .sum("requests").as("requests")
+                        .sum("errors").as("errors")
+                        .min("minute").as("firstMinute")
+                        .max("minute").as("lastMinute"));
+
+        Document result = mongoTemplate.aggregate(aggregation, RequestLogRollup.class, Document.class).getUniqueMappedResult();
+        if (result == null) {
+            return Optional.empty();
+        }
+        return Optional.of(new RequestLogRollupTotals(
+                ((Number) result.get("requests")).longValue(),
+                ((Number) result.get("errors")).longValue(),
+                toLocalDateTime(result.getDate("firstMinute")),
+                toLocalDateTime(result.getDate("lastMinute"))));
+    }
+
+    private static LocalDateTime toLocalDateTime(Date date) {
+        return LocalDateTime.ofInstant(date.toInstant(), ZoneId.systemDefault());
+    }
+}
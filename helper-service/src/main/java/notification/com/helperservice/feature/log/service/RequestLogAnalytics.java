@@ -0,0 +1,328 @@
+package notification.com.helperservice.feature.log.service;
+
+import lombok.extern.slf4j.Slf4j;
+import notification.com.helperservice.config.RequestLoggingConfig;
+import notification.com.helperservice.feature.log.dto.RequestLogRollupTotals;
+import notification.com.helperservice.feature.log.entity.RequestLog;
+import notification.com.helperservice.feature.log.entity.RequestLogRollup;
+import notification.com.helperservice.feature.log.repository.RequestLogRepository;
+import notification.com.helperservice.feature.log.repository.RequestLogRollupRepository;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-process request analytics. Every completed log bumps lock-free per-service counters and a
+ * per-service latency {@link Recorder}; once a minute the interval is closed, persisted as a
+ * {@link RequestLogRollup} and folded into a 24 hour ring of counts and a trailing latency window.
+ * Reading the summary never touches Mongo: counts are live, percentiles are at most a minute old.
+ * On startup, totals are restored from what was persisted before the counters started, mostly from
+ * rollups; raw logs are only counted where no rollup covers them.
+ */
+@Component
+@Slf4j
+public class RequestLogAnalytics {
+
+    private static final String ERROR_STATUS = "ERROR";
+    private static final String UNKNOWN_SERVICE = "unknown";
+    // Closed minutes kept per service; together with the open minute they cover the last 24 hours
+    private static final int DAY_MINUTES = 24 * 60 - 1;
+
+    private final RequestLogRepository requestLogRepository;
+    private final RequestLogRollupRepository rollupRepository;
+    private final RequestLoggingConfig.Analytics config;
+    private final Duration retention;
+    private final int windowMinutes;
+    // Everything recorded from here on is in the live counters; only what precedes it is restored
+    private final LocalDateTime countersStart = LocalDateTime.now();
+
+    private final ConcurrentHashMap<String, ServiceStats> services = new ConcurrentHashMap<>();
+
+    // Requests persisted before countersStart, so totals survive restarts
+    private volatile long baselineRequests;
+    private volatile long baselineErrors;
+    private LocalDateTime lastClosedMinute = LocalDateTime.now().truncatedTo(ChronoUnit.MINUTES).minusMinutes(1);
+
+    public RequestLogAnalytics(RequestLogRepository requestLogRepository,
+                               RequestLogRollupRepository rollupRepository,
+                               RequestLoggingConfig requestLoggingConfig) {
+        this.requestLogRepository = requestLogRepository;
+        this.rollupRepository = rollupRepository;
+        this.config = requestLoggingConfig.getAnalytics();
+        this.retention = requestLoggingConfig.getStorage().getRetention();
+        this.windowMinutes = (int) Math.max(1, config.getLatencyWindow().toMinutes());
+    }
+
+    public void record(RequestLog requestLog) {
+        String serviceName = requestLog.getServiceName() != null ? requestLog.getServiceName() : UNKNOWN_SERVICE;
+        ServiceStats stats = services.get(serviceName);
+        if (stats == null) {
+            stats = services.computeIfAbsent(serviceName, name -> new ServiceStats(config));
+        }
+        stats.record(requestLog.getStatus(), requestLog.getDuration());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void restore() {
+        CompletableFuture.runAsync(() -> {
+            try {
+                restoreTotals();
+                // The minute the counters started in is rolled up by this instance
+                LocalDateTime startMinute = countersStart.truncatedTo(ChronoUnit.MINUTES);
+                restoreLastDay(rollupRepository.findByMinuteGreaterThanEqualAndMinuteLessThan(
+                        LocalDateTime.now().truncatedTo(ChronoUnit.MINUTES).minusMinutes(DAY_MINUTES), startMinute));
+            } catch (Exception e) {
+                log.warn("Could not restore request analytics from Mongo: {}", e.getMessage());
+            }
+        });
+    }
+
+    @Scheduled(cron = "0 * * * * *")
+    public synchronized void rollup() {
+        LocalDateTime minute = LocalDateTime.now().truncatedTo(ChronoUnit.MINUTES).minusMinutes(1);
+        List<RequestLogRollup> rollups = new ArrayList<>();
+        services.forEach((serviceName, stats) -> {
+            RequestLogRollup rollup = stats.closeMinute(serviceName, minute, windowMinutes);
+            if (rollup.getRequests() > 0) {
+                rollups.add(rollup);
+            }
+        });
+        lastClosedMinute = minute;
+
+        if (!rollups.isEmpty()) {
+            try {
+                rollupRepository.saveAll(rollups);
+            } catch (Exception e) {
+                log.warn("Failed to persist {} request log rollups for {}: {}", rollups.size(), minute, e.getMessage());
+            }
+        }
+    }
+
+    public Map<String, Object> getSummary() {
+        long totalRequests = baselineRequests;
+        long totalErrors = baselineErrors;
+        long requestsLastDay = 0;
+        long errorsLastDay = 0;
+        Map<String, Object> perService = new TreeMap<>();
+
+        for (Map.Entry<String, ServiceStats> entry : services.entrySet()) {
+            ServiceStats stats = entry.getValue();
+            long requests = stats.requests.sum();
+            long errors = stats.errors.sum();
+            long serviceRequestsLastDay = stats.requestsLastDay + requests - stats.closedRequests;
+            long serviceErrorsLastDay = stats.errorsLastDay + errors - stats.closedErrors;
+
+            totalRequests += requests;
+            totalErrors += errors;
+            requestsLastDay += serviceRequestsLastDay;
+            errorsLastDay += serviceErrorsLastDay;
+
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("requests", requests);
+            summary.put("errors", errors);
+            summary.put("requestsLast24Hours", serviceRequestsLastDay);
+            summary.put("errorsLast24Hours", serviceErrorsLastDay);
+            summary.put("statusCounts", stats.statusCounts());
+            summary.put("latency", stats.latency);
+            perService.put(entry.getKey(), summary);
+        }
+
+        Map<String, Object> analytics = new LinkedHashMap<>();
+        analytics.put("totalRequests", totalRequests);
+        analytics.put("totalErrors", totalErrors);
+        analytics.put("requestsLast24Hours", requestsLastDay);
+        analytics.put("errorsLast24Hours", errorsLastDay);
+        analytics.put("latencyWindow", Duration.ofMinutes(windowMinutes).toString());
+        analytics.put("services", perService);
+        return analytics;
+    }
+
+    /**
+     * Rollups hold exact counts for every minute an earlier instance closed. Logs are only counted
+     * before the first of them (history from before rollups existed) and after the last (the minute an
+     * earlier instance was stopped in), always stopping at {@link #countersStart}. Rollups older than the
+     * log retention are left out, so totals keep covering what the logs do.
+     */
+    private void restoreTotals() {
+        LocalDateTime startMinute = countersStart.truncatedTo(ChronoUnit.MINUTES);
+        LocalDateTime retainedSince = retention != null && !retention.isZero() ? countersStart.minus(retention) : null;
+        Optional<RequestLogRollupTotals> rollups = rollupRepository.sumBetween(retainedSince, startMinute);
+
+        if (rollups.isEmpty()) {
+            baselineRequests = requestLogRepository.countExtrapolated(null, null, countersStart);
+            baselineErrors = requestLogRepository.countExtrapolated(ERROR_STATUS, null, countersStart);
+            return;
+        }
+        LocalDateTime coveredFrom = rollups.get().firstMinute();
+        LocalDateTime coveredUntil = rollups.get().lastMinute().plusMinutes(1);
+        baselineRequests = rollups.get().requests()
+                + requestLogRepository.countExtrapolated(null, null, coveredFrom)
+                + requestLogRepository.countExtrapolated(null, coveredUntil, countersStart);
+        baselineErrors = rollups.get().errors()
+                + requestLogRepository.countExtrapolated(ERROR_STATUS, null, coveredFrom)
+                + requestLogRepository.countExtrapolated(ERROR_STATUS, coveredUntil, countersStart);
+    }
+
+    private synchronized void restoreLastDay(List<RequestLogRollup> rollups) {
+        for (RequestLogRollup rollup : rollups) {
+            long minutesAgo = ChronoUnit.MINUTES.between(rollup.getMinute(), lastClosedMinute);
+            if (minutesAgo < 0 || minutesAgo >= DAY_MINUTES) {
+                continue;
+            }
+            services.computeIfAbsent(rollup.getServiceName(), name -> new ServiceStats(config))
+                    .restoreMinute((int) minutesAgo, rollup.getRequests(), rollup.getErrors());
+        }
+        log.info("Restored {} request log rollups from the last 24 hours", rollups.size());
+    }
+
+    public record LatencySummary(long count, long p50, long p95, long p99, long max, double mean) {
+
+        static final LatencySummary EMPTY = new LatencySummary(0, 0, 0, 0, 0, 0);
+
+        static LatencySummary of(Histogram histogram) {
+            if (histogram.getTotalCount() == 0) {
+                return EMPTY;
+            }
+            return new LatencySummary(
+                    histogram.getTotalCount(),
+                    histogram.getValueAtPercentile(50),
+                    histogram.getValueAtPercentile(95),
+                    histogram.getValueAtPercentile(99),
+                    histogram.getMaxValue(),
+                    histogram.getMean());
+        }
+    }
+
+    private static final class ServiceStats {
+
+        // Written by request threads
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final ConcurrentHashMap<String, LongAdder> statusCounts = new ConcurrentHashMap<>();
+        private final Recorder recorder;
+        private final long highestTrackableLatency;
+
+        // Written only by the rollup thread
+        private final long[] requestsPerMinute = new long[DAY_MINUTES];
+        private final long[] errorsPerMinute = new long[DAY_MINUTES];
+        private final Map<String, Long> closedStatusCounts = new HashMap<>();
+        private final ArrayDeque<Histogram> window = new ArrayDeque<>();
+        private final Histogram windowHistogram;
+        private Histogram recycled;
+        private int slot;
+
+        // Read by the summary without locking
+        private volatile long closedRequests;
+        private volatile long closedErrors;
+        private volatile long requestsLastDay;
+        private volatile long errorsLastDay;
+        private volatile LatencySummary latency = LatencySummary.EMPTY;
+
+        ServiceStats(RequestLoggingConfig.Analytics config) {
+            this.highestTrackableLatency = config.getHighestTrackableLatency().toMillis();
+            this.recorder = new Recorder(highestTrackableLatency, config.getSignificantDigits());
+            this.windowHistogram = new Histogram(highestTrackableLatency, config.getSignificantDigits());
+        }
+
+        void record(String status, Long durationMillis) {
+            requests.increment();
+            if (ERROR_STATUS.equals(status)) {
+                errors.increment();
+            }
+            if (status != null) {
+                LongAdder counter = statusCounts.get(status);
+                if (counter == null) {
+                    counter = statusCounts.computeIfAbsent(status, key -> new LongAdder());
+                }
+                counter.increment();
+            }
+            if (durationMillis != null) {
+                recorder.recordValue(Math.min(Math.max(durationMillis, 0), highestTrackableLatency));
+            }
+        }
+
+        Map<String, Long> statusCounts() {
+            Map<String, Long> counts = new TreeMap<>();
+            statusCounts.forEach((status, counter) -> counts.put(status, counter.sum()));
+            return counts;
+        }
+
+        RequestLogRollup closeMinute(String serviceName, LocalDateTime minute, int windowMinutes) {
+            long totalRequests = requests.sum();
+            long totalErrors = errors.sum();
+            long minuteRequests = totalRequests - closedRequests;
+            long minuteErrors = totalErrors - closedErrors;
+
+            Map<String, Long> minuteStatusCounts = new TreeMap<>();
+            statusCounts.forEach((status, counter) -> {
+                long total = counter.sum();
+                long delta = total - closedStatusCounts.getOrDefault(status, 0L);
+                closedStatusCounts.put(status, total);
+                if (delta > 0) {
+                    minuteStatusCounts.put(status, delta);
+                }
+            });
+
+            Histogram interval = recorder.getIntervalHistogram(recycled);
+            recycled = interval;
+            window.addLast(interval.copy());
+            windowHistogram.add(interval);
+            if (window.size() > windowMinutes) {
+                windowHistogram.subtract(window.removeFirst());
+            }
+
+            slot = (slot + 1) % DAY_MINUTES;
+            long lastDayRequests = requestsLastDay - requestsPerMinute[slot] + minuteRequests;
+            long lastDayErrors = errorsLastDay - errorsPerMinute[slot] + minuteErrors;
+            requestsPerMinute[slot] = minuteRequests;
+            errorsPerMinute[slot] = minuteErrors;
+
+            // Closed counters go first: a concurrent reader may briefly undercount, but never double counts
+            closedRequests = totalRequests;
+            closedErrors = totalErrors;
+            requestsLastDay = lastDayRequests;
+            errorsLastDay = lastDayErrors;
+            latency = LatencySummary.of(windowHistogram);
+
+            LatencySummary minuteLatency = LatencySummary.of(interval);
+            return RequestLogRollup.builder()
+                    .serviceName(serviceName)
+                    .minute(minute)
+                    .requests(minuteRequests)
+                    .errors(minuteErrors)
+                    .statusCounts(minuteStatusCounts)
+                    .p50(minuteLatency.p50())
+                    .p95(minuteLatency.p95())
+                    .p99(minuteLatency.p99())
+                    .max(minuteLatency.max())
+                    .mean(minuteLatency.mean())
+                    .build();
+        }
+
+        void restoreMinute(int minutesAgo, long minuteRequests, long minuteErrors) {
+            int index = Math.floorMod(slot - minutesAgo, DAY_MINUTES);
+            requestsLastDay = requestsLastDay - requestsPerMinute[index] + minuteRequests;
+            errorsLastDay = errorsLastDay - errorsPerMinute[index] + minuteErrors;
+            requestsPerMinute[index] = minuteRequests;
+            errorsPerMinute[index] = minuteErrors;
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package notification.com.helperservice.feature.log.service;
+
+import lombok.extern.slf4j.Slf4j;
+import notification.com.helperservice.config.RequestLoggingConfig;
+import notification.com.helperservice.feature.log.entity.RequestLog;
+import notification.com.helperservice.feature.log.entity.RequestLogRollup;
+import org.bson.Document;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.CollectionOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Prepares the request log collections before the first write: creates {@code request_logs} as a
+ * time-series collection when configured, ensures the indexes declared on the entities (automatic
+ * index creation is off) and keeps the retention TTL index in line with {@code request-logging.storage}.
+ */
+@Component
+@Slf4j
+public class RequestLogCollectionInitializer {
+
+    static final String TTL_INDEX_NAME = "timestamp_ttl";
+    // Index left behind by the former @Indexed timestamp; same key as the TTL index, so it has to go
+    static final String LEGACY_TIMESTAMP_INDEX_NAME = "timestamp";
+    // Former @Indexed single-field indexes, now prefixes of service_timestamp and status_timestamp
+    static final List<String> LEGACY_INDEX_NAMES = List.of("serviceName", "status");
+
+    private final MongoTemplate mongoTemplate;
+    private final MongoMappingContext mappingContext;
+    private final RequestLoggingConfig.Storage config;
+    private final RequestLoggingConfig.Writer writerConfig;
+
+    public RequestLogCollectionInitializer(MongoTemplate mongoTemplate,
+                                           MongoMappingContext mappingContext,
+                                           RequestLoggingConfig requestLoggingConfig) {
+        this.mongoTemplate = mongoTemplate;
+        this.mappingContext = mappingContext;
+        this.config = requestLoggingConfig.getStorage();
+        this.writerConfig = requestLoggingConfig.getWriter();
+    }
+
+    /**
+     * Never throws: a failure is logged and the writer carries on, the next start will try again.
+     */
+    public void initialize() {
+        try {
+            boolean timeSeries = config.isTimeSeries() && timeSeriesSupported() && createTimeSeriesCollection();
+            ensureDeclaredIndexes(RequestLog.class);
+            ensureDeclaredIndexes(RequestLogRollup.class);
+            dropLegacyIndexes();
+            if (!timeSeries) {
+                ensureRetentionIndex();
+            }
+        } catch (Exception e) {
+            log.warn("Could not initialize request log collections: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Eager insert completes each log with a $set on non-meta fields, which time-series collections
+     * reject before MongoDB 7, so the two are not combined.
+     */
+    private boolean timeSeriesSupported() {
+        if (writerConfig.isEagerInsert()) {
+            log.warn("Ignoring request-logging.storage.time-series: writer.eager-insert updates logs in place, "
+                    + "which time-series collections do not support");
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Returns true if request_logs is a time-series collection created by this call, in which case
+     * retention is the collection's own expireAfterSeconds rather than a TTL index.
+     */
+    private boolean createTimeSeriesCollection() {
+        if (mongoTemplate.collectionExists(RequestLog.class)) {
+            log.info("request_logs already exists, time-series mode only applies to a new collection");
+            return false;
+        }
+
+        CollectionOptions.TimeSeriesOptions options = CollectionOptions.TimeSeriesOptions.timeSeries("timestamp")
+                .metaField("serviceName")
+                .granularity(config.getTimeSeriesGranularity());
+        if (hasRetention()) {
+            options = options.expireAfter(config.getRetention());
+        }
+        mongoTemplate.createCollection(RequestLog.class, CollectionOptions.empty().timeSeries(options));
+        log.info("Created request_logs as a time-series collection with retention {}", config.getRetention());
+        return true;
+    }
+
+    private void ensureDeclaredIndexes(Class<?> entityType) {
+        IndexOperations indexOps = mongoTemplate.indexOps(entityType);
+        IndexResolver.create(mappingContext).resolveIndexFor(entityType).forEach(indexOps::createIndex);
+    }
+
+    private void dropLegacyIndexes() {
+        IndexOperations indexOps = mongoTemplate.indexOps(RequestLog.class);
+        indexOps.getIndexInfo().stream()
+                .map(IndexInfo::getName)
+                .filter(LEGACY_INDEX_NAMES::contains)
+                .forEach(name -> {
+                    indexOps.dropIndex(name);
+                    log.info("Dropped legacy request log index {}", name);
+                });
+    }
+
+    private void ensureRetentionIndex() {
+        IndexOperations indexOps = mongoTemplate.indexOps(RequestLog.class);
+        List<IndexInfo> indexes = indexOps.getIndexInfo();
+        Optional<IndexInfo> existing = indexes.stream()
+                .filter(index -> TTL_INDEX_NAME.equals(index.getName()))
+                .findFirst();
+
+        if (!hasRetention()) {
+            existing.ifPresent(index -> {
+                indexOps.dropIndex(TTL_INDEX_NAME);
+                log.info("Request log retention disabled, dropped {}", TTL_INDEX_NAME);
+            });
+            return;
+        }
+
+        Duration retention = config.getRetention();
+        if (existing.isEmpty()) {
+            if (indexes.stream().anyMatch(index -> LEGACY_TIMESTAMP_INDEX_NAME.equals(index.getName()))) {
+                indexOps.dropIndex(LEGACY_TIMESTAMP_INDEX_NAME);
+            }
+            indexOps.createIndex(new Index().on("timestamp", Sort.Direction.ASC).named(TTL_INDEX_NAME).expire(retention));
+            return;
+        }
+
+        // createIndex rejects a changed expireAfterSeconds, collMod updates it in place
+        boolean unchanged = existing.get().getExpireAfter().map(retention::equals).orElse(false);
+        if (!unchanged) {
+            mongoTemplate.executeCommand(new Document("collMod", mongoTemplate.getCollectionName(RequestLog.class))
+                    .append("index", new Document("name", TTL_INDEX_NAME)
+                            .append("expireAfterSeconds", retention.toSeconds())));
+            log.info("Updated request log retention to {}", retention);
+        }
+    }
+
+    private boolean hasRetention() {
+        return config.getRetention() != null && !config.getRetention().isZero() && !config.getRetention().isNegative();
+    }
+}
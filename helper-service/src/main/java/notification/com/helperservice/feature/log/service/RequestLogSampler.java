@@ -0,0 +1,126 @@
+package notification.com.helperservice.feature.log.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import notification.com.helperservice.config.RequestLoggingConfig;
+import notification.com.helperservice.feature.log.entity.RequestLog;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Decides which logs are persisted. Server and client errors, failures and slow requests are always
+ * kept (client errors can opt into sampling); everything else is kept with its status class rate,
+ * optionally overridden per service. Eager PENDING inserts are decided before the outcome is known,
+ * at the service's 2xx rate. Under write pressure an adaptive factor scales those rates down (halving
+ * on each pressured check, recovering gradually once the writer keeps up). The effective rate is stored
+ * on the log so totals can be extrapolated.
+ */
+@Component
+@Slf4j
+public class RequestLogSampler {
+
+    private static final double RECOVERY_STEP = 1.25;
+    private static final double BACKOFF_STEP = 0.5;
+
+    private final RequestLoggingConfig.Sampling config;
+    private final RequestLogWriter requestLogWriter;
+    private final Counter sampledOutCounter;
+
+    private volatile double factor = 1.0;
+
+    public RequestLogSampler(RequestLoggingConfig requestLoggingConfig,
+                             RequestLogWriter requestLogWriter,
+                             MeterRegistry meterRegistry) {
+        this.config = requestLoggingConfig.getSampling();
+        this.requestLogWriter = requestLogWriter;
+        this.sampledOutCounter = meterRegistry.counter("request.log.sampled.out");
+        Gauge.builder("request.log.sample.factor", this, RequestLogSampler::getFactor).register(meterRegistry);
+    }
+
+    /**
+     * Sets the log's sample rate and returns whether it should be persisted.
+     */
+    public boolean sample(RequestLog requestLog) {
+        return keep(requestLog, sampleRate(requestLog));
+    }
+
+    /**
+     * Same as {@link #sample} for a PENDING log, whose outcome is not known yet.
+     */
+    public boolean samplePending(RequestLog requestLog) {
+        return keep(requestLog, rateFor(requestLog.getServiceName(), "2xx"));
+    }
+
+    /**
+     * Whether the outcome is kept whatever the rates: server errors, failures, slow requests and,
+     * unless {@code sample-client-errors} is on, client errors.
+     */
+    public boolean isAlwaysKept(RequestLog requestLog) {
+        Integer status = requestLog.getResponseStatus();
+        if (status == null || status >= 500 || requestLog.getErrorMessage() != null) {
+            return true;
+        }
+        if (status >= 400 && !config.isSampleClientErrors()) {
+            return true;
+        }
+        return requestLog.getDuration() != null && requestLog.getDuration() >= config.getSlowThreshold().toMillis();
+    }
+
+    private boolean keep(RequestLog requestLog, double rate) {
+        if (rate < 1.0 && ThreadLocalRandom.current().nextDouble() >= rate) {
+            sampledOutCounter.increment();
+            return false;
+        }
+        requestLog.setSampleRate(rate);
+        return true;
+    }
+
+    public double getFactor() {
+        return factor;
+    }
+
+    @Scheduled(fixedDelayString = "${request-logging.sampling.adaptive.adjust-interval:1s}")
+    public void adjust() {
+        RequestLoggingConfig.Adaptive adaptive = config.getAdaptive();
+        if (!adaptive.isEnabled()) {
+            factor = 1.0;
+            return;
+        }
+
+        int depth = requestLogWriter.getQueueDepth();
+        boolean queueBackedUp = depth > adaptive.getQueueFillThreshold() * requestLogWriter.getQueueCapacity();
+        // Slow writes only count while work is waiting; an idle writer has nothing to fall behind on
+        boolean writesSlow = depth > 0
+                && requestLogWriter.getRecentWriteMillis() > adaptive.getWriteLatencyThreshold().toMillis();
+
+        double previous = factor;
+        factor = queueBackedUp || writesSlow
+                ? Math.max(adaptive.getMinFactor(), previous * BACKOFF_STEP)
+                : Math.min(1.0, previous * RECOVERY_STEP);
+        if (factor != previous && (factor == 1.0 || previous == 1.0)) {
+            log.info("Request log sampling factor changed from {} to {} (queue depth {}, write latency {} ms)",
+                    previous, factor, depth, Math.round(requestLogWriter.getRecentWriteMillis()));
+        }
+    }
+
+    double sampleRate(RequestLog requestLog) {
+        if (isAlwaysKept(requestLog)) {
+            return 1.0;
+        }
+        return rateFor(requestLog.getServiceName(), (requestLog.getResponseStatus() / 100) + "xx");
+    }
+
+    private double rateFor(String serviceName, String statusClass) {
+        Map<String, Double> serviceRates = config.getServices().get(serviceName);
+        Double rate = serviceRates != null ? serviceRates.get(statusClass) : null;
+        if (rate == null) {
+            rate = config.getRates().getOrDefault(statusClass, 1.0);
+        }
+        return Math.max(0.0, Math.min(1.0, rate * factor));
+    }
+}
@@ -1,5 +1,9 @@
 package notification.com.helperservice.feature.log.service;
 
+import notification.com.helperservice.config.RequestLoggingConfig;
+import notification.com.helperservice.feature.log.dto.RequestLogCursor;
+import notification.com.helperservice.feature.log.dto.RequestLogFilter;
+import notification.com.helperservice.feature.log.dto.RequestLogPage;
 import notification.com.helperservice.feature.log.entity.RequestLog;
 import notification.com.helperservice.feature.log.repository.RequestLogRepository;
 import lombok.RequiredArgsConstructor;
@@ -11,6 +15,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -18,6 +23,10 @@ import java.util.UUID;
 public class RequestLogService {
 
     private final RequestLogRepository requestLogRepository;
+    private final RequestLogWriter requestLogWriter;
+    private final RequestLogAnalytics requestLogAnalytics;
+    private final RequestLogSampler requestLogSampler;
+    private final RequestLoggingConfig requestLoggingConfig;
 
     public RequestLog createRequestLog(String serviceName, String method, String endpoint,
                                      String requestUrl, Map<String, String> headers,
@@ -36,41 +45,79 @@ public class RequestLogService {
                 .status("PENDING")
                 .build();
 
-        return requestLogRepository.save(requestLog);
+        if (requestLoggingConfig.getWriter().isEagerInsert() && requestLogSampler.samplePending(requestLog)) {
+            // A copy, so the writer never serializes the log while the request thread completes it
+            requestLogWriter.submit(requestLog.toBuilder().build());
+        }
+        return requestLog;
+    }
+
+    public void completeResponseLog(RequestLog requestLog, Integer responseStatus,
+                                    Map<String, String> responseHeaders, String responseBody,
+                                    Long duration, String status) {
+        requestLog.setResponseStatus(responseStatus);
+        requestLog.setResponseHeaders(responseHeaders);
+        requestLog.setResponseBody(responseBody);
+        requestLog.setDuration(duration);
+        requestLog.setStatus(status);
+        requestLogAnalytics.record(requestLog);
+        persistCompleted(requestLog);
     }
 
-    public void updateResponseLog(String requestId, Integer responseStatus,
-                                Map<String, String> responseHeaders, String responseBody,
-                                Long duration, String status) {
-        Optional<RequestLog> optionalLog = requestLogRepository.findByRequestId(requestId);
-        if (optionalLog.isPresent()) {
-            RequestLog log = optionalLog.get();
-            log.setResponseStatus(responseStatus);
-            log.setResponseHeaders(responseHeaders);
-            log.setResponseBody(responseBody);
-            log.setDuration(duration);
-            log.setStatus(status);
-            requestLogRepository.save(log);
-        } else {
-            log.warn("Request log not found for requestId: {}", requestId);
+    public void completeErrorLog(RequestLog requestLog, String errorMessage, Long duration) {
+        requestLog.setErrorMessage(errorMessage);
+        requestLog.setDuration(duration);
+        requestLog.setStatus("ERROR");
+        requestLogAnalytics.record(requestLog);
+        persistCompleted(requestLog);
+    }
+
+    private void persistCompleted(RequestLog requestLog) {
+        if (!requestLoggingConfig.getWriter().isEagerInsert()) {
+            if (requestLogSampler.sample(requestLog)) {
+                requestLogWriter.submit(requestLog);
+            }
+            return;
+        }
+
+        boolean alwaysKept = requestLogSampler.isAlwaysKept(requestLog);
+        // The sampler sets a rate only on kept logs, so a rate means the PENDING document was inserted
+        if (requestLog.getSampleRate() != null) {
+            if (alwaysKept) {
+                // Kept logs of this outcome stand for themselves alone, like those inserted below
+                requestLog.setSampleRate(1.0);
+            }
+            requestLogWriter.submitCompletion(requestLog);
+        } else if (alwaysKept) {
+            // Sampled out at the start, but errors and slow requests are always kept: insert it complete
+            requestLog.setSampleRate(1.0);
+            requestLogWriter.submit(requestLog);
         }
     }
 
-    public void updateErrorLog(String requestId, String errorMessage, Long duration) {
-        Optional<RequestLog> optionalLog = requestLogRepository.findByRequestId(requestId);
-        if (optionalLog.isPresent()) {
-            RequestLog log = optionalLog.get();
-            log.setErrorMessage(errorMessage);
-            log.setDuration(duration);
-            log.setStatus("ERROR");
-            requestLogRepository.save(log);
-        } else {
-            log.warn("Request log not found for requestId: {}", requestId);
+    /**
+     * Loads one page of logs, newest first. Fetches one extra document to learn whether another page follows.
+     */
+    public RequestLogPage getLogPage(RequestLogFilter filter, RequestLogCursor after, int limit, boolean includeHeaders) {
+        List<RequestLog> logs = requestLogRepository.findPage(filter, after, limit + 1, includeHeaders);
+
+        boolean hasMore = logs.size() > limit;
+        if (hasMore) {
+            logs = logs.subList(0, limit);
+        }
+        String nextCursor = null;
+        if (hasMore) {
+            RequestLog last = logs.get(logs.size() - 1);
+            nextCursor = new RequestLogCursor(last.getTimestamp(), last.getId()).encode();
         }
+        return new RequestLogPage(logs, nextCursor, hasMore);
     }
 
-    public List<RequestLog> getLogsByService(String serviceName) {
-        return requestLogRepository.findByServiceName(serviceName);
+    /**
+     * Streams matching logs from an open Mongo cursor; {@code limit <= 0} means no limit. Close the stream when done.
+     */
+    public Stream<RequestLog> streamLogs(RequestLogFilter filter, RequestLogCursor after, int limit, boolean includeHeaders) {
+        return requestLogRepository.stream(filter, after, limit, includeHeaders);
     }
 
     public List<RequestLog> getLogsByDateRange(LocalDateTime start, LocalDateTime end) {
@@ -81,10 +128,6 @@ public class RequestLogService {
         return requestLogRepository.findByServiceNameAndTimestampBetween(serviceName, start, end);
     }
 
-    public List<RequestLog> getErrorLogs() {
-        return requestLogRepository.findByStatus("ERROR");
-    }
-
     public List<RequestLog> getErrorLogsSince(LocalDateTime since) {
         return requestLogRepository.findErrorsSince(since);
     }
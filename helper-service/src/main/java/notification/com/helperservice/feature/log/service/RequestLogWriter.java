@@ -0,0 +1,266 @@
+package notification.com.helperservice.feature.log.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import notification.com.helperservice.config.RequestLoggingConfig;
+import notification.com.helperservice.feature.log.entity.RequestLog;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Moves request log persistence off the request thread. Completed logs are handed to a bounded
+ * queue and a single background thread writes them to Mongo in unordered bulk inserts, flushing
+ * whenever a batch fills up or the flush interval elapses. When the queue is full the configured
+ * overflow policy decides whether the new log, the oldest queued log or the caller gives way.
+ * Completions of eagerly inserted logs travel through the same queue as targeted {@code $set}
+ * updates. Each batch is written as two unordered bulks, inserts first, so a completion is always
+ * applied after the insert it refers to, and one failed document never holds back the rest.
+ */
+@Component
+@Slf4j
+public class RequestLogWriter {
+
+    private final MongoTemplate mongoTemplate;
+    private final RequestLogCollectionInitializer collectionInitializer;
+    private final RequestLoggingConfig.Writer config;
+    private final ArrayBlockingQueue<PendingWrite> queue;
+
+    private final Counter enqueuedCounter;
+    private final Counter droppedCounter;
+    private final Counter writtenCounter;
+    private final Counter failedCounter;
+    private final Timer writeTimer;
+
+    // Exponentially weighted average of bulk write latency, read by the sampler
+    private volatile double recentWriteMillis;
+    private volatile boolean running;
+    private Thread worker;
+
+    public RequestLogWriter(MongoTemplate mongoTemplate,
+                            RequestLogCollectionInitializer collectionInitializer,
+                            RequestLoggingConfig requestLoggingConfig,
+                            MeterRegistry meterRegistry) {
+        this.mongoTemplate = mongoTemplate;
+        this.collectionInitializer = collectionInitializer;
+        this.config = requestLoggingConfig.getWriter();
+        this.queue = new ArrayBlockingQueue<>(config.getQueueCapacity());
+
+        this.enqueuedCounter = meterRegistry.counter("request.log.enqueued");
+        this.droppedCounter = Counter.builder("request.log.dropped")
+                .tag("policy", config.getOverflowPolicy().name())
+                .register(meterRegistry);
+        this.writtenCounter = meterRegistry.counter("request.log.written");
+        this.failedCounter = meterRegistry.counter("request.log.write.failures");
+        this.writeTimer = meterRegistry.timer("request.log.write.latency");
+        Gauge.builder("request.log.queue.depth", queue, ArrayBlockingQueue::size)
+                .register(meterRegistry);
+        Gauge.builder("request.log.queue.remaining", queue, ArrayBlockingQueue::remainingCapacity)
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        worker = new Thread(this::drainLoop, "request-log-writer");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        worker.join(config.getShutdownTimeout().toMillis());
+        if (!queue.isEmpty()) {
+            log.warn("Request log writer stopped with {} logs still queued", queue.size());
+        }
+    }
+
+    /**
+     * Queues a log to be inserted. Never performs I/O; returns false if the log was dropped.
+     */
+    public boolean submit(RequestLog requestLog) {
+        return enqueue(new PendingWrite(requestLog, false));
+    }
+
+    /**
+     * Queues a {@code $set} of the outcome fields onto the already inserted log with the same requestId.
+     */
+    public boolean submitCompletion(RequestLog requestLog) {
+        return enqueue(new PendingWrite(requestLog, true));
+    }
+
+    // The fields written when a request completes; null fields are left untouched
+    private static Update completionUpdate(RequestLog requestLog) {
+        Update update = new Update();
+        setIfPresent(update, "responseStatus", requestLog.getResponseStatus());
+        setIfPresent(update, "responseHeaders", requestLog.getResponseHeaders());
+        setIfPresent(update, "requestBody", requestLog.getRequestBody());
+        setIfPresent(update, "requestBodyTruncated", requestLog.getRequestBodyTruncated());
+        setIfPresent(update, "responseBody", requestLog.getResponseBody());
+        setIfPresent(update, "responseBodyTruncated", requestLog.getResponseBodyTruncated());
+        setIfPresent(update, "duration", requestLog.getDuration());
+        setIfPresent(update, "status", requestLog.getStatus());
+        setIfPresent(update, "errorMessage", requestLog.getErrorMessage());
+        setIfPresent(update, "sampleRate", requestLog.getSampleRate());
+        return update;
+    }
+
+    private static Query byRequestId(String requestId) {
+        return Query.query(Criteria.where("requestId").is(requestId));
+    }
+
+    private static void setIfPresent(Update update, String field, Object value) {
+        if (value != null) {
+            update.set(field, value);
+        }
+    }
+
+    private boolean enqueue(PendingWrite write) {
+        boolean accepted = switch (config.getOverflowPolicy()) {
+            case DROP_NEWEST -> queue.offer(write);
+            case DROP_OLDEST -> offerEvictingOldest(write);
+            case BLOCK -> offerWithTimeout(write);
+        };
+
+        if (accepted) {
+            enqueuedCounter.increment();
+        } else {
+            droppedCounter.increment();
+        }
+        return accepted;
+    }
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    public int getQueueCapacity() {
+        return config.getQueueCapacity();
+    }
+
+    public long getDroppedCount() {
+        return (long) droppedCounter.count();
+    }
+
+    public double getRecentWriteMillis() {
+        return recentWriteMillis;
+    }
+
+    private boolean offerEvictingOldest(PendingWrite write) {
+        while (!queue.offer(write)) {
+            if (queue.poll() != null) {
+                droppedCounter.increment();
+            }
+        }
+        return true;
+    }
+
+    private boolean offerWithTimeout(PendingWrite write) {
+        try {
+            return queue.offer(write, config.getOfferTimeout().toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void drainLoop() {
+        // Runs here rather than at startup so a slow or absent Mongo never delays the application
+        collectionInitializer.initialize();
+
+        int batchSize = config.getBatchSize();
+        long flushIntervalNanos = config.getFlushInterval().toNanos();
+        List<PendingWrite> batch = new ArrayList<>(batchSize);
+
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingWrite first = queue.poll(flushIntervalNanos, TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+
+                long deadline = System.nanoTime() + flushIntervalNanos;
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0 || !running) {
+                        break;
+                    }
+                    PendingWrite next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next != null) {
+                        batch.add(next);
+                    }
+                }
+            } catch (InterruptedException e) {
+                // Not expected: stop() lets the poll time out so an in-flight bulk write is never interrupted
+                queue.drainTo(batch, batchSize - batch.size());
+            }
+
+            if (!batch.isEmpty()) {
+                write(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<PendingWrite> batch) {
+        long start = System.nanoTime();
+        try {
+            // An update targets a log inserted by an earlier batch or by this batch's insert bulk
+            execute(batch.stream().filter(write -> !write.update()).toList());
+            execute(batch.stream().filter(PendingWrite::update).toList());
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            writeTimer.record(elapsed, TimeUnit.NANOSECONDS);
+            recentWriteMillis = 0.8 * recentWriteMillis + 0.2 * (elapsed / 1_000_000.0);
+        }
+    }
+
+    private void execute(List<PendingWrite> writes) {
+        if (writes.isEmpty()) {
+            return;
+        }
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, RequestLog.class);
+        for (PendingWrite write : writes) {
+            if (write.update()) {
+                bulk.updateOne(byRequestId(write.requestLog().getRequestId()), completionUpdate(write.requestLog()));
+            } else {
+                bulk.insert(write.requestLog());
+            }
+        }
+
+        try {
+            bulk.execute();
+            writtenCounter.increment(writes.size());
+        } catch (BulkOperationException e) {
+            // Unordered, so every operation without an error was applied
+            int failed = e.getErrors().size();
+            writtenCounter.increment(writes.size() - failed);
+            failedCounter.increment(failed);
+            log.error("Failed to write {} of {} request logs, first error: {}",
+                    failed, writes.size(), e.getErrors().isEmpty() ? e.getMessage() : e.getErrors().get(0).getMessage());
+        } catch (Exception e) {
+            failedCounter.increment(writes.size());
+            log.error("Failed to write {} request logs: {}", writes.size(), e.getMessage());
+        }
+    }
+
+    private record PendingWrite(RequestLog requestLog, boolean update) {
+    }
+}
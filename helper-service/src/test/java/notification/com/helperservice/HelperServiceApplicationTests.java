@@ -1,13 +1,30 @@
 package notification.com.helperservice;
 
+import notification.com.helperservice.config.ServiceConfig;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 
+import static org.assertj.core.api.Assertions.assertThat;
+
 @SpringBootTest
 class HelperServiceApplicationTests {
 
+    @Autowired
+    private ServiceConfig serviceConfig;
+
     @Test
     void contextLoads() {
     }
 
+    @Test
+    void mergesSharedEnrichmentHeadersIntoTargets() {
+        ServiceConfig.ServiceInfo productService = serviceConfig.getServiceInfo("product-service");
+
+        assertThat(productService.getUrl()).isEqualTo("http://product-service");
+        assertThat(productService.getEnrichmentHeaders())
+                .containsEntry("X-Service-Category", "catalog")
+                .containsEntry("X-Cache-Strategy", "aggressive");
+    }
+
 }
@@ -0,0 +1,144 @@
+package notification.com.helperservice.config;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ServiceResilienceRegistryTest {
+
+    private static final String SERVICE = "product-service";
+
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+    private BulkheadRegistry bulkheadRegistry;
+    private ServiceConfig serviceConfig;
+    private ServiceResilienceRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        circuitBreakerRegistry = CircuitBreakerRegistry.ofDefaults();
+        bulkheadRegistry = BulkheadRegistry.ofDefaults();
+        serviceConfig = new ServiceConfig();
+        ServiceConfig.ServiceInfo serviceInfo = new ServiceConfig.ServiceInfo();
+        serviceInfo.getBulkhead().setMaxConcurrentCalls(1);
+        serviceInfo.getCircuitBreaker().setMinimumNumberOfCalls(1);
+        serviceInfo.getCircuitBreaker().setSlidingWindowSize(1);
+        serviceConfig.getTargets().put(SERVICE, serviceInfo);
+        registry = new ServiceResilienceRegistry(circuitBreakerRegistry, bulkheadRegistry, serviceConfig);
+        registry.init();
+    }
+
+    @Test
+    void holdsBulkheadPermitUntilBodyCompletes() {
+        Sinks.Many<DataBuffer> body = Sinks.many().unicast().onBackpressureBuffer();
+        ResponseEntity<Flux<DataBuffer>> response = registry.decorate(SERVICE, respond(HttpStatus.OK, body.asFlux())).block();
+
+        assertThat(bulkhead().getMetrics().getAvailableConcurrentCalls()).isZero();
+        StepVerifier.create(registry.decorate(SERVICE, respond(HttpStatus.OK, Flux.empty())))
+                .expectError(BulkheadFullException.class)
+                .verify();
+
+        StepVerifier.create(response.getBody())
+                .then(() -> body.tryEmitNext(buffer("chunk")))
+                .expectNextCount(1)
+                .then(() -> assertThat(bulkhead().getMetrics().getAvailableConcurrentCalls()).isZero())
+                .then(body::tryEmitComplete)
+                .verifyComplete();
+
+        assertThat(bulkhead().getMetrics().getAvailableConcurrentCalls()).isEqualTo(1);
+        assertThat(circuitBreaker().getMetrics().getNumberOfSuccessfulCalls()).isEqualTo(1);
+    }
+
+    @Test
+    void recordsBodyFailureAgainstBreaker() {
+        ResponseEntity<Flux<DataBuffer>> response = registry.decorate(SERVICE,
+                respond(HttpStatus.OK, Flux.concat(Flux.just(buffer("partial")), Flux.error(new TimeoutException())))).block();
+
+        StepVerifier.create(response.getBody())
+                .expectNextCount(1)
+                .expectError(TimeoutException.class)
+                .verify();
+
+        assertThat(circuitBreaker().getMetrics().getNumberOfFailedCalls()).isEqualTo(1);
+        assertThat(circuitBreaker().getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(bulkhead().getMetrics().getAvailableConcurrentCalls()).isEqualTo(1);
+    }
+
+    @Test
+    void recordsServerErrorResponseOnceBodyEnds() {
+        ResponseEntity<Flux<DataBuffer>> response = registry.decorate(SERVICE,
+                respond(HttpStatus.BAD_GATEWAY, Flux.just(buffer("{}")))).block();
+
+        assertThat(circuitBreaker().getMetrics().getNumberOfBufferedCalls()).isZero();
+        StepVerifier.create(response.getBody()).expectNextCount(1).verifyComplete();
+
+        assertThat(circuitBreaker().getMetrics().getNumberOfFailedCalls()).isEqualTo(1);
+    }
+
+    @Test
+    void cancelledBodyReleasesPermitsWithoutRecordingOutcome() {
+        ResponseEntity<Flux<DataBuffer>> response = registry.decorate(SERVICE,
+                respond(HttpStatus.OK, Flux.just(buffer("a"), buffer("b")))).block();
+
+        StepVerifier.create(response.getBody(), 1)
+                .expectNextCount(1)
+                .thenCancel()
+                .verify();
+
+        assertThat(circuitBreaker().getMetrics().getNumberOfBufferedCalls()).isZero();
+        assertThat(bulkhead().getMetrics().getAvailableConcurrentCalls()).isEqualTo(1);
+    }
+
+    @Test
+    void recordsFailureBeforeHeaders() {
+        StepVerifier.create(registry.decorate(SERVICE, Mono.error(new TimeoutException())))
+                .expectError(TimeoutException.class)
+                .verify();
+
+        assertThat(circuitBreaker().getMetrics().getNumberOfFailedCalls()).isEqualTo(1);
+        assertThat(bulkhead().getMetrics().getAvailableConcurrentCalls()).isEqualTo(1);
+    }
+
+    @Test
+    void removesTargetsDroppedOnRefresh() {
+        serviceConfig.getTargets().clear();
+
+        registry.onRefresh();
+
+        assertThat(circuitBreakerRegistry.find(SERVICE)).isEmpty();
+        assertThat(bulkheadRegistry.find(SERVICE)).isEmpty();
+    }
+
+    private Mono<ResponseEntity<Flux<DataBuffer>>> respond(HttpStatus status, Flux<DataBuffer> body) {
+        return Mono.delay(Duration.ofMillis(1)).map(tick -> ResponseEntity.status(status).body(body));
+    }
+
+    private DataBuffer buffer(String content) {
+        return DefaultDataBufferFactory.sharedInstance.wrap(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Bulkhead bulkhead() {
+        return bulkheadRegistry.bulkhead(SERVICE);
+    }
+
+    private CircuitBreaker circuitBreaker() {
+        return circuitBreakerRegistry.circuitBreaker(SERVICE);
+    }
+}
@@ -0,0 +1,142 @@
+package notification.com.helperservice.feature.header.controller;
+
+import io.netty.handler.codec.http.HttpResponseStatus;
+import notification.com.helperservice.config.ServiceConfig;
+import notification.com.helperservice.config.ServiceResilienceRegistry;
+import notification.com.helperservice.config.ServiceWebClientRegistry;
+import notification.com.helperservice.feature.header.service.HeaderService;
+import notification.com.helperservice.feature.header.service.ProxyService;
+import notification.com.helperservice.feature.header.service.RequestHedger;
+import notification.com.helperservice.feature.header.service.RetryBudget;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.data.mongo.MongoDataAutoConfiguration;
+import org.springframework.boot.autoconfigure.mongo.MongoAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Holds {@code proxy.load.requests} proxied requests in flight at once against a downstream that does
+ * not answer until all of them have arrived, then lets them finish. The MVC proxy parks no thread on an
+ * in-flight request, so the thread count must stay flat however many are held; the ceiling is the
+ * configured connection, pool and bulkhead limits, and the process's file descriptors (each request
+ * held here costs four: client, Tomcat, pooled downstream connection and the stub's end of it).
+ * <p>
+ * Not part of {@code test}; run with {@code gradle loadTest [-Pproxy.load.requests=20000]}.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "eureka.client.enabled=false",
+        "spring.cloud.discovery.enabled=false"
+})
+class ProxyConcurrencyLoadTest {
+
+    private static final int REQUESTS = Integer.getInteger("proxy.load.requests", 4_000);
+
+    private static final AtomicInteger ARRIVED = new AtomicInteger();
+    private static final Sinks.Empty<Void> RELEASE = Sinks.empty();
+    private static final DisposableServer DOWNSTREAM = HttpServer.create()
+            .host("localhost")
+            .port(0)
+            .handle((request, response) -> {
+                ARRIVED.incrementAndGet();
+                return RELEASE.asMono().then(response.status(HttpResponseStatus.OK)
+                        .header("Content-Type", "application/json")
+                        .sendString(Mono.just("{\"ok\":true}"))
+                        .then());
+            })
+            .bindNow();
+
+    @LocalServerPort
+    private int port;
+
+    @DynamicPropertySource
+    static void limits(DynamicPropertyRegistry registry) {
+        registry.add("server.tomcat.max-connections", () -> REQUESTS + 100);
+        registry.add("server.tomcat.accept-count", () -> REQUESTS);
+        registry.add("services.targets.load.url", () -> "http://localhost:" + DOWNSTREAM.port());
+        registry.add("services.targets.load.base-path", () -> "/api");
+        registry.add("services.targets.load.timeout", () -> 120);
+        registry.add("services.targets.load.pool.max-connections", () -> REQUESTS);
+        registry.add("services.targets.load.pool.pending-acquire-max-count", () -> REQUESTS);
+        registry.add("services.targets.load.pool.pending-acquire-timeout", () -> "60s");
+        registry.add("services.targets.load.bulkhead.max-concurrent-calls", () -> REQUESTS);
+    }
+
+    @AfterAll
+    static void stopDownstream() {
+        DOWNSTREAM.disposeNow();
+    }
+
+    @Test
+    void holdsRequestsInFlightWithoutAThreadEach() {
+        int threadsBefore = ManagementFactory.getThreadMXBean().getThreadCount();
+        ConnectionProvider connections = ConnectionProvider.builder("load-client")
+                .maxConnections(REQUESTS)
+                .pendingAcquireMaxCount(-1)
+                .build();
+        HttpClient client = HttpClient.create(connections).baseUrl("http://localhost:" + port);
+
+        long start = System.nanoTime();
+        Mono<List<Integer>> statuses = Flux.range(0, REQUESTS)
+                .flatMap(i -> client.get()
+                        .uri("/api/v1/proxy/load/items/" + i)
+                        .responseSingle((response, body) -> body.then(Mono.just(response.status().code()))), REQUESTS)
+                .collectList()
+                .cache();
+        statuses.subscribe();
+
+        while (ARRIVED.get() < REQUESTS && System.nanoTime() - start < Duration.ofMinutes(2).toNanos()) {
+            sleep();
+        }
+        Duration allInFlight = Duration.ofNanos(System.nanoTime() - start);
+        int threadsInFlight = ManagementFactory.getThreadMXBean().getThreadCount();
+        RELEASE.tryEmitEmpty();
+        List<Integer> results = statuses.block(Duration.ofMinutes(2));
+        Duration total = Duration.ofNanos(System.nanoTime() - start);
+        connections.disposeLater().block();
+
+        System.out.printf("proxy load: %d in flight after %d ms, all done in %d ms, threads %d -> %d%n",
+                ARRIVED.get(), allInFlight.toMillis(), total.toMillis(), threadsBefore, threadsInFlight);
+        assertThat(ARRIVED.get()).isEqualTo(REQUESTS);
+        assertThat(results).hasSize(REQUESTS).containsOnly(200);
+        // Tomcat's worker pool and the relay's write threads are bounded; nothing grows with REQUESTS
+        assertThat(threadsInFlight - threadsBefore).isLessThan(400);
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(50);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @SpringBootConfiguration
+    @EnableAutoConfiguration(exclude = {MongoAutoConfiguration.class, MongoDataAutoConfiguration.class})
+    @Import({ProxyController.class, HeaderService.class, ProxyService.class, ServiceConfig.class,
+            ServiceWebClientRegistry.class, ServiceResilienceRegistry.class, RequestHedger.class, RetryBudget.class})
+    static class ProxyOnly {
+    }
+}
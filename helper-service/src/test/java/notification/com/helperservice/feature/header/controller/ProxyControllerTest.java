@@ -0,0 +1,119 @@
+package notification.com.helperservice.feature.header.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import notification.com.helperservice.config.ServiceConfig;
+import notification.com.helperservice.feature.header.service.HeaderService;
+import notification.com.helperservice.feature.header.service.ProxyService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doCallRealMethod;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class ProxyControllerTest {
+
+    private static final String SERVICE = "product-service";
+
+    private ProxyService proxyService;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        ServiceConfig serviceConfig = new ServiceConfig();
+        ServiceConfig.ServiceInfo serviceInfo = new ServiceConfig.ServiceInfo();
+        serviceInfo.setUrl("http://product-service");
+        serviceInfo.setBasePath("/api/v1");
+        serviceConfig.getTargets().put(SERVICE, serviceInfo);
+
+        proxyService = mock(ProxyService.class);
+        doCallRealMethod().when(proxyService).copyResponseHeaders(any(), any());
+        ProxyController controller = new ProxyController(
+                new HeaderService(serviceConfig, "helper-service"), proxyService, serviceConfig, new ObjectMapper());
+        mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+    }
+
+    @Test
+    void relaysDownstreamStatusHeadersAndBodyChunks() throws Exception {
+        respondWith(Mono.just(ResponseEntity.status(HttpStatus.CREATED)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .header("X-Cache-Strategy", "aggressive")
+                .body(Flux.just(buffer("{\"id\":"), buffer("42}"))
+                        .delayElements(Duration.ofMillis(10)))));
+
+        MvcResult result = perform();
+
+        assertThat(result.getResponse().getStatus()).isEqualTo(HttpStatus.CREATED.value());
+        assertThat(result.getResponse().getContentType()).isEqualTo(MediaType.APPLICATION_JSON_VALUE);
+        assertThat(result.getResponse().getHeader("X-Cache-Strategy")).isEqualTo("aggressive");
+        assertThat(result.getResponse().getContentAsString()).isEqualTo("{\"id\":42}");
+    }
+
+    @Test
+    void abortsResponseWhenBodyStalls() throws Exception {
+        respondWith(Mono.just(ResponseEntity.ok()
+                .body(Flux.concat(Flux.just(buffer("partial")), Flux.error(new TimeoutException())))));
+
+        MvcResult result = perform();
+
+        assertThat(result.getResponse().getContentAsString()).isEqualTo("partial");
+        assertThat(result.getAsyncResult()).isInstanceOf(TimeoutException.class);
+    }
+
+    @Test
+    void mapsFailureBeforeHeadersToBadGateway() throws Exception {
+        respondWith(Mono.error(new TimeoutException()));
+
+        mockMvc.perform(asyncDispatch(start()))
+                .andExpect(status().isBadGateway())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(jsonPath("$.error").value("Proxy request failed to " + SERVICE))
+                .andExpect(jsonPath("$.correlationId").value("corr-1"));
+    }
+
+    private void respondWith(Mono<ResponseEntity<Flux<DataBuffer>>> response) {
+        when(proxyService.forward(eq(SERVICE), eq(HttpMethod.GET), any(), any(), any(), any())).thenReturn(response);
+    }
+
+    private MvcResult perform() throws Exception {
+        MvcResult dispatched = mockMvc.perform(asyncDispatch(start())).andReturn();
+        dispatched.getAsyncResult(5_000);
+        return dispatched;
+    }
+
+    private MvcResult start() throws Exception {
+        return mockMvc.perform(get("/api/v1/proxy/{serviceName}/products", SERVICE)
+                        .header("X-Correlation-ID", "corr-1"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+    }
+
+    private DataBuffer buffer(String content) {
+        return DefaultDataBufferFactory.sharedInstance.wrap(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,100 @@
+package notification.com.helperservice.feature.header.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import notification.com.helperservice.config.ServiceConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.client.loadbalancer.reactive.ReactiveLoadBalancer;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.net.ConnectException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RequestHedgerTest {
+
+    private static final String SERVICE = "product-service";
+    private static final String TARGET_URL = "http://product-service/api/v1/products";
+
+    private ServiceConfig serviceConfig;
+    private RetryBudget retryBudget;
+    private RequestHedger hedger;
+
+    @BeforeEach
+    void setUp() {
+        serviceConfig = new ServiceConfig();
+        ServiceConfig.ServiceInfo serviceInfo = new ServiceConfig.ServiceInfo();
+        serviceInfo.getHedging().setEnabled(true);
+        serviceInfo.getHedging().setMinSamples(1);
+        serviceInfo.getHedging().setMinDelay(Duration.ofMillis(50));
+        serviceInfo.getHedging().setMaxDelay(Duration.ofMillis(50));
+        serviceConfig.getTargets().put(SERVICE, serviceInfo);
+
+        // Alternates between two instances, so the hedge always finds one other than the primary's
+        AtomicInteger draws = new AtomicInteger();
+        ReactiveLoadBalancer<ServiceInstance> loadBalancer = mock(ReactiveLoadBalancer.class);
+        when(loadBalancer.choose()).thenAnswer(invocation -> Mono.<Response<ServiceInstance>>fromSupplier(() ->
+                new DefaultResponse(new DefaultServiceInstance(null, SERVICE, "host-" + draws.getAndIncrement() % 2, 8080, false))));
+        ReactiveLoadBalancer.Factory<ServiceInstance> factory = mock(ReactiveLoadBalancer.Factory.class);
+        when(factory.getInstance(any())).thenReturn(loadBalancer);
+
+        retryBudget = new RetryBudget(serviceConfig, new SimpleMeterRegistry());
+        hedger = new RequestHedger(serviceConfig, factory, retryBudget, new SimpleMeterRegistry());
+
+        // One sample is enough for a p95, which the delay bounds clamp to 50ms
+        hedger.hedge(SERVICE, TARGET_URL, url -> Mono.just("warm-up")).block();
+        hedger.refreshEstimates();
+    }
+
+    @Test
+    void hedgeStillAnswersAfterThePrimaryFails() {
+        fillBudget();
+
+        AtomicInteger attempts = new AtomicInteger();
+
+        StepVerifier.create(hedger.hedge(SERVICE, TARGET_URL, url -> attempts.getAndIncrement() == 0
+                        ? Mono.delay(Duration.ofMillis(100)).then(Mono.<String>error(new ConnectException("refused")))
+                        : Mono.delay(Duration.ofMillis(200)).thenReturn("hedge")))
+                .expectNext("hedge")
+                .verifyComplete();
+        assertThat(attempts).hasValue(2);
+    }
+
+    @Test
+    void reportsThePrimaryFailureWhenNoHedgeIsSent() {
+        StepVerifier.create(hedger.hedge(SERVICE, TARGET_URL, url ->
+                        Mono.delay(Duration.ofMillis(100)).then(Mono.<String>error(new ConnectException("refused")))))
+                .expectError(ConnectException.class)
+                .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void slowPrimaryStillWinsWhenTheHedgeFails() {
+        fillBudget();
+
+        AtomicInteger attempts = new AtomicInteger();
+
+        StepVerifier.create(hedger.hedge(SERVICE, TARGET_URL, url -> attempts.getAndIncrement() == 0
+                        ? Mono.delay(Duration.ofMillis(200)).thenReturn("primary")
+                        : Mono.error(new ConnectException("refused"))))
+                .expectNext("primary")
+                .verifyComplete();
+        assertThat(attempts).hasValue(2);
+    }
+
+    private void fillBudget() {
+        for (int i = 0; i < 10; i++) {
+            retryBudget.deposit();
+        }
+    }
+}
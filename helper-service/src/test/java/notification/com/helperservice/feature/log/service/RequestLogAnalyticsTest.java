@@ -0,0 +1,73 @@
+package notification.com.helperservice.feature.log.service;
+
+import notification.com.helperservice.config.RequestLoggingConfig;
+import notification.com.helperservice.feature.log.dto.RequestLogRollupTotals;
+import notification.com.helperservice.feature.log.entity.RequestLog;
+import notification.com.helperservice.feature.log.repository.RequestLogRepository;
+import notification.com.helperservice.feature.log.repository.RequestLogRollupRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RequestLogAnalyticsTest {
+
+    private RequestLogRepository requestLogRepository;
+    private RequestLogRollupRepository rollupRepository;
+    private RequestLogAnalytics analytics;
+
+    @BeforeEach
+    void setUp() {
+        requestLogRepository = mock(RequestLogRepository.class);
+        rollupRepository = mock(RequestLogRollupRepository.class);
+        analytics = new RequestLogAnalytics(requestLogRepository, rollupRepository, new RequestLoggingConfig());
+    }
+
+    @Test
+    void restoresOnlyWhatPrecedesTheLiveCounters() {
+        LocalDateTime firstMinute = LocalDateTime.now().truncatedTo(ChronoUnit.MINUTES).minusDays(2);
+        LocalDateTime lastMinute = firstMinute.plusDays(1);
+        when(rollupRepository.sumBetween(any(), any()))
+                .thenReturn(Optional.of(new RequestLogRollupTotals(1000, 10, firstMinute, lastMinute)));
+        when(requestLogRepository.countExtrapolated(isNull(), isNull(), eq(firstMinute))).thenReturn(200L);
+        when(requestLogRepository.countExtrapolated(isNull(), eq(lastMinute.plusMinutes(1)), any())).thenReturn(30L);
+        when(requestLogRepository.countExtrapolated(eq("ERROR"), any(), any())).thenReturn(1L);
+        // Recorded live, and already persisted by the time the baseline is read
+        analytics.record(RequestLog.builder().serviceName("product-service").status("SUCCESS").duration(5L).build());
+
+        analytics.restore();
+        verify(rollupRepository, timeout(5_000)).findByMinuteGreaterThanEqualAndMinuteLessThan(any(), any());
+
+        ArgumentCaptor<LocalDateTime> cutoff = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(requestLogRepository).countExtrapolated(isNull(), eq(lastMinute.plusMinutes(1)), cutoff.capture());
+        assertThat(cutoff.getValue()).isBefore(LocalDateTime.now());
+        assertThat(analytics.getSummary())
+                .containsEntry("totalRequests", 1000L + 200 + 30 + 1)
+                .containsEntry("totalErrors", 10L + 1 + 1);
+    }
+
+    @Test
+    void countsLogsUpToTheCutoffWithoutRollups() {
+        when(rollupRepository.sumBetween(any(), any())).thenReturn(Optional.empty());
+        when(rollupRepository.findByMinuteGreaterThanEqualAndMinuteLessThan(any(), any())).thenReturn(List.of());
+        when(requestLogRepository.countExtrapolated(isNull(), isNull(), any())).thenReturn(42L);
+
+        analytics.restore();
+        verify(rollupRepository, timeout(5_000)).findByMinuteGreaterThanEqualAndMinuteLessThan(any(), any());
+
+        assertThat(analytics.getSummary()).containsEntry("totalRequests", 42L);
+    }
+}
@@ -0,0 +1,146 @@
+package notification.com.helperservice.feature.log.service;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import de.flapdoodle.embed.mongo.distribution.Version;
+import de.flapdoodle.embed.mongo.transitions.Mongod;
+import de.flapdoodle.embed.mongo.transitions.RunningMongodProcess;
+import de.flapdoodle.reverse.TransitionWalker;
+import notification.com.helperservice.config.RequestLoggingConfig;
+import notification.com.helperservice.feature.log.entity.RequestLog;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the initializer against a real server, so the index and collection options are checked by
+ * MongoDB itself rather than by argument matching. The server is an embedded mongod started by the
+ * test, so it runs wherever the build does.
+ */
+class RequestLogCollectionInitializerMongoTest {
+
+    private static TransitionWalker.ReachedState<RunningMongodProcess> mongod;
+    private static MongoClient client;
+
+    private MongoTemplate mongoTemplate;
+    private MongoMappingContext mappingContext;
+    private RequestLoggingConfig config;
+
+    @BeforeAll
+    static void startMongo() {
+        mongod = Mongod.instance().start(Version.Main.V7_0);
+        client = MongoClients.create("mongodb://" + mongod.current().getServerAddress());
+    }
+
+    @AfterAll
+    static void stopMongo() {
+        client.close();
+        mongod.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate = new MongoTemplate(client, "request_log_initializer_test");
+        mongoTemplate.getDb().drop();
+
+        MongoCustomConversions conversions = new MongoCustomConversions(List.of());
+        mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+
+        config = new RequestLoggingConfig();
+    }
+
+    @Test
+    void serverAcceptsCompoundAndTtlIndexes() {
+        config.getStorage().setRetention(Duration.ofDays(7));
+
+        initialize();
+
+        Map<String, IndexInfo> indexes = requestLogIndexes();
+        assertThat(indexes).containsKeys("service_timestamp", "status_timestamp", "service_status", "timestamp_id");
+        assertThat(indexes.get(RequestLogCollectionInitializer.TTL_INDEX_NAME).getExpireAfter())
+                .contains(Duration.ofDays(7));
+        assertThat(mongoTemplate.indexOps("request_log_rollups").getIndexInfo())
+                .extracting(IndexInfo::getName)
+                .contains("service_minute");
+    }
+
+    @Test
+    void isIdempotentAndUpdatesRetentionInPlace() {
+        initialize();
+        config.getStorage().setRetention(Duration.ofDays(14));
+
+        initialize();
+
+        assertThat(requestLogIndexes().get(RequestLogCollectionInitializer.TTL_INDEX_NAME).getExpireAfter())
+                .contains(Duration.ofDays(14));
+    }
+
+    @Test
+    void replacesLegacySingleFieldIndexes() {
+        mongoTemplate.indexOps(RequestLog.class).createIndex(new Index().on("timestamp", Sort.Direction.ASC).named("timestamp"));
+        mongoTemplate.indexOps(RequestLog.class).createIndex(new Index().on("serviceName", Sort.Direction.ASC).named("serviceName"));
+        mongoTemplate.indexOps(RequestLog.class).createIndex(new Index().on("status", Sort.Direction.ASC).named("status"));
+
+        initialize();
+
+        assertThat(requestLogIndexes()).doesNotContainKeys("timestamp", "serviceName", "status")
+                .containsKey(RequestLogCollectionInitializer.TTL_INDEX_NAME);
+    }
+
+    @Test
+    void createsTimeSeriesCollectionWithRetention() {
+        config.getStorage().setTimeSeries(true);
+        config.getStorage().setRetention(Duration.ofDays(3));
+
+        initialize();
+
+        Document options = collectionOptions();
+        assertThat(options.get("timeseries", Document.class).getString("timeField")).isEqualTo("timestamp");
+        assertThat(options.get("timeseries", Document.class).getString("metaField")).isEqualTo("serviceName");
+        assertThat(((Number) options.get("expireAfterSeconds")).longValue()).isEqualTo(Duration.ofDays(3).toSeconds());
+    }
+
+    @Test
+    void keepsRegularCollectionWhileEagerInsertIsOn() {
+        config.getStorage().setTimeSeries(true);
+        config.getWriter().setEagerInsert(true);
+
+        initialize();
+
+        assertThat(collectionOptions()).doesNotContainKey("timeseries");
+        assertThat(requestLogIndexes()).containsKey(RequestLogCollectionInitializer.TTL_INDEX_NAME);
+    }
+
+    private void initialize() {
+        new RequestLogCollectionInitializer(mongoTemplate, mappingContext, config).initialize();
+    }
+
+    private Map<String, IndexInfo> requestLogIndexes() {
+        return mongoTemplate.indexOps(RequestLog.class).getIndexInfo().stream()
+                .collect(Collectors.toMap(IndexInfo::getName, Function.identity()));
+    }
+
+    private Document collectionOptions() {
+        Document listing = mongoTemplate.executeCommand(new Document("listCollections", 1)
+                .append("filter", new Document("name", "request_logs")));
+        List<Document> collections = listing.get("cursor", Document.class).getList("firstBatch", Document.class);
+        return collections.get(0).get("options", Document.class);
+    }
+}
@@ -0,0 +1,203 @@
+package notification.com.helperservice.feature.log.service;
+
+import notification.com.helperservice.config.RequestLoggingConfig;
+import notification.com.helperservice.feature.log.entity.RequestLog;
+import notification.com.helperservice.feature.log.entity.RequestLogRollup;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.CollectionOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RequestLogCollectionInitializerTest {
+
+    private MongoTemplate mongoTemplate;
+    private IndexOperations requestLogIndexes;
+    private IndexOperations rollupIndexes;
+    private RequestLoggingConfig config;
+    private RequestLogCollectionInitializer initializer;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate = mock(MongoTemplate.class);
+        requestLogIndexes = mock(IndexOperations.class);
+        rollupIndexes = mock(IndexOperations.class);
+        when(mongoTemplate.indexOps(RequestLog.class)).thenReturn(requestLogIndexes);
+        when(mongoTemplate.indexOps(RequestLogRollup.class)).thenReturn(rollupIndexes);
+        when(mongoTemplate.getCollectionName(RequestLog.class)).thenReturn("request_logs");
+        when(requestLogIndexes.getIndexInfo()).thenReturn(List.of());
+
+        MongoCustomConversions conversions = new MongoCustomConversions(List.of());
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+
+        config = new RequestLoggingConfig();
+        initializer = new RequestLogCollectionInitializer(mongoTemplate, mappingContext, config);
+    }
+
+    @Test
+    void createsCompoundIndexesMatchingRepositoryQueries() {
+        initializer.initialize();
+
+        Map<String, Document> indexes = createdIndexes(requestLogIndexes);
+        assertThat(indexes.get("service_timestamp").get("key", Document.class))
+                .containsExactly(Map.entry("serviceName", 1), Map.entry("timestamp", -1), Map.entry("_id", -1));
+        assertThat(indexes.get("status_timestamp").get("key", Document.class))
+                .containsExactly(Map.entry("status", 1), Map.entry("timestamp", -1), Map.entry("_id", -1));
+        assertThat(indexes.get("service_status").get("key", Document.class))
+                .containsExactly(Map.entry("serviceName", 1), Map.entry("status", 1));
+        assertThat(createdIndexes(rollupIndexes)).containsKey("service_minute");
+    }
+
+    @Test
+    void createsTtlIndexForConfiguredRetention() {
+        config.getStorage().setRetention(Duration.ofDays(7));
+
+        initializer.initialize();
+
+        Document ttl = createdIndexes(requestLogIndexes).get(RequestLogCollectionInitializer.TTL_INDEX_NAME);
+        assertThat(ttl.get("key", Document.class)).containsExactly(Map.entry("timestamp", 1));
+        assertThat(((Number) ttl.get("options", Document.class).get("expireAfterSeconds")).longValue())
+                .isEqualTo(Duration.ofDays(7).toSeconds());
+    }
+
+    @Test
+    void replacesLegacyTimestampIndexWithTtlIndex() {
+        when(requestLogIndexes.getIndexInfo()).thenReturn(List.of(indexInfo("timestamp", null)));
+
+        initializer.initialize();
+
+        verify(requestLogIndexes).dropIndex(RequestLogCollectionInitializer.LEGACY_TIMESTAMP_INDEX_NAME);
+        assertThat(createdIndexes(requestLogIndexes)).containsKey(RequestLogCollectionInitializer.TTL_INDEX_NAME);
+    }
+
+    @Test
+    void dropsLegacySingleFieldIndexes() {
+        when(requestLogIndexes.getIndexInfo()).thenReturn(List.of(indexInfo("serviceName", null), indexInfo("status", null)));
+
+        initializer.initialize();
+
+        verify(requestLogIndexes).dropIndex("serviceName");
+        verify(requestLogIndexes).dropIndex("status");
+    }
+
+    @Test
+    void updatesChangedRetentionInPlace() {
+        config.getStorage().setRetention(Duration.ofDays(14));
+        when(requestLogIndexes.getIndexInfo())
+                .thenReturn(List.of(indexInfo(RequestLogCollectionInitializer.TTL_INDEX_NAME, Duration.ofDays(30))));
+
+        initializer.initialize();
+
+        ArgumentCaptor<Document> command = ArgumentCaptor.forClass(Document.class);
+        verify(mongoTemplate).executeCommand(command.capture());
+        assertThat(command.getValue().getString("collMod")).isEqualTo("request_logs");
+        assertThat(command.getValue().get("index", Document.class).get("expireAfterSeconds"))
+                .isEqualTo(Duration.ofDays(14).toSeconds());
+        assertThat(createdIndexes(requestLogIndexes)).doesNotContainKey(RequestLogCollectionInitializer.TTL_INDEX_NAME);
+    }
+
+    @Test
+    void leavesUnchangedRetentionAlone() {
+        when(requestLogIndexes.getIndexInfo())
+                .thenReturn(List.of(indexInfo(RequestLogCollectionInitializer.TTL_INDEX_NAME, Duration.ofDays(30))));
+
+        initializer.initialize();
+
+        verify(mongoTemplate, never()).executeCommand(any(Document.class));
+    }
+
+    @Test
+    void dropsTtlIndexWhenRetentionDisabled() {
+        config.getStorage().setRetention(Duration.ZERO);
+        when(requestLogIndexes.getIndexInfo())
+                .thenReturn(List.of(indexInfo(RequestLogCollectionInitializer.TTL_INDEX_NAME, Duration.ofDays(30))));
+
+        initializer.initialize();
+
+        verify(requestLogIndexes).dropIndex(RequestLogCollectionInitializer.TTL_INDEX_NAME);
+    }
+
+    @Test
+    void createsTimeSeriesCollectionWithRetentionInsteadOfTtlIndex() {
+        config.getStorage().setTimeSeries(true);
+        when(mongoTemplate.collectionExists(RequestLog.class)).thenReturn(false);
+
+        initializer.initialize();
+
+        ArgumentCaptor<CollectionOptions> options = ArgumentCaptor.forClass(CollectionOptions.class);
+        verify(mongoTemplate).createCollection(eq(RequestLog.class), options.capture());
+        CollectionOptions.TimeSeriesOptions timeSeries = options.getValue().getTimeSeriesOptions().orElseThrow();
+        assertThat(timeSeries.getTimeField()).isEqualTo("timestamp");
+        assertThat(timeSeries.getMetaField()).isEqualTo("serviceName");
+        assertThat(timeSeries.getExpireAfter()).isEqualTo(Duration.ofDays(30));
+        assertThat(createdIndexes(requestLogIndexes)).doesNotContainKey(RequestLogCollectionInitializer.TTL_INDEX_NAME);
+    }
+
+    @Test
+    void neverConvertsAnExistingCollection() {
+        config.getStorage().setTimeSeries(true);
+        when(mongoTemplate.collectionExists(RequestLog.class)).thenReturn(true);
+
+        initializer.initialize();
+
+        verify(mongoTemplate, never()).createCollection(eq(RequestLog.class), any(CollectionOptions.class));
+        assertThat(createdIndexes(requestLogIndexes)).containsKey(RequestLogCollectionInitializer.TTL_INDEX_NAME);
+    }
+
+    @Test
+    void refusesTimeSeriesWhileEagerInsertUpdatesLogs() {
+        config.getStorage().setTimeSeries(true);
+        config.getWriter().setEagerInsert(true);
+        when(mongoTemplate.collectionExists(RequestLog.class)).thenReturn(false);
+
+        initializer.initialize();
+
+        verify(mongoTemplate, never()).createCollection(eq(RequestLog.class), any(CollectionOptions.class));
+        assertThat(createdIndexes(requestLogIndexes)).containsKey(RequestLogCollectionInitializer.TTL_INDEX_NAME);
+    }
+
+    @Test
+    void swallowsMongoFailures() {
+        when(mongoTemplate.indexOps(RequestLog.class)).thenThrow(new IllegalStateException("connection refused"));
+
+        initializer.initialize();
+    }
+
+    private Map<String, Document> createdIndexes(IndexOperations indexOps) {
+        ArgumentCaptor<IndexDefinition> captor = ArgumentCaptor.forClass(IndexDefinition.class);
+        verify(indexOps, atLeast(0)).createIndex(captor.capture());
+        return captor.getAllValues().stream()
+                .map(definition -> new Document("key", definition.getIndexKeys()).append("options", definition.getIndexOptions()))
+                .collect(Collectors.toMap(index -> index.get("options", Document.class).getString("name"), Function.identity()));
+    }
+
+    private IndexInfo indexInfo(String name, Duration expireAfter) {
+        Document index = new Document("name", name).append("key", new Document("timestamp", 1));
+        if (expireAfter != null) {
+            index.append("expireAfterSeconds", expireAfter.toSeconds());
+        }
+        return IndexInfo.indexInfoOf(index);
+    }
+}
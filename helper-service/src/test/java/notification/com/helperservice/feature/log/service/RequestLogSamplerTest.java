@@ -0,0 +1,72 @@
+package notification.com.helperservice.feature.log.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import notification.com.helperservice.config.RequestLoggingConfig;
+import notification.com.helperservice.feature.log.entity.RequestLog;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class RequestLogSamplerTest {
+
+    private static final String SERVICE = "product-service";
+
+    private RequestLoggingConfig config;
+    private RequestLogSampler sampler;
+
+    @BeforeEach
+    void setUp() {
+        config = new RequestLoggingConfig();
+        config.getSampling().getRates().put("2xx", 0.0);
+        config.getSampling().getRates().put("4xx", 0.0);
+        sampler = new RequestLogSampler(config, mock(RequestLogWriter.class), new SimpleMeterRegistry());
+    }
+
+    @Test
+    void keepsClientErrorsWhateverTheRate() {
+        RequestLog notFound = completed(404, "ERROR");
+
+        assertThat(sampler.sample(notFound)).isTrue();
+        assertThat(notFound.getSampleRate()).isEqualTo(1.0);
+    }
+
+    @Test
+    void samplesClientErrorsWhenOptedIn() {
+        config.getSampling().setSampleClientErrors(true);
+
+        assertThat(sampler.sample(completed(404, "ERROR"))).isFalse();
+        assertThat(sampler.sample(completed(500, "ERROR"))).isTrue();
+    }
+
+    @Test
+    void samplesSuccessesAtTheirRate() {
+        RequestLog ok = completed(200, "SUCCESS");
+
+        assertThat(sampler.sample(ok)).isFalse();
+        assertThat(ok.getSampleRate()).isNull();
+    }
+
+    @Test
+    void samplesPendingLogsAtTheSuccessRate() {
+        RequestLog pending = RequestLog.builder().serviceName(SERVICE).status("PENDING").build();
+        assertThat(sampler.samplePending(pending)).isFalse();
+        assertThat(pending.getSampleRate()).isNull();
+
+        config.getSampling().getServices().put(SERVICE, Map.of("2xx", 1.0));
+        assertThat(sampler.samplePending(pending)).isTrue();
+        assertThat(pending.getSampleRate()).isEqualTo(1.0);
+    }
+
+    private RequestLog completed(int responseStatus, String status) {
+        return RequestLog.builder()
+                .serviceName(SERVICE)
+                .responseStatus(responseStatus)
+                .status(status)
+                .duration(5L)
+                .build();
+    }
+}
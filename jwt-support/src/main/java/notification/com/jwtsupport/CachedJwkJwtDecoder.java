@@ -0,0 +1,64 @@
+package notification.com.jwtsupport;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import reactor.core.publisher.Mono;
+
+import java.security.Key;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RS256 decoder that verifies signatures against the keys held by {@link JwkSetCache} and records
+ * every validation in the {@code jwt.validation} timer, tagged by outcome. For servlet resource servers,
+ * whose request threads may block: a known key id resolves without blocking, and only an unknown one
+ * waits on the cache's shared, throttled refresh, for at most {@code jwkFetchTimeout}.
+ */
+public class CachedJwkJwtDecoder implements JwtDecoder {
+
+    private final NimbusJwtDecoder delegate;
+    private final Timer successTimer;
+    private final Timer failureTimer;
+
+    public CachedJwkJwtDecoder(JwkSetCache jwkSetCache, JwkSetProperties properties, MeterRegistry meterRegistry) {
+        Duration keyTimeout = properties.getJwkFetchTimeout();
+        DefaultJWTProcessor<SecurityContext> processor = new DefaultJWTProcessor<>();
+        processor.setJWSKeySelector((header, context) -> {
+            if (!JWSAlgorithm.RS256.equals(header.getAlgorithm())) {
+                return List.of();
+            }
+            Key key = jwkSetCache.getKey(header.getKeyID())
+                    .timeout(keyTimeout, Mono.error(() -> new JwtException("Timed out waiting for the JWK set")))
+                    .block();
+            return key != null ? List.of(key) : List.of();
+        });
+        // Expiry and not-before are checked by the decoder's JwtTimestampValidator
+        processor.setJWTClaimsSetVerifier((claims, context) -> {
+        });
+
+        this.delegate = new NimbusJwtDecoder(processor);
+        this.successTimer = Timer.builder("jwt.validation").tag("outcome", "success").register(meterRegistry);
+        this.failureTimer = Timer.builder("jwt.validation").tag("outcome", "failure").register(meterRegistry);
+    }
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        long start = System.nanoTime();
+        try {
+            Jwt jwt = delegate.decode(token);
+            successTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return jwt;
+        } catch (RuntimeException e) {
+            failureTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+    }
+}
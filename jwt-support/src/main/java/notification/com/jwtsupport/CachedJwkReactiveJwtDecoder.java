@@ -0,0 +1,64 @@
+package notification.com.jwtsupport;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.crypto.RSASSAVerifier;
+import com.nimbusds.jwt.JWT;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.NimbusReactiveJwtDecoder;
+import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
+import reactor.core.publisher.Mono;
+
+import java.text.ParseException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RS256 decoder that verifies signatures against the keys held by {@link JwkSetCache} and records
+ * every validation in the {@code jwt.validation} timer, tagged by outcome. For WebFlux resource servers;
+ * servlet ones use {@link CachedJwkJwtDecoder}.
+ */
+public class CachedJwkReactiveJwtDecoder implements ReactiveJwtDecoder {
+
+    private final NimbusReactiveJwtDecoder delegate;
+    private final Timer successTimer;
+    private final Timer failureTimer;
+
+    public CachedJwkReactiveJwtDecoder(JwkSetCache jwkSetCache, MeterRegistry meterRegistry) {
+        this.delegate = new NimbusReactiveJwtDecoder(jwt -> verify(jwt, jwkSetCache));
+        this.successTimer = Timer.builder("jwt.validation").tag("outcome", "success").register(meterRegistry);
+        this.failureTimer = Timer.builder("jwt.validation").tag("outcome", "failure").register(meterRegistry);
+    }
+
+    @Override
+    public Mono<Jwt> decode(String token) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return delegate.decode(token)
+                    .doOnSuccess(jwt -> successTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS))
+                    .doOnError(error -> failureTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS));
+        });
+    }
+
+    private static Mono<JWTClaimsSet> verify(JWT jwt, JwkSetCache jwkSetCache) {
+        if (!(jwt instanceof SignedJWT signedJwt) || !JWSAlgorithm.RS256.equals(signedJwt.getHeader().getAlgorithm())) {
+            return Mono.error(new BadJwtException("Unsupported token algorithm"));
+        }
+
+        return jwkSetCache.getKey(signedJwt.getHeader().getKeyID())
+                .map(publicKey -> {
+                    try {
+                        if (!signedJwt.verify(new RSASSAVerifier(publicKey))) {
+                            throw new BadJwtException("Invalid token signature");
+                        }
+                        return signedJwt.getJWTClaimsSet();
+                    } catch (JOSEException | ParseException e) {
+                        throw new BadJwtException("Failed to verify token: " + e.getMessage(), e);
+                    }
+                });
+    }
+}
@@ -0,0 +1,153 @@
+package notification.com.jwtsupport;
+
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.KeyUse;
+import com.nimbusds.jose.jwk.RSAKey;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.security.interfaces.RSAPublicKey;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * In-memory copy of the identity service's JWK set, keyed by {@code kid} and holding already parsed
+ * {@link RSAPublicKey}s. It is warmed when the application becomes ready and refreshed in the
+ * background, so token validation normally never waits on the network. A token signed with an unknown
+ * key triggers a refresh, but concurrent misses share a single in-flight fetch and such refreshes are
+ * throttled so a burst of bogus key ids cannot hammer the identity service.
+ * <p>
+ * Declared as a bean by each service; the context starts and stops the background refresh.
+ */
+public class JwkSetCache implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(JwkSetCache.class);
+
+    private final WebClient webClient;
+    private final JwkSetProperties properties;
+    private final Counter fetchCounter;
+    private final Counter fetchFailureCounter;
+
+    private volatile Map<String, RSAPublicKey> keys = Map.of();
+    private volatile long lastFetchNanos;
+    private final AtomicReference<Mono<Map<String, RSAPublicKey>>> inFlight = new AtomicReference<>();
+    private volatile Disposable backgroundRefresh;
+
+    public JwkSetCache(WebClient webClient, JwkSetProperties properties, MeterRegistry meterRegistry) {
+        this.webClient = webClient;
+        this.properties = properties;
+        this.fetchCounter = meterRegistry.counter("jwt.jwks.fetch");
+        this.fetchFailureCounter = meterRegistry.counter("jwt.jwks.fetch.failures");
+        Gauge.builder("jwt.jwks.keys", this, cache -> cache.keys.size()).register(meterRegistry);
+    }
+
+    @Override
+    public void start() {
+        refresh().subscribe(
+                loaded -> log.info("JWK set pre-warmed with key ids: {}", loaded.keySet()),
+                error -> log.warn("JWK set pre-warm failed, will retry in background: {}", error.getMessage()));
+
+        backgroundRefresh = Flux.interval(properties.getJwkRefreshInterval())
+                .concatMap(tick -> refresh().onErrorResume(error -> Mono.empty()))
+                .subscribe();
+    }
+
+    @Override
+    public void stop() {
+        if (backgroundRefresh != null) {
+            backgroundRefresh.dispose();
+            backgroundRefresh = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return backgroundRefresh != null;
+    }
+
+    public Mono<RSAPublicKey> getKey(String keyId) {
+        RSAPublicKey key = lookup(keys, keyId);
+        if (key != null) {
+            return Mono.just(key);
+        }
+
+        long sinceLastFetch = System.nanoTime() - lastFetchNanos;
+        Mono<Map<String, RSAPublicKey>> source = sinceLastFetch < properties.getJwkMinRefreshInterval().toNanos()
+                ? Mono.justOrEmpty(inFlight.get()).flatMap(fetch -> fetch).defaultIfEmpty(keys)
+                : refresh();
+
+        return source.flatMap(loaded -> Mono.justOrEmpty(lookup(loaded, keyId)))
+                .switchIfEmpty(Mono.error(() -> new BadJwtException("No JWK found for key id: " + keyId)));
+    }
+
+    /**
+     * Fetches the JWK set, or joins the fetch already in progress.
+     */
+    public Mono<Map<String, RSAPublicKey>> refresh() {
+        while (true) {
+            Mono<Map<String, RSAPublicKey>> current = inFlight.get();
+            if (current != null) {
+                return current;
+            }
+
+            Mono<Map<String, RSAPublicKey>> fetch = fetchKeys()
+                    .doOnNext(loaded -> keys = loaded)
+                    .doFinally(signal -> inFlight.set(null))
+                    .cache();
+            if (inFlight.compareAndSet(null, fetch)) {
+                lastFetchNanos = System.nanoTime();
+                return fetch;
+            }
+        }
+    }
+
+    private Mono<Map<String, RSAPublicKey>> fetchKeys() {
+        return webClient.get()
+                .uri(properties.getJwkSetUri())
+                .retrieve()
+                .bodyToMono(String.class)
+                .timeout(properties.getJwkFetchTimeout())
+                .map(this::parse)
+                .onErrorMap(error -> !(error instanceof JwtException),
+                        error -> new JwtException("Failed to fetch JWK set: " + error.getMessage(), error))
+                .doOnSubscribe(subscription -> fetchCounter.increment())
+                .doOnError(error -> {
+                    fetchFailureCounter.increment();
+                    log.warn("Failed to fetch JWK set from {}: {}", properties.getJwkSetUri(), error.getMessage());
+                });
+    }
+
+    private Map<String, RSAPublicKey> parse(String body) {
+        try {
+            Map<String, RSAPublicKey> parsed = new HashMap<>();
+            for (JWK jwk : JWKSet.parse(body).getKeys()) {
+                if (jwk instanceof RSAKey rsaKey && (jwk.getKeyUse() == null || KeyUse.SIGNATURE.equals(jwk.getKeyUse()))) {
+                    parsed.put(jwk.getKeyID() != null ? jwk.getKeyID() : "", rsaKey.toRSAPublicKey());
+                }
+            }
+            return Map.copyOf(parsed);
+        } catch (Exception e) {
+            throw new JwtException("Invalid JWK set: " + e.getMessage(), e);
+        }
+    }
+
+    private RSAPublicKey lookup(Map<String, RSAPublicKey> source, String keyId) {
+        if (keyId != null) {
+            return source.get(keyId);
+        }
+        // Tokens without a kid are only accepted when the set holds exactly one key
+        return source.size() == 1 ? source.values().iterator().next() : null;
+    }
+}
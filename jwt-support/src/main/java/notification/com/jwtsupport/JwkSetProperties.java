@@ -0,0 +1,50 @@
+package notification.com.jwtsupport;
+
+import java.time.Duration;
+
+/**
+ * Where the JWK set lives and how it is kept fresh. Each service binds it under {@code security.jwt}
+ * through its own {@code JwtConfig}.
+ */
+public class JwkSetProperties {
+
+    private String jwkSetUri = "http://localhost:8080/oauth2/jwks";
+    // Keys are re-fetched in the background on this interval, well before they could go stale
+    private Duration jwkRefreshInterval = Duration.ofMinutes(5);
+    // Lower bound between fetches triggered by tokens carrying an unknown key id
+    private Duration jwkMinRefreshInterval = Duration.ofSeconds(30);
+    // Bounds a fetch, and how long a servlet thread waits for a key
+    private Duration jwkFetchTimeout = Duration.ofSeconds(5);
+
+    public String getJwkSetUri() {
+        return jwkSetUri;
+    }
+
+    public void setJwkSetUri(String jwkSetUri) {
+        this.jwkSetUri = jwkSetUri;
+    }
+
+    public Duration getJwkRefreshInterval() {
+        return jwkRefreshInterval;
+    }
+
+    public void setJwkRefreshInterval(Duration jwkRefreshInterval) {
+        this.jwkRefreshInterval = jwkRefreshInterval;
+    }
+
+    public Duration getJwkMinRefreshInterval() {
+        return jwkMinRefreshInterval;
+    }
+
+    public void setJwkMinRefreshInterval(Duration jwkMinRefreshInterval) {
+        this.jwkMinRefreshInterval = jwkMinRefreshInterval;
+    }
+
+    public Duration getJwkFetchTimeout() {
+        return jwkFetchTimeout;
+    }
+
+    public void setJwkFetchTimeout(Duration jwkFetchTimeout) {
+        this.jwkFetchTimeout = jwkFetchTimeout;
+    }
+}
@@ -0,0 +1,60 @@
+package notification.com.jwtsupport;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CachedJwkJwtDecoderTest {
+
+    private final JwkStub jwks = new JwkStub();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @AfterEach
+    void tearDown() {
+        jwks.close();
+    }
+
+    @Test
+    void servletDecoderVerifiesAgainstFetchedKeys() {
+        JwkSetProperties properties = jwks.properties();
+        CachedJwkJwtDecoder decoder = new CachedJwkJwtDecoder(cache(properties), properties, meterRegistry);
+
+        assertThat(decoder.decode(jwks.token("key-1")).getSubject()).isEqualTo("alice");
+        assertThat(meterRegistry.get("jwt.validation").tag("outcome", "success").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void servletDecoderWaitsForKeysAtMostTheFetchTimeout() {
+        JwkSetProperties properties = jwks.properties();
+        // The fetch itself is allowed longer than the thread is
+        properties.setJwkFetchTimeout(Duration.ofMillis(200));
+        jwks.respondAfter(Duration.ofSeconds(5));
+        CachedJwkJwtDecoder decoder = new CachedJwkJwtDecoder(cache(properties), properties, meterRegistry);
+
+        long start = System.nanoTime();
+        assertThatThrownBy(() -> decoder.decode(jwks.token("key-1"))).isInstanceOf(JwtException.class);
+
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(2));
+        assertThat(meterRegistry.get("jwt.validation").tag("outcome", "failure").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void reactiveDecoderVerifiesAgainstFetchedKeys() {
+        JwkSetProperties properties = jwks.properties();
+        CachedJwkReactiveJwtDecoder decoder = new CachedJwkReactiveJwtDecoder(cache(properties), meterRegistry);
+
+        assertThat(decoder.decode(jwks.token("key-1")).block().getSubject()).isEqualTo("alice");
+        assertThatThrownBy(() -> decoder.decode(jwks.token("other-key")).block()).isInstanceOf(JwtException.class);
+    }
+
+    private JwkSetCache cache(JwkSetProperties properties) {
+        return new JwkSetCache(WebClient.create(), properties, meterRegistry);
+    }
+}
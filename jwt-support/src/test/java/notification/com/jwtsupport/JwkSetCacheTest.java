@@ -0,0 +1,50 @@
+package notification.com.jwtsupport;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwkSetCacheTest {
+
+    private final JwkStub jwks = new JwkStub();
+
+    @AfterEach
+    void tearDown() {
+        jwks.close();
+    }
+
+    @Test
+    void concurrentMissesShareOneFetch() {
+        jwks.respondAfter(Duration.ofMillis(200));
+        JwkSetCache cache = new JwkSetCache(WebClient.create(), jwks.properties(), new SimpleMeterRegistry());
+
+        Flux.range(0, 20)
+                .flatMap(i -> cache.getKey("key-1"))
+                .collectList()
+                .block(Duration.ofSeconds(5));
+
+        assertThat(jwks.fetches.get()).isEqualTo(1);
+    }
+
+    @Test
+    void unknownKeyIdsDoNotRefetchWithinTheMinimumInterval() {
+        JwkSetCache cache = new JwkSetCache(WebClient.create(), jwks.properties(), new SimpleMeterRegistry());
+        cache.getKey("key-1").block(Duration.ofSeconds(5));
+
+        for (int i = 0; i < 5; i++) {
+            Mono<?> miss = cache.getKey("bogus-" + i);
+            assertThatThrownBy(() -> miss.block(Duration.ofSeconds(5))).isInstanceOf(BadJwtException.class);
+        }
+
+        assertThat(jwks.fetches.get()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,91 @@
+package notification.com.jwtsupport;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.KeyUse;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// A JWK endpoint serving one signing key, optionally slow to answer
+final class JwkStub implements AutoCloseable {
+
+    final RSAKey signingKey;
+    final AtomicInteger fetches = new AtomicInteger();
+    private final HttpServer server;
+    private volatile Duration delay = Duration.ZERO;
+
+    JwkStub() {
+        try {
+            signingKey = new RSAKeyGenerator(2048).keyID("key-1").keyUse(KeyUse.SIGNATURE).generate();
+            server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        } catch (JOSEException e) {
+            throw new IllegalStateException(e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        server.createContext("/oauth2/jwks", exchange -> {
+            fetches.incrementAndGet();
+            try {
+                Thread.sleep(delay.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] body = new JWKSet(signingKey.toPublicJWK()).toString().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+    }
+
+    JwkSetProperties properties() {
+        JwkSetProperties properties = new JwkSetProperties();
+        properties.setJwkSetUri("http://localhost:" + server.getAddress().getPort() + "/oauth2/jwks");
+        return properties;
+    }
+
+    void respondAfter(Duration delay) {
+        this.delay = delay;
+    }
+
+    String token(String keyId) {
+        try {
+            SignedJWT jwt = new SignedJWT(
+                    new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(keyId).build(),
+                    new JWTClaimsSet.Builder()
+                            .subject("alice")
+                            .issueTime(Date.from(Instant.now()))
+                            .expirationTime(Date.from(Instant.now().plusSeconds(300)))
+                            .build());
+            jwt.sign(new RSASSASigner(signingKey));
+            return jwt.serialize();
+        } catch (JOSEException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
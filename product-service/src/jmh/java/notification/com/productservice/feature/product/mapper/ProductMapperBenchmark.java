@@ -0,0 +1,64 @@
+package notification.com.productservice.feature.product.mapper;
+
+import notification.com.productservice.domain.Product;
+import notification.com.productservice.feature.product.repository.dto.ProductResponse;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ProductMapperBenchmark {
+
+    // Mapping has no header dimension; the page size is what varies in production
+    @Param({"10", "40", "100"})
+    private int pageSize;
+
+    private ProductMapper productMapper;
+    private Product product;
+    private List<Product> page;
+
+    @Setup
+    public void setUp() {
+        productMapper = new ProductMapperImpl();
+        product = createProduct(1L);
+        page = new ArrayList<>(pageSize);
+        for (long id = 1; id <= pageSize; id++) {
+            page.add(createProduct(id));
+        }
+    }
+
+    @Benchmark
+    public ProductResponse toProductResponse() {
+        return productMapper.toProductResponse(product);
+    }
+
+    @Benchmark
+    public List<ProductResponse> toProductResponsePage() {
+        List<ProductResponse> responses = new ArrayList<>(page.size());
+        for (Product item : page) {
+            responses.add(productMapper.toProductResponse(item));
+        }
+        return responses;
+    }
+
+    private Product createProduct(long id) {
+        Product product = new Product();
+        product.setId(id);
+        product.setName("Wireless Headphones " + id);
+        product.setDescription("Noise-cancelling wireless headphones with 30 hours of battery life");
+        product.setPrice(new BigDecimal("149.99"));
+        product.setQuantity(75);
+        product.setCategory("Electronics");
+        product.setImageUrl("https://via.placeholder.com/300x200");
+        product.setIsActive(true);
+        product.setCreatedDate(LocalDateTime.now().minusDays(30));
+        product.setLastModifiedDate(LocalDateTime.now());
+        return product;
+    }
+}
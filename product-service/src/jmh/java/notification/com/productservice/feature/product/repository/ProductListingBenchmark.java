@@ -0,0 +1,124 @@
+package notification.com.productservice.feature.product.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import notification.com.productservice.domain.Product;
+import notification.com.productservice.feature.product.mapper.ProductMapper;
+import notification.com.productservice.feature.product.mapper.ProductMapperImpl;
+import notification.com.productservice.feature.product.repository.dto.ProductResponse;
+import notification.com.productservice.feature.product.repository.dto.ProductSummary;
+import org.h2.jdbcx.JdbcDataSource;
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity listing (managed Products mapped to ProductResponse) against the ProductSummary constructor
+ * projection, on an in-memory H2 copy of the products table so the ORM cost is not hidden behind network
+ * time. Run with the gc profiler (the default here) and compare gc.alloc.rate.norm for the memory side.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ProductListingBenchmark {
+
+    private static final String ENTITY_QUERY =
+            "SELECT p FROM Product p WHERE p.isActive = true ORDER BY p.createdDate DESC";
+
+    private static final String SUMMARY_QUERY =
+            "SELECT new notification.com.productservice.feature.product.repository.dto.ProductSummary(" +
+            "p.id, p.name, p.price, p.quantity, p.category, p.imageUrl, p.createdDate) " +
+            "FROM Product p WHERE p.isActive = true ORDER BY p.createdDate DESC";
+
+    @Param({"100", "1000"})
+    private int pageSize;
+
+    private LocalContainerEntityManagerFactoryBean factoryBean;
+    private EntityManagerFactory entityManagerFactory;
+    private ProductMapper productMapper;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:listing;DB_CLOSE_DELAY=-1");
+
+        factoryBean = new LocalContainerEntityManagerFactoryBean();
+        factoryBean.setDataSource(dataSource);
+        factoryBean.setPackagesToScan(Product.class.getPackageName());
+        factoryBean.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factoryBean.setJpaPropertyMap(Map.of(
+                "hibernate.hbm2ddl.auto", "create-drop",
+                // Same column names Spring Boot's naming strategy gives the service
+                "hibernate.physical_naming_strategy", CamelCaseToUnderscoresNamingStrategy.class.getName(),
+                "hibernate.jdbc.batch_size", "50"));
+        factoryBean.afterPropertiesSet();
+        entityManagerFactory = factoryBean.getObject();
+        productMapper = new ProductMapperImpl();
+
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        entityManager.getTransaction().begin();
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < 2_000; i++) {
+            entityManager.persist(createProduct(i, now.minusMinutes(i)));
+        }
+        entityManager.getTransaction().commit();
+        entityManager.close();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        factoryBean.destroy();
+    }
+
+    @Benchmark
+    public List<ProductResponse> entityPage() {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            List<Product> products = entityManager.createQuery(ENTITY_QUERY, Product.class)
+                    .setMaxResults(pageSize)
+                    .getResultList();
+            List<ProductResponse> responses = new ArrayList<>(products.size());
+            for (Product product : products) {
+                responses.add(productMapper.toProductResponse(product));
+            }
+            return responses;
+        } finally {
+            entityManager.close();
+        }
+    }
+
+    @Benchmark
+    public List<ProductSummary> summaryPage() {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            return entityManager.createQuery(SUMMARY_QUERY, ProductSummary.class)
+                    .setMaxResults(pageSize)
+                    .getResultList();
+        } finally {
+            entityManager.close();
+        }
+    }
+
+    private static Product createProduct(int i, LocalDateTime createdDate) {
+        Product product = new Product();
+        product.setName("Wireless Headphones " + i);
+        // Listing rows carry a realistic TEXT description that the summary never reads
+        product.setDescription("Noise-cancelling wireless headphones with 30 hours of battery life. ".repeat(7));
+        product.setPrice(new BigDecimal("149.99"));
+        product.setQuantity(75);
+        product.setCategory("Electronics");
+        product.setImageUrl("https://via.placeholder.com/300x200");
+        product.setIsActive(true);
+        product.setCreatedDate(createdDate);
+        product.setLastModifiedDate(createdDate);
+        return product;
+    }
+}
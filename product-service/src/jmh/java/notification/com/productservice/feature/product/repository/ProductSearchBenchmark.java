@@ -0,0 +1,124 @@
+package notification.com.productservice.feature.product.repository;
+
+import jakarta.persistence.EntityManager;
+import notification.com.productservice.domain.Product;
+import notification.com.productservice.feature.product.mapper.ProductMapperImpl;
+import notification.com.productservice.feature.product.repository.dto.ProductSummary;
+import notification.com.productservice.feature.product.service.ProductCache;
+import notification.com.productservice.feature.product.service.ProductService;
+import notification.com.productservice.feature.product.service.ProductServiceImpl;
+import notification.com.productservice.utils.ProductSearchIndexInitializer;
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.data.repository.core.support.RepositoryComposition;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the former {@code LOWER(..) LIKE '%kw%'} search with the search the service issues today,
+ * called through {@link ProductService#searchProducts} on a real {@link ProductRepository}, on a seeded
+ * products table in its own schema. Needs a Postgres reachable at {@code -Dbench.jdbc.url} (defaults to
+ * the service's local database); the schema is rebuilt once per trial, which takes a while for a million rows.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ProductSearchBenchmark {
+
+    private static final String SCHEMA = "products_search_bench";
+    private static final int PAGE_SIZE = 20;
+
+    private static final String LIKE_SEARCH = "SELECT p.id, p.name, p.price, p.quantity, p.category, p.image_url, " +
+            "p.created_date FROM products p WHERE p.is_active = true AND " +
+            "(LOWER(p.name) LIKE LOWER(CONCAT('%', ?, '%')) OR LOWER(p.description) LIKE LOWER(CONCAT('%', ?, '%'))) " +
+            "ORDER BY p.created_date DESC LIMIT " + PAGE_SIZE;
+
+    @Param({"1000000"})
+    private int rows;
+
+    // A selective term (one in ~65k rows) and a broad one matching a seventh of the catalog
+    @Param({"3fa9", "wireless head"})
+    private String keyword;
+
+    private LocalContainerEntityManagerFactoryBean factoryBean;
+    private EntityManager entityManager;
+    private JdbcTemplate jdbcTemplate;
+    private ProductService productService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        String url = System.getProperty("bench.jdbc.url", "jdbc:postgresql://localhost:5432/nestjs-db");
+        String user = System.getProperty("bench.jdbc.user", "postgres");
+        String password = System.getProperty("bench.jdbc.password", "12345");
+        new JdbcTemplate(new DriverManagerDataSource(url, user, password))
+                .execute("CREATE SCHEMA IF NOT EXISTS " + SCHEMA);
+
+        // Unqualified names resolve to the bench schema, so the service's own SQL runs unchanged
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                url + (url.contains("?") ? "&" : "?") + "currentSchema=" + SCHEMA, user, password);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+
+        factoryBean = new LocalContainerEntityManagerFactoryBean();
+        factoryBean.setDataSource(dataSource);
+        factoryBean.setPackagesToScan(Product.class.getPackageName());
+        factoryBean.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factoryBean.setJpaPropertyMap(Map.of(
+                "hibernate.hbm2ddl.auto", "create-drop",
+                // Same column names Spring Boot's naming strategy gives the service
+                "hibernate.physical_naming_strategy", CamelCaseToUnderscoresNamingStrategy.class.getName()));
+        factoryBean.afterPropertiesSet();
+
+        jdbcTemplate.execute("INSERT INTO products (id, name, description, price, quantity, category, is_active, " +
+                "created_date, last_modified_date, version) " +
+                "SELECT g, (ARRAY['Wireless','Ergonomic','Premium','Compact','Smart'])[1 + g % 5] || ' ' || " +
+                "(ARRAY['Headphones','Laptop','Chair','Coffee Maker','Smartphone','Keyboard','Monitor'])[1 + g % 7] || ' ' || g, " +
+                "'Catalog item ' || g || ' batch ' || left(md5(g::text), 4), 9.99 + g % 500, g % 100, " +
+                "'category-' || g % 20, true, now() - g * interval '1 second', now(), 0 " +
+                "FROM generate_series(1, " + rows + ") g");
+        new ProductSearchIndexInitializer(jdbcTemplate).createSearchIndex();
+        jdbcTemplate.execute("ANALYZE products");
+
+        entityManager = factoryBean.getObject().createEntityManager();
+        ProductRepository productRepository = new JpaRepositoryFactory(entityManager).getRepository(
+                ProductRepository.class,
+                RepositoryComposition.RepositoryFragments.just(new ProductStockRepositoryImpl(jdbcTemplate)));
+        productService = new ProductServiceImpl(productRepository, new ProductMapperImpl(),
+                new ProductCache(new NoOpCacheManager()));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        entityManager.close();
+        factoryBean.destroy();
+        jdbcTemplate.execute("DROP SCHEMA IF EXISTS " + SCHEMA + " CASCADE");
+    }
+
+    @Benchmark
+    public List<ProductSummary> likeSearch() {
+        return jdbcTemplate.query(LIKE_SEARCH, (resultSet, rowNum) -> new ProductSummary(
+                resultSet.getLong("id"),
+                resultSet.getString("name"),
+                resultSet.getBigDecimal("price"),
+                resultSet.getInt("quantity"),
+                resultSet.getString("category"),
+                resultSet.getString("image_url"),
+                resultSet.getTimestamp("created_date").toLocalDateTime()), keyword, keyword);
+    }
+
+    @Benchmark
+    public Slice<ProductSummary> fullTextSearch() {
+        Slice<ProductSummary> results = productService.searchProducts(keyword, 0, PAGE_SIZE);
+        // Native query results are not managed, but keep the context from growing across invocations
+        entityManager.clear();
+        return results;
+    }
+}
@@ -0,0 +1,44 @@
+package notification.com.productservice.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import notification.com.productservice.feature.product.service.ProductCache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+@Configuration
+public class CacheConfig {
+
+    /**
+     * Size-bounded Caffeine caches with stats, which Boot publishes as {@code cache.gets}, {@code cache.puts}
+     * and {@code cache.evictions}. Puts and evictions made inside a transaction are deferred until it commits,
+     * so a rolled-back write never evicts and a concurrent reader cannot re-cache the pre-commit row.
+     */
+    @Bean
+    CacheManager cacheManager(ProductCacheConfig productCacheConfig) {
+        if (!productCacheConfig.isEnabled()) {
+            return new NoOpCacheManager();
+        }
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        // Only the caches registered below exist; unknown names are not created on demand
+        cacheManager.setCacheNames(List.of());
+        cacheManager.setAllowNullValues(false);
+        cacheManager.registerCustomCache(ProductCache.PRODUCTS, caffeine(productCacheConfig.getProducts()));
+        cacheManager.registerCustomCache(ProductCache.CATEGORY_IDS, caffeine(productCacheConfig.getCategoryIds()));
+        cacheManager.registerCustomCache(ProductCache.FIRST_PAGES, caffeine(productCacheConfig.getFirstPages()));
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+
+    private static com.github.benmanes.caffeine.cache.Cache<Object, Object> caffeine(ProductCacheConfig.Spec spec) {
+        return Caffeine.newBuilder()
+                .maximumSize(spec.getMaxSize())
+                .expireAfterWrite(spec.getTtl())
+                .recordStats()
+                .build();
+    }
+}
@@ -0,0 +1,32 @@
+package notification.com.productservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Per-target enrichment headers from header-enrichment.yml, the file helper-service enriches with, so
+ * in-process and remote enrichment add the same headers.
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "services")
+public class EnrichmentHeadersConfig {
+
+    private Map<String, Target> targets = new LinkedHashMap<>();
+    private Map<String, String> defaultEnrichmentHeaders = new LinkedHashMap<>(Map.of("X-Service-Category", "unknown"));
+
+    public Map<String, Map<String, String>> getEnrichmentHeadersByTarget() {
+        Map<String, Map<String, String>> headers = new LinkedHashMap<>();
+        targets.forEach((serviceName, target) -> headers.put(serviceName, target.getEnrichmentHeaders()));
+        return headers;
+    }
+
+    @Data
+    public static class Target {
+        private Map<String, String> enrichmentHeaders = new LinkedHashMap<>();
+    }
+}
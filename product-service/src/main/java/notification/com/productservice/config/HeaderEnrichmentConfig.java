@@ -0,0 +1,20 @@
+package notification.com.productservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "services.header-interceptor")
+public class HeaderEnrichmentConfig {
+
+    private String url = "http://helper-service";
+    // Enrich with the embedded header-enrichment library instead of calling helper-service
+    private boolean inProcess = true;
+    // Call helper-service when in-process enrichment fails
+    private boolean remoteFallback = false;
+    private Duration timeout = Duration.ofSeconds(5);
+}
@@ -1,37 +1,85 @@
 package notification.com.productservice.config;
 
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import notification.com.headerenrichment.HeaderEnricher;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
 
-import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
 
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class HeaderInterceptorClientService {
 
-    private final WebClient.Builder webClientBuilder;
+    private final WebClient webClient;
+    private final HeaderEnrichmentConfig config;
+    private final HeaderEnricher enricher;
+    private final String serviceName;
 
-    @Value("${services.header-interceptor.url:http://helper-service}")
-    private String headerInterceptorUrl;
+    public HeaderInterceptorClientService(WebClient.Builder webClientBuilder,
+                                          HeaderEnrichmentConfig config,
+                                          EnrichmentHeadersConfig enrichmentHeadersConfig,
+                                          @Value("${spring.application.name}") String serviceName) {
+        this.webClient = webClientBuilder.baseUrl(config.getUrl()).build();
+        this.config = config;
+        this.serviceName = serviceName;
+        this.enricher = new HeaderEnricher(serviceName);
+        enricher.configure(enrichmentHeadersConfig.getEnrichmentHeadersByTarget(),
+                enrichmentHeadersConfig.getDefaultEnrichmentHeaders());
+    }
 
     public Mono<Map<String, Object>> enrichHeaders(Map<String, String> headers) {
+        return enrichHeaders(headers, serviceName);
+    }
+
+    /**
+     * Enriches in-process by default; the deterministic header additions need no round trip to
+     * helper-service. The remote call is used when in-process enrichment is disabled, or as a fallback
+     * when {@code remote-fallback} is set.
+     */
+    public Mono<Map<String, Object>> enrichHeaders(Map<String, String> headers, String targetService) {
+        if (!config.isInProcess()) {
+            return enrichRemotely(headers, targetService);
+        }
+        Mono<Map<String, Object>> local = Mono.fromCallable(() -> enrichLocally(headers, targetService));
+        if (!config.isRemoteFallback()) {
+            return local.onErrorResume(error -> {
+                log.error("Failed to enrich headers in-process: {}", error.getMessage());
+                return Mono.just(createErrorResponse());
+            });
+        }
+        return local.onErrorResume(error -> {
+            log.warn("In-process header enrichment failed, calling header interceptor: {}", error.getMessage());
+            return enrichRemotely(headers, targetService);
+        });
+    }
+
+    private Map<String, Object> enrichLocally(Map<String, String> headers, String targetService) {
+        Map<String, String> enrichedHeaders = enricher.enrich(headers, targetService);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("message", "Headers enriched successfully");
+        response.put("processedBy", serviceName);
+        response.put("targetService", targetService);
+        response.put("originalHeaders", headers);
+        response.put("enrichedHeaders", enrichedHeaders);
+        response.put("enrichmentCount", enrichedHeaders.size() - headers.size());
+        return response;
+    }
+
+    private Mono<Map<String, Object>> enrichRemotely(Map<String, String> headers, String targetService) {
         log.info("Calling header interceptor service to enrich headers {}", headers);
 
-        return webClientBuilder.build()
-                .post()
-                .uri(headerInterceptorUrl + "/api/v1/headers/enrich")
-                .bodyValue(headers)
+        return webClient.post()
+                .uri("/api/v1/headers/enrich")
+                .bodyValue(Map.of("headers", headers, "targetService", targetService))
                 .retrieve()
                 .bodyToMono(new ParameterizedTypeReference<Map<String, Object>>() {})
-                .timeout(Duration.ofSeconds(5))
+                .timeout(config.getTimeout())
                 .doOnSuccess(response -> log.info("Headers enriched successfully"))
                 .doOnError(error -> log.error("Failed to enrich headers: {}", error.getMessage()))
                 .onErrorReturn(createErrorResponse());
@@ -0,0 +1,11 @@
+package notification.com.productservice.config;
+
+import notification.com.jwtsupport.JwkSetProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+// JWK set settings come from JwkSetProperties in jwt-support
+@Configuration
+@ConfigurationProperties(prefix = "security.jwt")
+public class JwtConfig extends JwkSetProperties {
+}
@@ -0,0 +1,14 @@
+package notification.com.productservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "product.bulk")
+public class ProductBulkConfig {
+
+    // Items written per transaction; keep it a multiple of hibernate.jdbc.batch_size
+    private int chunkSize = 500;
+}
@@ -0,0 +1,36 @@
+package notification.com.productservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "product.cache")
+public class ProductCacheConfig {
+
+    private boolean enabled = true;
+    // Products by id
+    private Spec products = new Spec(10_000, Duration.ofMinutes(10));
+    // Ids of the active products in each category
+    private Spec categoryIds = new Spec(1_000, Duration.ofMinutes(5));
+    // Page 0 of the catalog listing per size and sort
+    private Spec firstPages = new Spec(200, Duration.ofMinutes(1));
+
+    @Data
+    public static class Spec {
+        private long maxSize;
+        // Upper bound on staleness for writes made by other instances, which never reach this cache
+        private Duration ttl;
+
+        public Spec() {
+        }
+
+        public Spec(long maxSize, Duration ttl) {
+            this.maxSize = maxSize;
+            this.ttl = ttl;
+        }
+    }
+}
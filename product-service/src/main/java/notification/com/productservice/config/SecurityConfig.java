@@ -1,15 +1,20 @@
 package notification.com.productservice.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import notification.com.jwtsupport.CachedJwkJwtDecoder;
+import notification.com.jwtsupport.JwkSetCache;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
+import org.springframework.web.reactive.function.client.WebClient;
 
 import java.util.Arrays;
 
@@ -32,7 +37,17 @@ public class SecurityConfig {
     }
 
     @Bean
-    SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    JwkSetCache jwkSetCache(WebClient.Builder webClientBuilder, JwtConfig jwtConfig, MeterRegistry meterRegistry) {
+        return new JwkSetCache(webClientBuilder.build(), jwtConfig, meterRegistry);
+    }
+
+    @Bean
+    JwtDecoder jwtDecoder(JwkSetCache jwkSetCache, JwtConfig jwtConfig, MeterRegistry meterRegistry) {
+        return new CachedJwkJwtDecoder(jwkSetCache, jwtConfig, meterRegistry);
+    }
+
+    @Bean
+    SecurityFilterChain securityFilterChain(HttpSecurity http, JwtDecoder jwtDecoder) throws Exception {
         http
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers(
@@ -44,7 +59,7 @@ public class SecurityConfig {
                         .anyRequest().authenticated()
                 )
                 .oauth2ResourceServer(oauth2 -> oauth2
-                        .jwt(jwt -> jwt.jwkSetUri("http://localhost:8080/oauth2/jwks"))
+                        .jwt(jwt -> jwt.decoder(jwtDecoder))
                 )
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
                 .csrf(AbstractHttpConfigurer::disable);
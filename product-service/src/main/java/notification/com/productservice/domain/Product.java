@@ -4,6 +4,8 @@ import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import notification.com.productservice.feature.product.repository.dto.ProductSummary;
+import org.hibernate.annotations.ColumnDefault;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -15,12 +17,29 @@ import java.time.LocalDateTime;
 @Setter
 @NoArgsConstructor
 @Entity
-@Table(name = "products")
+@Table(name = "products", indexes = {
+        // Keyset pagination over the active catalog, newest first
+        @Index(name = "idx_products_active_created_id", columnList = "is_active, created_date, id"),
+        // Listing version for conditional GETs: max(last_modified_date) is a single index probe
+        @Index(name = "idx_products_last_modified", columnList = "last_modified_date")
+})
 @EntityListeners(AuditingEntityListener.class)
+// Full-text search has no JPQL form, so its native query is mapped onto the listing view here
+@SqlResultSetMapping(name = "ProductSummary", classes = @ConstructorResult(targetClass = ProductSummary.class, columns = {
+        @ColumnResult(name = "id", type = Long.class),
+        @ColumnResult(name = "name", type = String.class),
+        @ColumnResult(name = "price", type = BigDecimal.class),
+        @ColumnResult(name = "quantity", type = Integer.class),
+        @ColumnResult(name = "category", type = String.class),
+        @ColumnResult(name = "image_url", type = String.class),
+        @ColumnResult(name = "created_date", type = LocalDateTime.class)
+}))
 public class Product {
 
+    // Pooled sequence: one round trip reserves 50 ids and, unlike IDENTITY, lets Hibernate batch inserts
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "products_seq")
+    @SequenceGenerator(name = "products_seq", sequenceName = "products_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -44,4 +63,10 @@ public class Product {
 
     @LastModifiedDate
     private LocalDateTime lastModifiedDate;
+
+    // Guards whole-entity updates; stock reservations bump it from SQL so those updates notice them
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
 }
@@ -0,0 +1,34 @@
+package notification.com.productservice.domain;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+// Stock taken by one reserve call; releasing it gives back exactly these lines and deletes it
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(name = "stock_reservations")
+@EntityListeners(AuditingEntityListener.class)
+public class StockReservation {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @ElementCollection(fetch = FetchType.EAGER)
+    @CollectionTable(name = "stock_reservation_lines", joinColumns = @JoinColumn(name = "reservation_id"))
+    private List<StockReservationLine> lines = new ArrayList<>();
+
+    @CreatedDate
+    private LocalDateTime createdDate;
+}
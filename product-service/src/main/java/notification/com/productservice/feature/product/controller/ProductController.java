@@ -1,19 +1,38 @@
 package notification.com.productservice.feature.product.controller;
 
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import notification.com.productservice.feature.product.repository.dto.BulkResponse;
+import notification.com.productservice.feature.product.repository.dto.ProductBulkUpdateRequest;
 import notification.com.productservice.feature.product.repository.dto.ProductCreateRequest;
+import notification.com.productservice.feature.product.repository.dto.ProductListing;
 import notification.com.productservice.feature.product.repository.dto.ProductResponse;
+import notification.com.productservice.feature.product.repository.dto.ProductSliceResponse;
 import notification.com.productservice.feature.product.repository.dto.RequestContext;
+import notification.com.productservice.feature.product.repository.dto.ResourceVersion;
+import notification.com.productservice.feature.product.repository.dto.StockLine;
+import notification.com.productservice.feature.product.repository.dto.StockReleaseRequest;
+import notification.com.productservice.feature.product.repository.dto.StockRequest;
+import notification.com.productservice.feature.product.repository.dto.StockReservationResponse;
+import notification.com.productservice.feature.product.service.ProductBulkService;
 import notification.com.productservice.feature.product.service.ProductService;
-import org.springframework.data.domain.Page;
+import notification.com.productservice.feature.product.service.ProductStockService;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.*;
 
@@ -23,7 +42,12 @@ import java.util.*;
 @Slf4j
 public class ProductController {
 
+    private static final Set<String> PER_REQUEST_FIELDS = Set.of("timestamp", "correlationId", "requestId");
+
     private final ProductService productService;
+    private final ProductBulkService productBulkService;
+    private final ProductStockService productStockService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
     @PreAuthorize("hasAuthority('ADMIN') or hasAuthority('EDITOR')")
@@ -52,20 +76,132 @@ public class ProductController {
         }
     }
 
+    // Accepts a JSON array or NDJSON and streams it into chunked, batched inserts; results are per item
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    @PreAuthorize("hasAuthority('ADMIN') or hasAuthority('EDITOR')")
+    public ResponseEntity<Map<String, Object>> importProducts(HttpServletRequest httpRequest) {
+
+        RequestContext context = extractRequestContext(httpRequest);
+        logRequestDetails(context, "BULK_CREATE_PRODUCTS");
+
+        try (MappingIterator<ProductCreateRequest> items = objectMapper.readerFor(ProductCreateRequest.class)
+                .readValues(httpRequest.getInputStream())) {
+            String createdBy = context.getUsername() != null ? context.getUsername() : "system";
+            BulkResponse result = productBulkService.importProducts(items, createdBy);
+
+            return ResponseEntity.ok(createSuccessResponse("Bulk import processed", result, context));
+
+        } catch (Exception e) {
+            log.error("Failed to import products - Correlation-ID: {}, Error: {}",
+                    context.getCorrelationId(), e.getMessage());
+
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(createErrorResponse("Failed to import products", context, e));
+        }
+    }
+
+    @PutMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    @PreAuthorize("hasAuthority('ADMIN') or hasAuthority('EDITOR')")
+    public ResponseEntity<Map<String, Object>> updateProducts(HttpServletRequest httpRequest) {
+
+        RequestContext context = extractRequestContext(httpRequest);
+        logRequestDetails(context, "BULK_UPDATE_PRODUCTS");
+
+        try (MappingIterator<ProductBulkUpdateRequest> items = objectMapper.readerFor(ProductBulkUpdateRequest.class)
+                .readValues(httpRequest.getInputStream())) {
+            String updatedBy = context.getUsername() != null ? context.getUsername() : "system";
+            BulkResponse result = productBulkService.updateProducts(items, updatedBy);
+
+            return ResponseEntity.ok(createSuccessResponse("Bulk update processed", result, context));
+
+        } catch (Exception e) {
+            log.error("Failed to update products - Correlation-ID: {}, Error: {}",
+                    context.getCorrelationId(), e.getMessage());
+
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(createErrorResponse("Failed to update products", context, e));
+        }
+    }
+
+    // Reserves stock for every line or for none; 409 when any product is short
+    @PreAuthorize("hasAuthority('ADMIN') or hasAuthority('SYSTEM')")
+    @PostMapping("/stock/reserve")
+    public ResponseEntity<Map<String, Object>> reserveStock(
+            @Valid @RequestBody StockRequest request,
+            HttpServletRequest httpRequest) {
+
+        RequestContext context = extractRequestContext(httpRequest);
+        logRequestDetails(context, "RESERVE_STOCK");
+
+        try {
+            StockReservationResponse reserved = productStockService.reserveStock(request.items());
+            return ResponseEntity.ok(createSuccessResponse("Stock reserved successfully", reserved, context));
+
+        } catch (ResponseStatusException e) {
+            return ResponseEntity.status(e.getStatusCode())
+                    .body(createErrorResponse("Failed to reserve stock", context, e));
+
+        } catch (Exception e) {
+            log.error("Failed to reserve stock - Correlation-ID: {}, Error: {}",
+                    context.getCorrelationId(), e.getMessage());
+
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(createErrorResponse("Failed to reserve stock", context, e));
+        }
+    }
+
+    // Gives back what an earlier reservation took, once; 404 for an unknown or already released reservation
+    @PreAuthorize("hasAuthority('ADMIN') or hasAuthority('SYSTEM')")
+    @PostMapping("/stock/release")
+    public ResponseEntity<Map<String, Object>> releaseStock(
+            @Valid @RequestBody StockReleaseRequest request,
+            HttpServletRequest httpRequest) {
+
+        RequestContext context = extractRequestContext(httpRequest);
+        logRequestDetails(context, "RELEASE_STOCK");
+
+        try {
+            List<StockLine> released = productStockService.releaseStock(request.reservationId());
+            return ResponseEntity.ok(createSuccessResponse("Stock released successfully", released, context));
+
+        } catch (ResponseStatusException e) {
+            return ResponseEntity.status(e.getStatusCode())
+                    .body(createErrorResponse("Failed to release stock", context, e));
+
+        } catch (Exception e) {
+            log.error("Failed to release stock - Correlation-ID: {}, Error: {}",
+                    context.getCorrelationId(), e.getMessage());
+
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(createErrorResponse("Failed to release stock", context, e));
+        }
+    }
+
+    // Conditional requests are answered from a version lookup; a match returns 304 without loading the product
     @GetMapping("/{id}")
     public ResponseEntity<Map<String, Object>> getProduct(
             @PathVariable Long id,
-            HttpServletRequest httpRequest) {
+            HttpServletRequest httpRequest,
+            WebRequest webRequest) {
 
         RequestContext context = extractRequestContext(httpRequest);
         logRequestDetails(context, "GET_PRODUCT");
 
         try {
-            ProductResponse productResponse = productService.getProductById(id);
-            Map<String, Object> response = createSuccessResponse(
+            ProductResponse productResponse;
+            if (isConditional(httpRequest)) {
+                ResourceVersion current = productService.getProductVersion(id);
+                if (webRequest.checkNotModified(current.eTag(), current.lastModified())) {
+                    return null;
+                }
+                productResponse = productService.getProductById(id, current);
+            } else {
+                productResponse = productService.getProductById(id);
+            }
+            Map<String, Object> response = createCatalogResponse(
                     "Product retrieved successfully", productResponse, context);
 
-            return ResponseEntity.ok(response);
+            return withValidators(catalogResponse(context), productService.versionOf(productResponse)).body(response);
 
         } catch (Exception e) {
             log.error("Failed to get product {} - Correlation-ID: {}, Error: {}",
@@ -82,20 +218,65 @@ public class ProductController {
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "createdDate") String sortBy,
             @RequestParam(defaultValue = "desc") String sortDir,
-            HttpServletRequest httpRequest) {
+            HttpServletRequest httpRequest,
+            WebRequest webRequest) {
 
         RequestContext context = extractRequestContext(httpRequest);
         logRequestDetails(context, "GET_ALL_PRODUCTS");
 
         try {
-            Page<ProductResponse> products = productService.getAllProducts(page, size, sortBy, sortDir);
-            Map<String, Object> response = createSuccessResponse(
+            // Polling clients get 304 while no product has changed since their copy; unconditional
+            // requests skip the version lookup and can be served from the page cache
+            ProductListing listing;
+            if (isConditional(httpRequest)) {
+                ResourceVersion current = productService.getListingVersion(page, size, sortBy, sortDir);
+                if (webRequest.checkNotModified(current.eTag(), current.lastModified())) {
+                    return null;
+                }
+                listing = productService.getAllProducts(page, size, sortBy, sortDir, current);
+            } else {
+                listing = productService.getAllProducts(page, size, sortBy, sortDir);
+            }
+            Map<String, Object> response = createCatalogResponse(
+                    "Products retrieved successfully", listing.products(), context);
+
+            return withValidators(catalogResponse(context), listing.version()).body(response);
+
+        } catch (Exception e) {
+            log.error("Failed to get products - Correlation-ID: {}, Error: {}",
+                    context.getCorrelationId(), e.getMessage());
+
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(createErrorResponse("Failed to retrieve products", context, e));
+        }
+    }
+
+    // Cursor-based listing for deep scrolling: pass back data.nextCursor to fetch the next slice
+    @GetMapping("/scroll")
+    public ResponseEntity<Map<String, Object>> scrollProducts(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) BigDecimal minPrice,
+            @RequestParam(required = false) BigDecimal maxPrice,
+            @RequestParam(required = false) String category,
+            HttpServletRequest httpRequest) {
+
+        RequestContext context = extractRequestContext(httpRequest);
+        logRequestDetails(context, "SCROLL_PRODUCTS");
+
+        try {
+            ProductSliceResponse products = productService.getProductSlice(cursor, size, minPrice, maxPrice, category);
+            Map<String, Object> response = createCatalogResponse(
                     "Products retrieved successfully", products, context);
 
-            return ResponseEntity.ok(response);
+            return catalogResponse(context).body(response);
+
+        } catch (ResponseStatusException e) {
+            return ResponseEntity.status(e.getStatusCode())
+                    .body(createErrorResponse("Failed to retrieve products", context, e));
 
         } catch (Exception e) {
-            log.error("Failed to get products - Correlation-ID: {}, Error: {}",
+            log.error("Failed to scroll products - Correlation-ID: {}, Error: {}",
                     context.getCorrelationId(), e.getMessage());
 
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -114,7 +295,8 @@ public class ProductController {
         response.put("userContext", createUserContext(context));
         response.put("routingInfo", createRoutingInfo(context));
 
-        return ResponseEntity.ok(response);
+        // Echoes the caller's token and identity, so no cache may keep it
+        return ResponseEntity.ok().cacheControl(CacheControl.noStore()).body(response);
     }
 
     @GetMapping("/health")
@@ -134,6 +316,19 @@ public class ProductController {
     }
 
     // Helper methods
+    private boolean isConditional(HttpServletRequest request) {
+        return request.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                || request.getHeader(HttpHeaders.IF_MODIFIED_SINCE) != null;
+    }
+
+    private ResponseEntity.BodyBuilder withValidators(ResponseEntity.BodyBuilder builder, ResourceVersion version) {
+        builder.eTag(version.eTag());
+        if (version.lastModified() >= 0) {
+            builder.lastModified(version.lastModified());
+        }
+        return builder;
+    }
+
     private RequestContext extractRequestContext(HttpServletRequest request) {
         return RequestContext.builder()
                 .correlationId(getHeaderValue(request, "X-Correlation-ID"))
@@ -193,6 +388,23 @@ public class ProductController {
         return response;
     }
 
+    // Catalog reads may be stored by the gateway cache and replayed to other callers, so their body carries
+    // no per-request data; the tracing ids travel as response headers instead
+    private Map<String, Object> createCatalogResponse(String message, Object data, RequestContext context) {
+        Map<String, Object> response = createSuccessResponse(message, data, context);
+        response.keySet().removeAll(PER_REQUEST_FIELDS);
+        return response;
+    }
+
+    // public lets the gateway share the response between authenticated callers; max-age=0 keeps clients
+    // revalidating with the ETag instead of trusting their own copy
+    private ResponseEntity.BodyBuilder catalogResponse(RequestContext context) {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(Duration.ZERO).cachePublic())
+                .header("X-Correlation-ID", context.getCorrelationId())
+                .header("X-Request-ID", context.getRequestId());
+    }
+
     private Map<String, Object> createErrorResponse(String message, RequestContext context, Exception e) {
         Map<String, Object> response = new HashMap<>();
         response.put("error", message);
@@ -17,11 +17,13 @@ public interface ProductMapper {
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "createdDate", ignore = true)
     @Mapping(target = "lastModifiedDate", ignore = true)
+    @Mapping(target = "version", ignore = true)
     @Mapping(target = "isActive", constant = "true")
     Product fromProductCreateRequest(ProductCreateRequest request);
 
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "createdDate", ignore = true)
     @Mapping(target = "lastModifiedDate", ignore = true)
+    @Mapping(target = "version", ignore = true)
     void updateProductFromRequest(ProductUpdateRequest request, @MappingTarget Product product);
 }
\ No newline at end of file
@@ -1,38 +1,103 @@
 package notification.com.productservice.feature.product.repository;
 
 import notification.com.productservice.domain.Product;
+import notification.com.productservice.feature.product.repository.dto.ProductSummary;
+import notification.com.productservice.feature.product.repository.dto.ProductVersion;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.NativeQuery;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface ProductRepository extends JpaRepository<Product, Long> {
+@Transactional(readOnly = true)
+public interface ProductRepository extends JpaRepository<Product, Long>, ProductStockRepository {
 
     Optional<Product> findByIdAndIsActiveTrue(Long id);
 
-    Page<Product> findAllByIsActiveTrue(Pageable pageable);
+    List<Product> findAllByIdInAndIsActiveTrue(Collection<Long> ids);
 
-    List<Product> findByCategoryAndIsActiveTrue(String category);
+    // Version lookups answer conditional GETs without loading the product
+    @Query("SELECT new notification.com.productservice.feature.product.repository.dto.ProductVersion(" +
+            "p.id, p.version, p.lastModifiedDate) FROM Product p WHERE p.id = :id AND p.isActive = true")
+    Optional<ProductVersion> findActiveVersion(@Param("id") Long id);
 
-    @Query("SELECT p FROM Product p WHERE p.isActive = true AND " +
+    // Every write, including soft deletes and stock changes, moves lastModifiedDate forward
+    @Query("SELECT max(p.lastModifiedDate) FROM Product p")
+    LocalDateTime findLatestModification();
+
+    @Query("SELECT p.id FROM Product p WHERE p.category = :category AND p.isActive = true ORDER BY p.id")
+    List<Long> findActiveIdsByCategory(@Param("category") String category);
+
+    // Listing queries select straight into ProductSummary: no description column, no entity hydration
+    @Query(value = "SELECT new notification.com.productservice.feature.product.repository.dto.ProductSummary(" +
+            "p.id, p.name, p.price, p.quantity, p.category, p.imageUrl, p.createdDate) " +
+            "FROM Product p WHERE p.isActive = true",
+            countQuery = "SELECT count(p) FROM Product p WHERE p.isActive = true")
+    Page<ProductSummary> findActiveSummaries(Pageable pageable);
+
+    // Keyset listing, newest first, served by idx_products_active_created_id. The redundant
+    // createdDate <= bound gives the index scan its starting point; returning a Slice skips the count.
+    @Query("SELECT new notification.com.productservice.feature.product.repository.dto.ProductSummary(" +
+            "p.id, p.name, p.price, p.quantity, p.category, p.imageUrl, p.createdDate) " +
+            "FROM Product p WHERE p.isActive = true AND " +
+            "(:minPrice IS NULL OR p.price >= :minPrice) AND " +
+            "(:maxPrice IS NULL OR p.price <= :maxPrice) AND " +
+            "(:category IS NULL OR p.category = :category) " +
+            "ORDER BY p.createdDate DESC, p.id DESC")
+    Slice<ProductSummary> findFirstSlice(@Param("minPrice") BigDecimal minPrice,
+                                         @Param("maxPrice") BigDecimal maxPrice,
+                                         @Param("category") String category,
+                                         Pageable pageable);
+
+    @Query("SELECT new notification.com.productservice.feature.product.repository.dto.ProductSummary(" +
+            "p.id, p.name, p.price, p.quantity, p.category, p.imageUrl, p.createdDate) " +
+            "FROM Product p WHERE p.isActive = true AND " +
+            "p.createdDate <= :createdDate AND " +
+            "(p.createdDate < :createdDate OR p.id < :id) AND " +
             "(:minPrice IS NULL OR p.price >= :minPrice) AND " +
             "(:maxPrice IS NULL OR p.price <= :maxPrice) AND " +
-            "(:category IS NULL OR p.category = :category)")
-    Page<Product> findWithFilters(@Param("minPrice") BigDecimal minPrice,
-                                  @Param("maxPrice") BigDecimal maxPrice,
-                                  @Param("category") String category,
-                                  Pageable pageable);
-
-    @Query("SELECT p FROM Product p WHERE p.isActive = true AND " +
-            "(LOWER(p.name) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
-            "LOWER(p.description) LIKE LOWER(CONCAT('%', :keyword, '%')))")
-    Page<Product> searchProducts(@Param("keyword") String keyword, Pageable pageable);
+            "(:category IS NULL OR p.category = :category) " +
+            "ORDER BY p.createdDate DESC, p.id DESC")
+    Slice<ProductSummary> findSliceBefore(@Param("createdDate") LocalDateTime createdDate,
+                                          @Param("id") Long id,
+                                          @Param("minPrice") BigDecimal minPrice,
+                                          @Param("maxPrice") BigDecimal maxPrice,
+                                          @Param("category") String category,
+                                          Pageable pageable);
+
+    @Query(value = "SELECT new notification.com.productservice.feature.product.repository.dto.ProductSummary(" +
+            "p.id, p.name, p.price, p.quantity, p.category, p.imageUrl, p.createdDate) " +
+            "FROM Product p WHERE p.isActive = true AND " +
+            "(:minPrice IS NULL OR p.price >= :minPrice) AND " +
+            "(:maxPrice IS NULL OR p.price <= :maxPrice) AND " +
+            "(:category IS NULL OR p.category = :category)",
+            countQuery = "SELECT count(p) FROM Product p WHERE p.isActive = true AND " +
+                    "(:minPrice IS NULL OR p.price >= :minPrice) AND " +
+                    "(:maxPrice IS NULL OR p.price <= :maxPrice) AND " +
+                    "(:category IS NULL OR p.category = :category)")
+    Page<ProductSummary> findWithFilters(@Param("minPrice") BigDecimal minPrice,
+                                         @Param("maxPrice") BigDecimal maxPrice,
+                                         @Param("category") String category,
+                                         Pageable pageable);
+
+    // Served by the GIN index on search_vector (see ProductSearchIndexInitializer); ranked, so the
+    // pageable must not carry a sort. Selects only the summary columns, and a Slice skips counting matches
+    @NativeQuery(value = "SELECT p.id, p.name, p.price, p.quantity, p.category, p.image_url, p.created_date " +
+            "FROM products p " +
+            "WHERE p.is_active = true AND p.search_vector @@ to_tsquery('simple', :query) " +
+            "ORDER BY ts_rank_cd(p.search_vector, to_tsquery('simple', :query)) DESC, p.id DESC",
+            sqlResultSetMapping = "ProductSummary")
+    Slice<ProductSummary> searchProducts(@Param("query") String tsQuery, Pageable pageable);
 }
 
@@ -0,0 +1,20 @@
+package notification.com.productservice.feature.product.repository;
+
+import notification.com.productservice.feature.product.repository.dto.StockLine;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Atomic stock changes issued as conditional UPDATEs, one JDBC batch per call. Each returned element is
+ * the row count for the line at the same position: 0 means the product is missing, inactive or (for
+ * reservations) short of stock.
+ */
+public interface ProductStockRepository {
+
+    @Transactional
+    int[] reserveStock(List<StockLine> lines);
+
+    @Transactional
+    int[] releaseStock(List<StockLine> lines);
+}
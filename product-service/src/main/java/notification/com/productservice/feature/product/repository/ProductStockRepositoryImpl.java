@@ -0,0 +1,39 @@
+package notification.com.productservice.feature.product.repository;
+
+import lombok.RequiredArgsConstructor;
+import notification.com.productservice.feature.product.repository.dto.StockLine;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@RequiredArgsConstructor
+class ProductStockRepositoryImpl implements ProductStockRepository {
+
+    // The quantity check and the decrement happen in one statement, so no lost update is possible.
+    // Bumping version makes a concurrent whole-entity update fail its optimistic check.
+    private static final String RESERVE = "UPDATE products SET quantity = quantity - ?, version = version + 1, " +
+            "last_modified_date = ? WHERE id = ? AND is_active = true AND quantity >= ?";
+
+    private static final String RELEASE = "UPDATE products SET quantity = quantity + ?, version = version + 1, " +
+            "last_modified_date = ? WHERE id = ? AND is_active = true";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public int[] reserveStock(List<StockLine> lines) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        return jdbcTemplate.batchUpdate(RESERVE, lines.stream()
+                .map(line -> new Object[]{line.quantity(), now, line.productId(), line.quantity()})
+                .toList());
+    }
+
+    @Override
+    public int[] releaseStock(List<StockLine> lines) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        return jdbcTemplate.batchUpdate(RELEASE, lines.stream()
+                .map(line -> new Object[]{line.quantity(), now, line.productId()})
+                .toList());
+    }
+}
@@ -0,0 +1,21 @@
+package notification.com.productservice.feature.product.repository;
+
+import jakarta.persistence.LockModeType;
+import notification.com.productservice.domain.StockReservation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface StockReservationRepository extends JpaRepository<StockReservation, UUID> {
+
+    // Row lock: a concurrent release of the same reservation waits, then finds it deleted
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM StockReservation r WHERE r.id = :id")
+    Optional<StockReservation> findForRelease(@Param("id") UUID id);
+}
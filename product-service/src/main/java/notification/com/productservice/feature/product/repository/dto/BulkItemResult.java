@@ -0,0 +1,13 @@
+package notification.com.productservice.feature.product.repository.dto;
+
+public record BulkItemResult(
+        int index,
+        Long id,
+        BulkItemStatus status,
+        String error
+) {
+
+    public enum BulkItemStatus {
+        CREATED, UPDATED, INVALID, NOT_FOUND, FAILED
+    }
+}
@@ -0,0 +1,12 @@
+package notification.com.productservice.feature.product.repository.dto;
+
+import java.util.List;
+
+public record BulkResponse(
+        int total,
+        int succeeded,
+        int failed,
+        // Set when reading stopped early because the input could not be parsed
+        String inputError,
+        List<BulkItemResult> items
+) {}
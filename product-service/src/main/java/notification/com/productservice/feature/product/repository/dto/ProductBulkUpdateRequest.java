@@ -0,0 +1,13 @@
+package notification.com.productservice.feature.product.repository.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+
+public record ProductBulkUpdateRequest(
+        @NotNull(message = "Product ID is required")
+        Long id,
+
+        @Valid
+        @NotNull(message = "Product changes are required")
+        ProductUpdateRequest product
+) {}
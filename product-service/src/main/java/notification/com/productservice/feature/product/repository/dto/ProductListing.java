@@ -0,0 +1,12 @@
+package notification.com.productservice.feature.product.repository.dto;
+
+import org.springframework.data.domain.Page;
+
+/**
+ * A listing page together with the version it was read under, so a cached page is always served with
+ * the tag that matches its contents.
+ */
+public record ProductListing(
+        Page<ProductSummary> products,
+        ResourceVersion version
+) {}
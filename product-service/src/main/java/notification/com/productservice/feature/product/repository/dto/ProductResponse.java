@@ -14,6 +14,7 @@ public record ProductResponse(
         String imageUrl,
         Boolean isActive,
         LocalDateTime createdDate,
-        LocalDateTime lastModifiedDate
+        LocalDateTime lastModifiedDate,
+        Long version
 ) {}
 
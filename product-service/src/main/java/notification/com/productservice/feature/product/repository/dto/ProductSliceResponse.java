@@ -0,0 +1,10 @@
+package notification.com.productservice.feature.product.repository.dto;
+
+import java.util.List;
+
+public record ProductSliceResponse(
+        List<ProductSummary> content,
+        int size,
+        boolean hasNext,
+        String nextCursor
+) {}
@@ -0,0 +1,18 @@
+package notification.com.productservice.feature.product.repository.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Listing view of a product, selected directly by JPQL constructor expressions. It leaves out the
+ * description, and rows never become managed entities.
+ */
+public record ProductSummary(
+        Long id,
+        String name,
+        BigDecimal price,
+        Integer quantity,
+        String category,
+        String imageUrl,
+        LocalDateTime createdDate
+) {}
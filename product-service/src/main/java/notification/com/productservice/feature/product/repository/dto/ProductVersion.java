@@ -0,0 +1,9 @@
+package notification.com.productservice.feature.product.repository.dto;
+
+import java.time.LocalDateTime;
+
+public record ProductVersion(
+        Long id,
+        Long version,
+        LocalDateTime lastModifiedDate
+) {}
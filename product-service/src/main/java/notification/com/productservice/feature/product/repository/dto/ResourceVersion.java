@@ -0,0 +1,10 @@
+package notification.com.productservice.feature.product.repository.dto;
+
+/**
+ * Validators for a conditional GET: the entity tag and the last modification time in epoch millis
+ * (-1 when unknown).
+ */
+public record ResourceVersion(
+        String eTag,
+        long lastModified
+) {}
@@ -0,0 +1,13 @@
+package notification.com.productservice.feature.product.repository.dto;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+public record StockLine(
+        @NotNull(message = "Product ID is required")
+        Long productId,
+
+        @NotNull(message = "Quantity is required")
+        @Min(value = 1, message = "Quantity must be at least 1")
+        Integer quantity
+) {}
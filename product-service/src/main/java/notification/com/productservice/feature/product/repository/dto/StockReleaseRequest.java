@@ -0,0 +1,10 @@
+package notification.com.productservice.feature.product.repository.dto;
+
+import jakarta.validation.constraints.NotNull;
+
+import java.util.UUID;
+
+public record StockReleaseRequest(
+        @NotNull(message = "Reservation ID is required")
+        UUID reservationId
+) {}
@@ -0,0 +1,13 @@
+package notification.com.productservice.feature.product.repository.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record StockRequest(
+        @NotEmpty(message = "At least one item is required")
+        @Size(max = 200, message = "A request cannot hold more than 200 items")
+        List<@Valid StockLine> items
+) {}
@@ -0,0 +1,9 @@
+package notification.com.productservice.feature.product.repository.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+public record StockReservationResponse(
+        UUID reservationId,
+        List<StockLine> items
+) {}
@@ -0,0 +1,12 @@
+package notification.com.productservice.feature.product.service;
+
+import notification.com.productservice.feature.product.repository.dto.BulkResponse;
+import notification.com.productservice.feature.product.repository.dto.ProductBulkUpdateRequest;
+import notification.com.productservice.feature.product.repository.dto.ProductCreateRequest;
+
+import java.util.Iterator;
+
+public interface ProductBulkService {
+    BulkResponse importProducts(Iterator<ProductCreateRequest> items, String createdBy);
+    BulkResponse updateProducts(Iterator<ProductBulkUpdateRequest> items, String updatedBy);
+}
@@ -0,0 +1,207 @@
+package notification.com.productservice.feature.product.service;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import notification.com.productservice.config.ProductBulkConfig;
+import notification.com.productservice.domain.Product;
+import notification.com.productservice.feature.product.mapper.ProductMapper;
+import notification.com.productservice.feature.product.repository.ProductRepository;
+import notification.com.productservice.feature.product.repository.dto.BulkItemResult;
+import notification.com.productservice.feature.product.repository.dto.BulkItemResult.BulkItemStatus;
+import notification.com.productservice.feature.product.repository.dto.BulkResponse;
+import notification.com.productservice.feature.product.repository.dto.ProductBulkUpdateRequest;
+import notification.com.productservice.feature.product.repository.dto.ProductCreateRequest;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Writes large product batches in chunks, one transaction per chunk. Ids come from a pooled sequence,
+ * so Hibernate can group each chunk's statements into JDBC batches. A chunk that fails as a whole is
+ * replayed item by item, so one bad row only fails itself. Input is consumed as it is read, so memory
+ * stays bounded by the chunk size plus the per-item results.
+ */
+@Service
+@Slf4j
+public class ProductBulkServiceImpl implements ProductBulkService {
+
+    private final ProductRepository productRepository;
+    private final ProductMapper productMapper;
+    private final ProductCache productCache;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    public ProductBulkServiceImpl(ProductRepository productRepository,
+                                  ProductMapper productMapper,
+                                  ProductCache productCache,
+                                  Validator validator,
+                                  PlatformTransactionManager transactionManager,
+                                  ProductBulkConfig bulkConfig) {
+        this.productRepository = productRepository;
+        this.productMapper = productMapper;
+        this.productCache = productCache;
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = Math.max(1, bulkConfig.getChunkSize());
+    }
+
+    @Override
+    public BulkResponse importProducts(Iterator<ProductCreateRequest> items, String createdBy) {
+        return process(items, this::insertChunk);
+    }
+
+    @Override
+    public BulkResponse updateProducts(Iterator<ProductBulkUpdateRequest> items, String updatedBy) {
+        return process(items, this::updateChunk);
+    }
+
+    private <T> BulkResponse process(Iterator<T> items, Function<List<Item<T>>, List<BulkItemResult>> writer) {
+        List<BulkItemResult> results = new ArrayList<>();
+        List<Item<T>> chunk = new ArrayList<>(chunkSize);
+        String inputError = null;
+        int index = 0;
+
+        while (true) {
+            T value;
+            try {
+                if (!items.hasNext()) {
+                    break;
+                }
+                value = items.next();
+            } catch (RuntimeException e) {
+                // The parser cannot resynchronise after malformed input; keep what was read so far
+                inputError = "Unreadable input at item " + index + ": " + e.getMessage();
+                break;
+            }
+
+            String violations = validate(value);
+            if (violations != null) {
+                results.add(new BulkItemResult(index, null, BulkItemStatus.INVALID, violations));
+            } else {
+                chunk.add(new Item<>(index, value));
+                if (chunk.size() == chunkSize) {
+                    results.addAll(writer.apply(chunk));
+                    chunk = new ArrayList<>(chunkSize);
+                }
+            }
+            index++;
+        }
+        if (!chunk.isEmpty()) {
+            results.addAll(writer.apply(chunk));
+        }
+        // Invalid items are reported as they are read, ahead of their chunk
+        results.sort(Comparator.comparingInt(BulkItemResult::index));
+
+        int succeeded = (int) results.stream()
+                .filter(result -> result.status() == BulkItemStatus.CREATED || result.status() == BulkItemStatus.UPDATED)
+                .count();
+        log.info("Bulk write finished - items: {}, succeeded: {}, failed: {}", index, succeeded, index - succeeded);
+        return new BulkResponse(index, succeeded, index - succeeded, inputError, results);
+    }
+
+    private List<BulkItemResult> insertChunk(List<Item<ProductCreateRequest>> chunk) {
+        try {
+            return transactionTemplate.execute(status -> insert(chunk));
+        } catch (RuntimeException e) {
+            if (chunk.size() == 1) {
+                return List.of(failed(chunk.get(0).index(), null, e));
+            }
+            log.warn("Bulk insert chunk of {} failed, retrying item by item: {}", chunk.size(), e.getMessage());
+            return chunk.stream()
+                    .flatMap(item -> insertChunk(List.of(item)).stream())
+                    .toList();
+        }
+    }
+
+    private List<BulkItemResult> insert(List<Item<ProductCreateRequest>> chunk) {
+        List<Product> products = chunk.stream()
+                .map(item -> productMapper.fromProductCreateRequest(item.value()))
+                .toList();
+        productRepository.saveAll(products);
+        // Flush inside the transaction so a constraint violation fails this chunk rather than the commit
+        productRepository.flush();
+
+        products.stream().map(Product::getCategory).distinct().forEach(productCache::evictCategory);
+        productCache.evictFirstPages();
+
+        List<BulkItemResult> results = new ArrayList<>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            results.add(new BulkItemResult(chunk.get(i).index(), products.get(i).getId(), BulkItemStatus.CREATED, null));
+        }
+        return results;
+    }
+
+    private List<BulkItemResult> updateChunk(List<Item<ProductBulkUpdateRequest>> chunk) {
+        try {
+            return transactionTemplate.execute(status -> update(chunk));
+        } catch (RuntimeException e) {
+            if (chunk.size() == 1) {
+                Item<ProductBulkUpdateRequest> item = chunk.get(0);
+                return List.of(failed(item.index(), item.value().id(), e));
+            }
+            log.warn("Bulk update chunk of {} failed, retrying item by item: {}", chunk.size(), e.getMessage());
+            return chunk.stream()
+                    .flatMap(item -> updateChunk(List.of(item)).stream())
+                    .toList();
+        }
+    }
+
+    private List<BulkItemResult> update(List<Item<ProductBulkUpdateRequest>> chunk) {
+        Set<Long> ids = chunk.stream().map(item -> item.value().id()).collect(Collectors.toSet());
+        Map<Long, Product> products = productRepository.findAllByIdInAndIsActiveTrue(ids).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+
+        List<BulkItemResult> results = new ArrayList<>(chunk.size());
+        for (Item<ProductBulkUpdateRequest> item : chunk) {
+            Long id = item.value().id();
+            Product product = products.get(id);
+            if (product == null) {
+                results.add(new BulkItemResult(item.index(), id, BulkItemStatus.NOT_FOUND, "Product not found with ID: " + id));
+                continue;
+            }
+            productCache.evictCategory(product.getCategory());
+            productMapper.updateProductFromRequest(item.value().product(), product);
+            productCache.evictCategory(product.getCategory());
+            productCache.evictProduct(id);
+            results.add(new BulkItemResult(item.index(), id, BulkItemStatus.UPDATED, null));
+        }
+        // Dirty entities are written here as batched UPDATEs
+        productRepository.flush();
+        productCache.evictFirstPages();
+        return results;
+    }
+
+    private <T> String validate(T value) {
+        if (value == null) {
+            return "Item is null";
+        }
+        Set<ConstraintViolation<T>> violations = validator.validate(value);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private static BulkItemResult failed(int index, Long id, RuntimeException e) {
+        Throwable cause = NestedExceptionUtils.getMostSpecificCause(e);
+        return new BulkItemResult(index, id, BulkItemStatus.FAILED, cause.getMessage());
+    }
+
+    private record Item<T>(int index, T value) {
+    }
+}
@@ -0,0 +1,144 @@
+package notification.com.productservice.feature.product.service;
+
+import notification.com.productservice.feature.product.repository.dto.ProductListing;
+import notification.com.productservice.feature.product.repository.dto.ProductResponse;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Near cache for catalog reads. Products are cached by id; category listings cache only the ids and
+ * resolve them through the product cache, so updating a product never leaves a stale copy inside a
+ * listing. Concurrent misses on one key share a single load. Lookups happen outside any transaction,
+ * so a hit never borrows a database connection.
+ */
+@Component
+public class ProductCache {
+
+    public static final String PRODUCTS = "products";
+    public static final String CATEGORY_IDS = "productCategoryIds";
+    public static final String FIRST_PAGES = "productFirstPages";
+
+    private final Cache products;
+    private final Cache categoryIds;
+    private final Cache firstPages;
+    // Bumped right before each product eviction takes effect, so a batch load can tell it raced one
+    private final AtomicLong productEvictions = new AtomicLong();
+
+    public ProductCache(CacheManager cacheManager) {
+        this.products = cacheManager.getCache(PRODUCTS);
+        this.categoryIds = cacheManager.getCache(CATEGORY_IDS);
+        this.firstPages = cacheManager.getCache(FIRST_PAGES);
+    }
+
+    public ProductResponse getProduct(Long id, Supplier<ProductResponse> loader) {
+        return load(products, id, loader);
+    }
+
+    /**
+     * Returns the products for {@code ids} in the same order, loading all misses with one call.
+     * Ids the loader does not return (deleted in the meantime) are left out. Unlike single-key loads,
+     * the batch is not atomic against eviction: if a product eviction lands while it loads, the rows it
+     * just cached may predate that write and are evicted again.
+     */
+    public List<ProductResponse> getProducts(List<Long> ids, Function<List<Long>, List<ProductResponse>> loader) {
+        Map<Long, ProductResponse> found = new HashMap<>(ids.size() * 2);
+        List<Long> missing = new ArrayList<>();
+        for (Long id : ids) {
+            ProductResponse cached = products.get(id, ProductResponse.class);
+            if (cached != null) {
+                found.put(id, cached);
+            } else {
+                missing.add(id);
+            }
+        }
+        if (!missing.isEmpty()) {
+            long evictions = productEvictions.get();
+            List<ProductResponse> loaded = loader.apply(missing);
+            for (ProductResponse product : loaded) {
+                products.put(product.id(), product);
+                found.put(product.id(), product);
+            }
+            if (productEvictions.get() != evictions) {
+                loaded.forEach(product -> products.evict(product.id()));
+            }
+        }
+
+        List<ProductResponse> ordered = new ArrayList<>(found.size());
+        for (Long id : ids) {
+            ProductResponse product = found.get(id);
+            if (product != null) {
+                ordered.add(product);
+            }
+        }
+        return ordered;
+    }
+
+    public List<Long> getCategoryIds(String category, Supplier<List<Long>> loader) {
+        return load(categoryIds, category, () -> List.copyOf(loader.get()));
+    }
+
+    /**
+     * Page 0 of the catalog per size and sort, stored with the version it was read under.
+     */
+    public ProductListing getFirstPage(int size, String sortBy, String sortDir, Supplier<ProductListing> loader) {
+        return load(firstPages, firstPageKey(size, sortBy, sortDir), loader);
+    }
+
+    public void evictProduct(Long id) {
+        // Registered ahead of the cache's own after-commit eviction, so the count moves first
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    productEvictions.incrementAndGet();
+                }
+            });
+        } else {
+            productEvictions.incrementAndGet();
+        }
+        products.evict(id);
+    }
+
+    public void evictCategory(String category) {
+        if (category != null) {
+            categoryIds.evict(category);
+        }
+    }
+
+    public void evictFirstPage(int size, String sortBy, String sortDir) {
+        firstPages.evict(firstPageKey(size, sortBy, sortDir));
+    }
+
+    public void evictFirstPages() {
+        firstPages.clear();
+    }
+
+    private static String firstPageKey(int size, String sortBy, String sortDir) {
+        return size + ":" + sortBy + ":" + sortDir.toLowerCase(Locale.ROOT);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T load(Cache cache, Object key, Supplier<T> loader) {
+        try {
+            return (T) cache.get(key, loader::get);
+        } catch (Cache.ValueRetrievalException e) {
+            // Let the loader's own exceptions (e.g. 404 ResponseStatusException) through unwrapped
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
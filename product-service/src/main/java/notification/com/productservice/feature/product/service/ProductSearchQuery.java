@@ -0,0 +1,38 @@
+package notification.com.productservice.feature.product.service;
+
+import java.util.Locale;
+import java.util.StringJoiner;
+import java.util.regex.Pattern;
+
+/**
+ * Turns free text typed by a user into a Postgres {@code tsquery}. Every word must match and each word
+ * matches as a prefix, so "wire head" finds "Wireless Headphones" while the user is still typing.
+ * Only letters and digits survive, which keeps tsquery operators in the input from breaking the query.
+ */
+final class ProductSearchQuery {
+
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final int MAX_TERMS = 8;
+
+    private ProductSearchQuery() {
+    }
+
+    // Returns null when the keyword holds no searchable term
+    static String toPrefixQuery(String keyword) {
+        if (keyword == null) {
+            return null;
+        }
+        StringJoiner query = new StringJoiner(" & ");
+        int terms = 0;
+        for (String term : SEPARATORS.split(keyword.toLowerCase(Locale.ROOT))) {
+            if (term.isEmpty()) {
+                continue;
+            }
+            query.add(term + ":*");
+            if (++terms == MAX_TERMS) {
+                break;
+            }
+        }
+        return terms == 0 ? null : query.toString();
+    }
+}
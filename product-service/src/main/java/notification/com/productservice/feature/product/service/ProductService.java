@@ -1,9 +1,14 @@
 package notification.com.productservice.feature.product.service;
 
 import notification.com.productservice.feature.product.repository.dto.ProductCreateRequest;
+import notification.com.productservice.feature.product.repository.dto.ProductListing;
 import notification.com.productservice.feature.product.repository.dto.ProductResponse;
+import notification.com.productservice.feature.product.repository.dto.ProductSliceResponse;
+import notification.com.productservice.feature.product.repository.dto.ProductSummary;
 import notification.com.productservice.feature.product.repository.dto.ProductUpdateRequest;
+import notification.com.productservice.feature.product.repository.dto.ResourceVersion;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 
 import java.math.BigDecimal;
 import java.util.List;
@@ -11,11 +16,18 @@ import java.util.List;
 public interface ProductService {
     ProductResponse createProduct(ProductCreateRequest request, String createdBy);
     ProductResponse getProductById(Long id);
-    Page<ProductResponse> getAllProducts(int page, int size, String sortBy, String sortDir);
+    ProductResponse getProductById(Long id, ResourceVersion current);
+    ResourceVersion getProductVersion(Long id);
+    ResourceVersion versionOf(ProductResponse product);
+    ResourceVersion getListingVersion(int page, int size, String sortBy, String sortDir);
+    ProductListing getAllProducts(int page, int size, String sortBy, String sortDir);
+    ProductListing getAllProducts(int page, int size, String sortBy, String sortDir, ResourceVersion current);
     ProductResponse updateProduct(Long id, ProductUpdateRequest request, String updatedBy);
     void deleteProduct(Long id, String deletedBy);
     List<ProductResponse> getProductsByCategory(String category);
-    Page<ProductResponse> searchProducts(String keyword, int page, int size);
-    Page<ProductResponse> getProductsWithFilters(BigDecimal minPrice, BigDecimal maxPrice,
-                                                 String category, int page, int size);
+    Slice<ProductSummary> searchProducts(String keyword, int page, int size);
+    Page<ProductSummary> getProductsWithFilters(BigDecimal minPrice, BigDecimal maxPrice,
+                                                String category, int page, int size);
+    ProductSliceResponse getProductSlice(String cursor, int size, BigDecimal minPrice,
+                                         BigDecimal maxPrice, String category);
 }
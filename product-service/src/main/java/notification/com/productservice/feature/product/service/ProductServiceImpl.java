@@ -1,31 +1,47 @@
 package notification.com.productservice.feature.product.service;
 
-import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import notification.com.productservice.domain.Product;
 import notification.com.productservice.feature.product.mapper.ProductMapper;
 import notification.com.productservice.feature.product.repository.ProductRepository;
 import notification.com.productservice.feature.product.repository.dto.ProductCreateRequest;
+import notification.com.productservice.feature.product.repository.dto.ProductListing;
 import notification.com.productservice.feature.product.repository.dto.ProductResponse;
+import notification.com.productservice.feature.product.repository.dto.ProductSliceResponse;
+import notification.com.productservice.feature.product.repository.dto.ProductSummary;
 import notification.com.productservice.feature.product.repository.dto.ProductUpdateRequest;
+import notification.com.productservice.feature.product.repository.dto.ProductVersion;
+import notification.com.productservice.feature.product.repository.dto.ResourceVersion;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.DigestUtils;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
 import java.util.List;
+import java.util.Locale;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class ProductServiceImpl implements ProductService{
 
+    private static final int MAX_SLICE_SIZE = 100;
+
     private final ProductRepository productRepository;
     private final ProductMapper productMapper;
+    private final ProductCache productCache;
 
     @Override
     @Transactional
@@ -34,25 +50,104 @@ public class ProductServiceImpl implements ProductService{
         Product product = productMapper.fromProductCreateRequest(request);
         product = productRepository.save(product);
 
+        // Evictions are deferred until the transaction commits
+        productCache.evictCategory(product.getCategory());
+        productCache.evictFirstPages();
+
         return productMapper.toProductResponse(product);
     }
 
+    // Read paths run without a service transaction so cache hits never take a connection;
+    // the repository queries on a miss run in read-only transactions
     @Override
-    @Transactional
     public ProductResponse getProductById(Long id) {
 
-        Product product = productRepository.findByIdAndIsActiveTrue(id)
+        return productCache.getProduct(id, () -> productRepository.findByIdAndIsActiveTrue(id)
+                .map(productMapper::toProductResponse)
+                .orElseThrow(() -> new ResponseStatusException(
+                        HttpStatus.NOT_FOUND,
+                        "Product not found with ID: " + id
+                )));
+    }
+
+    // A cached copy that disagrees with the version just read from the database is reloaded, so the
+    // body never lags the ETag when another instance made the change
+    @Override
+    public ProductResponse getProductById(Long id, ResourceVersion current) {
+
+        ProductResponse product = getProductById(id);
+        if (!versionOf(product).eTag().equals(current.eTag())) {
+            productCache.evictProduct(id);
+            product = getProductById(id);
+        }
+        return product;
+    }
+
+    @Override
+    public ResourceVersion getProductVersion(Long id) {
+
+        ProductVersion version = productRepository.findActiveVersion(id)
                 .orElseThrow(() -> new ResponseStatusException(
                         HttpStatus.NOT_FOUND,
                         "Product not found with ID: " + id
                 ));
+        return productVersion(version.id(), version.version(), version.lastModifiedDate());
+    }
 
-        return productMapper.toProductResponse(product);
+    @Override
+    public ResourceVersion versionOf(ProductResponse product) {
+        return productVersion(product.id(), product.version(), product.lastModifiedDate());
+    }
+
+    // Weak tags: the response envelope carries a per-request timestamp and correlation ID, so only the
+    // product data, not the bytes, stays the same between two responses with one tag
+    private static ResourceVersion productVersion(Long id, Long version, LocalDateTime lastModifiedDate) {
+        return new ResourceVersion("W/\"p" + id + "-" + version + "\"", epochMillis(lastModifiedDate));
     }
 
+    // The tag digests the full query together with the latest modification (microsecond precision), so
+    // two listings never share a tag and a change on another instance always moves it
     @Override
-    @Transactional
-    public Page<ProductResponse> getAllProducts(int page, int size, String sortBy, String sortDir) {
+    public ResourceVersion getListingVersion(int page, int size, String sortBy, String sortDir) {
+
+        LocalDateTime latest = productRepository.findLatestModification();
+        long stamp = latest == null ? 0 : latest.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + latest.getNano() / 1_000;
+        String query = page + ":" + size + ":" + sortBy + ":" + sortDir.toLowerCase(Locale.ROOT) + ":" + stamp;
+        String digest = DigestUtils.md5DigestAsHex(query.getBytes(StandardCharsets.UTF_8));
+        return new ResourceVersion("W/\"l" + digest + "\"", epochMillis(latest));
+    }
+
+    @Override
+    public ProductListing getAllProducts(int page, int size, String sortBy, String sortDir) {
+
+        if (page == 0) {
+            return productCache.getFirstPage(size, sortBy, sortDir, () -> findListing(page, size, sortBy, sortDir));
+        }
+        return findListing(page, size, sortBy, sortDir);
+    }
+
+    // Like getProductById(id, current): a cached page 0 read under another version than the one just
+    // looked up is reloaded, so the body never lags the ETag when another instance made the change
+    @Override
+    public ProductListing getAllProducts(int page, int size, String sortBy, String sortDir, ResourceVersion current) {
+
+        ProductListing listing = getAllProducts(page, size, sortBy, sortDir);
+        if (page == 0 && !listing.version().eTag().equals(current.eTag())) {
+            productCache.evictFirstPage(size, sortBy, sortDir);
+            listing = getAllProducts(page, size, sortBy, sortDir);
+        }
+        return listing;
+    }
+
+    private static long epochMillis(LocalDateTime dateTime) {
+        return dateTime == null ? -1 : dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    // The version is read before the page: a write in between leaves an older tag on newer contents,
+    // which only costs the client one extra full response
+    private ProductListing findListing(int page, int size, String sortBy, String sortDir) {
+
+        ResourceVersion version = getListingVersion(page, size, sortBy, sortDir);
 
         Sort.Direction direction = sortDir.equalsIgnoreCase("desc")
                 ? Sort.Direction.DESC
@@ -61,8 +156,7 @@ public class ProductServiceImpl implements ProductService{
         Sort sort = Sort.by(direction, sortBy);
         Pageable pageable = PageRequest.of(page, size, sort);
 
-        Page<Product> products = productRepository.findAllByIsActiveTrue(pageable);
-        return products.map(productMapper::toProductResponse);
+        return new ProductListing(productRepository.findActiveSummaries(pageable), version);
     }
 
     @Override
@@ -75,9 +169,15 @@ public class ProductServiceImpl implements ProductService{
                         "Product not found with ID: " + id
                 ));
 
+        String previousCategory = product.getCategory();
         productMapper.updateProductFromRequest(request, product);
         product = productRepository.save(product);
 
+        productCache.evictProduct(id);
+        productCache.evictCategory(previousCategory);
+        productCache.evictCategory(product.getCategory());
+        productCache.evictFirstPages();
+
         return productMapper.toProductResponse(product);
     }
 
@@ -94,35 +194,61 @@ public class ProductServiceImpl implements ProductService{
         product.setIsActive(false);
         productRepository.save(product);
 
+        productCache.evictProduct(id);
+        productCache.evictCategory(product.getCategory());
+        productCache.evictFirstPages();
+
     }
 
     @Override
-    @Transactional
     public List<ProductResponse> getProductsByCategory(String category) {
 
-        List<Product> products = productRepository.findByCategoryAndIsActiveTrue(category);
-        return products.stream()
+        List<Long> ids = productCache.getCategoryIds(category, () -> productRepository.findActiveIdsByCategory(category));
+        return productCache.getProducts(ids, missing -> productRepository.findAllByIdInAndIsActiveTrue(missing).stream()
                 .map(productMapper::toProductResponse)
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()));
     }
 
     @Override
-    @Transactional
-    public Page<ProductResponse> searchProducts(String keyword, int page, int size) {
-
-        Pageable pageable = PageRequest.of(page, size, Sort.by("createdDate").descending());
-        Page<Product> products = productRepository.searchProducts(keyword, pageable);
-
-        return products.map(productMapper::toProductResponse);
+    @Transactional(readOnly = true)
+    public Slice<ProductSummary> searchProducts(String keyword, int page, int size) {
+
+        Pageable pageable = PageRequest.of(page, size);
+        String query = ProductSearchQuery.toPrefixQuery(keyword);
+        if (query == null) {
+            return new SliceImpl<>(List.of(), pageable, false);
+        }
+        return productRepository.searchProducts(query, pageable);
     }
 
     @Override
-    @Transactional
-    public Page<ProductResponse> getProductsWithFilters(BigDecimal minPrice, BigDecimal maxPrice,
+    @Transactional(readOnly = true)
+    public Page<ProductSummary> getProductsWithFilters(BigDecimal minPrice, BigDecimal maxPrice,
                                                         String category, int page, int size) {
         Pageable pageable = PageRequest.of(page, size, Sort.by("createdDate").descending());
-        Page<Product> products = productRepository.findWithFilters(minPrice, maxPrice, category, pageable);
+        return productRepository.findWithFilters(minPrice, maxPrice, category, pageable);
+    }
 
-        return products.map(productMapper::toProductResponse);
+    @Override
+    @Transactional(readOnly = true)
+    public ProductSliceResponse getProductSlice(String cursor, int size, BigDecimal minPrice,
+                                                BigDecimal maxPrice, String category) {
+        Pageable pageable = PageRequest.of(0, Math.min(Math.max(size, 1), MAX_SLICE_SIZE));
+        Slice<ProductSummary> slice;
+        if (cursor == null || cursor.isBlank()) {
+            slice = productRepository.findFirstSlice(minPrice, maxPrice, category, pageable);
+        } else {
+            ProductCursor after = ProductCursor.decode(cursor);
+            slice = productRepository.findSliceBefore(after.createdDate(), after.id(),
+                    minPrice, maxPrice, category, pageable);
+        }
+
+        List<ProductSummary> products = slice.getContent();
+        String nextCursor = null;
+        if (slice.hasNext()) {
+            ProductSummary last = products.get(products.size() - 1);
+            nextCursor = new ProductCursor(last.createdDate(), last.id()).encode();
+        }
+        return new ProductSliceResponse(products, products.size(), slice.hasNext(), nextCursor);
     }
 }
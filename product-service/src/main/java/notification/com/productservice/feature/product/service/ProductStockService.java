@@ -0,0 +1,12 @@
+package notification.com.productservice.feature.product.service;
+
+import notification.com.productservice.feature.product.repository.dto.StockLine;
+import notification.com.productservice.feature.product.repository.dto.StockReservationResponse;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface ProductStockService {
+    StockReservationResponse reserveStock(List<StockLine> lines);
+    List<StockLine> releaseStock(UUID reservationId);
+}
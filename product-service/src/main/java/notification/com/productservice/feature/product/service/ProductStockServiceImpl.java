@@ -0,0 +1,121 @@
+package notification.com.productservice.feature.product.service;
+
+import lombok.RequiredArgsConstructor;
+import notification.com.productservice.domain.Product;
+import notification.com.productservice.domain.StockReservation;
+import notification.com.productservice.domain.StockReservationLine;
+import notification.com.productservice.feature.product.repository.ProductRepository;
+import notification.com.productservice.feature.product.repository.StockReservationRepository;
+import notification.com.productservice.feature.product.repository.dto.StockLine;
+import notification.com.productservice.feature.product.repository.dto.StockReservationResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * All-or-nothing stock changes for a cart. Lines are merged per product and applied in id order, so
+ * two carts sharing products always lock rows in the same order and cannot deadlock. If any line
+ * fails, the whole transaction rolls back. Every reservation is recorded, and a release gives back exactly
+ * what one reservation took, once, so stock can never be released that was not reserved.
+ */
+@Service
+@RequiredArgsConstructor
+public class ProductStockServiceImpl implements ProductStockService {
+
+    private final ProductRepository productRepository;
+    private final ProductCache productCache;
+    private final StockReservationRepository stockReservationRepository;
+
+    @Override
+    @Transactional
+    public StockReservationResponse reserveStock(List<StockLine> lines) {
+
+        List<StockLine> merged = mergeByProduct(lines);
+        List<Long> failed = failedProducts(merged, productRepository.reserveStock(merged));
+        if (!failed.isEmpty()) {
+            throw missingOr(failed, new ResponseStatusException(
+                    HttpStatus.CONFLICT,
+                    "Insufficient stock for product IDs: " + failed
+            ));
+        }
+
+        StockReservation reservation = new StockReservation();
+        merged.forEach(line -> reservation.getLines().add(new StockReservationLine(line.productId(), line.quantity())));
+        UUID reservationId = stockReservationRepository.save(reservation).getId();
+
+        evict(merged);
+        return new StockReservationResponse(reservationId, merged);
+    }
+
+    @Override
+    @Transactional
+    public List<StockLine> releaseStock(UUID reservationId) {
+
+        StockReservation reservation = stockReservationRepository.findForRelease(reservationId)
+                .orElseThrow(() -> new ResponseStatusException(
+                        HttpStatus.NOT_FOUND,
+                        "Reservation not found or already released: " + reservationId
+                ));
+        List<StockLine> lines = reservation.getLines().stream()
+                .map(line -> new StockLine(line.getProductId(), line.getQuantity()))
+                // Same lock order as reservations
+                .sorted(Comparator.comparing(StockLine::productId))
+                .toList();
+
+        List<Long> failed = failedProducts(lines, productRepository.releaseStock(lines));
+        if (!failed.isEmpty()) {
+            throw notFound(failed);
+        }
+        stockReservationRepository.delete(reservation);
+
+        evict(lines);
+        return lines;
+    }
+
+    private static List<StockLine> mergeByProduct(List<StockLine> lines) {
+        Map<Long, Integer> quantities = new TreeMap<>();
+        for (StockLine line : lines) {
+            quantities.merge(line.productId(), line.quantity(), Integer::sum);
+        }
+        List<StockLine> merged = new ArrayList<>(quantities.size());
+        quantities.forEach((productId, quantity) -> merged.add(new StockLine(productId, quantity)));
+        return merged;
+    }
+
+    private static List<Long> failedProducts(List<StockLine> lines, int[] updated) {
+        List<Long> failed = new ArrayList<>();
+        for (int i = 0; i < lines.size(); i++) {
+            if (updated[i] == 0) {
+                failed.add(lines.get(i).productId());
+            }
+        }
+        return failed;
+    }
+
+    // A reservation that matched no row is a 404 when the product is gone, otherwise a stock conflict
+    private ResponseStatusException missingOr(List<Long> failed, ResponseStatusException conflict) {
+        Set<Long> active = productRepository.findAllByIdInAndIsActiveTrue(failed).stream()
+                .map(Product::getId)
+                .collect(Collectors.toSet());
+        return active.containsAll(failed) ? conflict : notFound(failed.stream().filter(id -> !active.contains(id)).toList());
+    }
+
+    private static ResponseStatusException notFound(List<Long> ids) {
+        return new ResponseStatusException(HttpStatus.NOT_FOUND, "Product not found with IDs: " + ids);
+    }
+
+    // Only the per-product entries; listings may show the old quantity until their short TTL passes
+    private void evict(List<StockLine> lines) {
+        lines.forEach(line -> productCache.evictProduct(line.productId()));
+    }
+}
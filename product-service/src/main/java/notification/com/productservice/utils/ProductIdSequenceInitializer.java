@@ -0,0 +1,32 @@
+package notification.com.productservice.utils;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Moves products_seq past ids that were assigned by the former IDENTITY column, so ids drawn from the
+ * sequence never collide with existing rows. Does nothing once the sequence is ahead.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+@RequiredArgsConstructor
+@Slf4j
+public class ProductIdSequenceInitializer {
+
+    static final String ALIGN_SEQUENCE = """
+            SELECT setval('products_seq', max_id)
+            FROM (SELECT max(id) AS max_id FROM products) ids
+            WHERE max_id >= (SELECT last_value FROM products_seq)""";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    public void alignSequence() {
+        jdbcTemplate.queryForList(ALIGN_SEQUENCE, Long.class)
+                .forEach(value -> log.info("Advanced products_seq to {}", value));
+    }
+}
@@ -0,0 +1,41 @@
+package notification.com.productservice.utils;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Adds the full-text search column and its GIN index to the products table. Hibernate's schema update
+ * cannot express a generated column, so the DDL is applied here once the table exists. Both statements
+ * are idempotent.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+@RequiredArgsConstructor
+@Slf4j
+public class ProductSearchIndexInitializer {
+
+    // Name terms weigh more than description terms in the ranking. The 'simple' configuration skips
+    // stemming, so a typed prefix always matches the words that start with it.
+    static final String ADD_SEARCH_VECTOR = """
+            ALTER TABLE products ADD COLUMN IF NOT EXISTS search_vector tsvector
+                GENERATED ALWAYS AS (
+                    setweight(to_tsvector('simple', coalesce(name, '')), 'A') ||
+                    setweight(to_tsvector('simple', coalesce(description, '')), 'B')
+                ) STORED""";
+
+    static final String CREATE_SEARCH_INDEX =
+            "CREATE INDEX IF NOT EXISTS idx_products_search_vector ON products USING GIN (search_vector)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    public void createSearchIndex() {
+        jdbcTemplate.execute(ADD_SEARCH_VECTOR);
+        jdbcTemplate.execute(CREATE_SEARCH_INDEX);
+        log.info("Product full-text search index is ready");
+    }
+}
@@ -0,0 +1,227 @@
+package notification.com.productservice.feature.product.service;
+
+import notification.com.productservice.domain.Product;
+import notification.com.productservice.feature.product.repository.ProductRepository;
+import notification.com.productservice.feature.product.repository.StockReservationRepository;
+import notification.com.productservice.feature.product.repository.dto.StockLine;
+import notification.com.productservice.feature.product.repository.dto.StockReservationResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:stock;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=30000",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.datasource.hikari.maximum-pool-size=64",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ProductStockServiceImpl.class, ProductStockServiceTest.CacheTestConfig.class})
+// Every call must commit on its own for the threads to contend on real rows
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ProductStockServiceTest {
+
+    private static final int THREADS = 64;
+
+    @Autowired
+    private ProductStockService productStockService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private StockReservationRepository stockReservationRepository;
+
+    @BeforeEach
+    void setUp() {
+        stockReservationRepository.deleteAll();
+        productRepository.deleteAll();
+    }
+
+    @Test
+    void neverOversellsUnderContention() throws Exception {
+        Long sku = createProduct(100).getId();
+        AtomicInteger reserved = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+
+        runConcurrently(() -> {
+            for (int i = 0; i < 5; i++) {
+                try {
+                    productStockService.reserveStock(List.of(new StockLine(sku, 1)));
+                    reserved.incrementAndGet();
+                } catch (ResponseStatusException e) {
+                    assertThat(e.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+                    rejected.incrementAndGet();
+                }
+            }
+            return null;
+        });
+
+        Product product = productRepository.findById(sku).orElseThrow();
+        assertThat(reserved.get()).isEqualTo(100);
+        assertThat(rejected.get()).isEqualTo(THREADS * 5 - 100);
+        assertThat(product.getQuantity()).isZero();
+        assertThat(product.getVersion()).isEqualTo(100);
+    }
+
+    @Test
+    void losesNoUpdatesWhenCartsReserveAndReleaseInAnyOrder() throws Exception {
+        Long first = createProduct(1_000).getId();
+        Long second = createProduct(1_000).getId();
+        AtomicInteger thread = new AtomicInteger();
+
+        runConcurrently(() -> {
+            // Half of the carts list the products in the opposite order
+            boolean reversed = thread.incrementAndGet() % 2 == 0;
+            List<StockLine> cart = reversed
+                    ? List.of(new StockLine(second, 3), new StockLine(first, 2))
+                    : List.of(new StockLine(first, 2), new StockLine(second, 3));
+            for (int i = 0; i < 10; i++) {
+                UUID reservationId = productStockService.reserveStock(cart).reservationId();
+                productStockService.releaseStock(reservationId);
+            }
+            return null;
+        });
+
+        assertThat(productRepository.findById(first).orElseThrow().getQuantity()).isEqualTo(1_000);
+        assertThat(productRepository.findById(second).orElseThrow().getQuantity()).isEqualTo(1_000);
+    }
+
+    @Test
+    void cartReservationIsAllOrNothing() {
+        Long plenty = createProduct(5).getId();
+        Long scarce = createProduct(1).getId();
+
+        assertThatThrownBy(() -> productStockService.reserveStock(
+                List.of(new StockLine(plenty, 2), new StockLine(scarce, 2))))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.CONFLICT));
+
+        assertThat(productRepository.findById(plenty).orElseThrow().getQuantity()).isEqualTo(5);
+        assertThat(productRepository.findById(scarce).orElseThrow().getQuantity()).isEqualTo(1);
+    }
+
+    @Test
+    void mergesRepeatedLinesForOneProduct() {
+        Long sku = createProduct(5).getId();
+
+        StockReservationResponse reserved = productStockService.reserveStock(
+                List.of(new StockLine(sku, 2), new StockLine(sku, 3)));
+
+        assertThat(reserved.items()).containsExactly(new StockLine(sku, 5));
+        assertThat(productRepository.findById(sku).orElseThrow().getQuantity()).isZero();
+    }
+
+    @Test
+    void unknownOrInactiveProductIsNotFound() {
+        Product inactive = createProduct(10);
+        inactive.setIsActive(false);
+        productRepository.save(inactive);
+
+        assertThatThrownBy(() -> productStockService.reserveStock(List.of(new StockLine(inactive.getId(), 1))))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND));
+    }
+
+    @Test
+    void releasesOnlyWhatWasReservedAndOnlyOnce() throws Exception {
+        Long sku = createProduct(10).getId();
+        UUID reservationId = productStockService.reserveStock(List.of(new StockLine(sku, 4))).reservationId();
+        AtomicInteger released = new AtomicInteger();
+
+        runConcurrently(() -> {
+            try {
+                assertThat(productStockService.releaseStock(reservationId)).containsExactly(new StockLine(sku, 4));
+                released.incrementAndGet();
+            } catch (ResponseStatusException e) {
+                assertThat(e.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+            }
+            return null;
+        });
+
+        assertThat(released.get()).isEqualTo(1);
+        assertThat(productRepository.findById(sku).orElseThrow().getQuantity()).isEqualTo(10);
+        assertThatThrownBy(() -> productStockService.releaseStock(UUID.randomUUID()))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND));
+    }
+
+    @Test
+    void reservationMakesStaleEntityUpdateFail() {
+        Product stale = createProduct(10);
+
+        productStockService.reserveStock(List.of(new StockLine(stale.getId(), 4)));
+        stale.setQuantity(50);
+
+        assertThatThrownBy(() -> productRepository.save(stale))
+                .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+        assertThat(productRepository.findById(stale.getId()).orElseThrow().getQuantity()).isEqualTo(6);
+    }
+
+    private Product createProduct(int quantity) {
+        Product product = new Product();
+        product.setName("Wireless Headphones");
+        product.setPrice(new BigDecimal("149.99"));
+        product.setQuantity(quantity);
+        product.setCategory("Electronics");
+        product.setIsActive(true);
+        return productRepository.save(product);
+    }
+
+    private static void runConcurrently(Callable<Void> task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Void>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return task.call();
+                }));
+            }
+            start.countDown();
+            for (Future<Void> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @TestConfiguration
+    static class CacheTestConfig {
+
+        @Bean
+        ProductCache productCache() {
+            return new ProductCache(new NoOpCacheManager());
+        }
+    }
+}